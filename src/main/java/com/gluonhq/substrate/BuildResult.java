@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The result of a build step executed with {@link SubstrateDispatcher#execute(SubstrateDispatcher.Step)}.
+ *
+ * Besides the outcome and the duration of the step, it contains the files the step
+ * produced, the metrics it measured, and the warnings and errors logged while it ran,
+ * so build tools can report them without parsing the log files.
+ */
+public class BuildResult {
+
+    private final SubstrateDispatcher.Step step;
+    private final boolean success;
+    private final Duration duration;
+    private final Map<String, Path> artifacts;
+    private final Map<String, Double> metrics;
+    private final List<String> diagnostics;
+    private final Throwable exception;
+
+    BuildResult(SubstrateDispatcher.Step step, boolean success, Duration duration, Map<String, Path> artifacts,
+                Map<String, Double> metrics, List<String> diagnostics, Throwable exception) {
+        this.step = step;
+        this.success = success && exception == null;
+        this.duration = duration;
+        this.artifacts = Map.copyOf(artifacts);
+        this.metrics = Map.copyOf(metrics);
+        this.diagnostics = List.copyOf(diagnostics);
+        this.exception = exception;
+    }
+
+    public SubstrateDispatcher.Step getStep() {
+        return step;
+    }
+
+    /**
+     * @return true if the step ended successfully
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns the files produced by the step, like the object file of the compile step
+     * or the executable of the link step, by the keys of {@link com.gluonhq.substrate.model.BuildManifest}
+     * or the name of the report
+     *
+     * @return a map with the path of each artifact
+     */
+    public Map<String, Path> getArtifacts() {
+        return artifacts;
+    }
+
+    /**
+     * Returns the metrics measured by the step, like the link time, or the benchmark
+     * results as {@code variant.metric}
+     *
+     * @return a map with the value of each metric
+     */
+    public Map<String, Double> getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the warnings and errors logged while the step ran
+     *
+     * @return a list with the messages, prefixed with their level
+     */
+    public List<String> getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * @return an Optional with the exception that made the step fail, if any
+     */
+    public Optional<Throwable> getException() {
+        return Optional.ofNullable(exception);
+    }
+
+    @Override
+    public String toString() {
+        return "BuildResult{" +
+                "step=" + step +
+                ", success=" + success +
+                ", duration=" + duration.toMillis() + " ms" +
+                ", artifacts=" + artifacts +
+                ", metrics=" + metrics +
+                ", diagnostics=" + diagnostics.size() +
+                (exception != null ? ", exception=" + exception : "") +
+                '}';
+    }
+}
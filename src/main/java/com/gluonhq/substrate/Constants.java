@@ -75,6 +75,17 @@ public class Constants {
         WEB // (x86_64-web-web)
     };
 
+    /**
+     * Build profiles: DEV favors build time over the performance of the image,
+     * with quick-build optimization and reuse of the native libraries extracted
+     * from the classpath jars in previous builds, while
+     * RELEASE keeps the full optimization settings
+     */
+    public enum BuildProfile {
+        DEV,
+        RELEASE
+    }
+
     /**
      * Supported hosts
      *
@@ -131,9 +142,19 @@ public class Constants {
     public static final String TMP_PATH = "tmp";
     public static final String LIB_PATH = "lib";
     public static final String LOG_PATH = "log";
+    public static final String TRASH_PATH = "trash";
+    public static final String REPORTS_PATH = "reports";
+    public static final String AGENT_PATH = "agent";
+    public static final String PGO_PATH = "pgo";
+    public static final String BENCHMARK_PATH = "benchmark";
+    public static final String LAYERS_PATH = "layers";
+    public static final String CPU_VARIANTS_PATH = "variants";
+    public static final String SYMBOLS_PATH = "symbols";
+    public static final String OBJECT_CACHE_PATH = "objcache";
     public static final String APK_PATH = "apk";
     public static final String NATIVE_CODE_PATH = "native";
     public static final String PATHING_JAR_DEPS_PATH = "deps";
+    public static final String BUILD_MANIFEST_FILE = "build-manifest.properties";
 
 
     /**
@@ -187,14 +208,35 @@ public class Constants {
     public static final String REFLECTION_JAVA_FILE = "reflectionconfig-java.json";
     public static final String REFLECTION_JAVAFXSW_FILE = "reflectionconfig-javafxsw.json";
     public static final String REFLECTION_ARCH_FILE = "reflectionconfig-${archOs}.json";
+    public static final String REFLECTION_REPORT_FILE = "reflection-analysis-${archOs}.txt";
 
     public static final String RESOURCE_ARCH_FILE = "resourceconfig-${archOs}.json";
+    public static final String RESOURCE_REPORT_FILE = "resources-${archOs}.txt";
+    public static final String INIT_BUILD_TIME_REPORT_FILE = "initbuildtime-${archOs}.txt";
+    public static final String CHARSET_LOCALE_REPORT_FILE = "charsets-locales-${archOs}.txt";
+    public static final String SIZE_REPORT_FILE = "size-${archOs}.txt";
+    public static final String SIZE_REPORT_JSON_FILE = "size-${archOs}.json";
+    public static final String DASHBOARD_DUMP_FILE = "dashboard-${archOs}";
+    public static final String BUILD_OUTPUT_FILE = "build-output-${archOs}.json";
 
     public static final String JNI_JAVA_FILE = "jniconfig-java.json";
     public static final String JNI_JAVA_FILE11 = "jniconfig-java11.json";
     public static final String JNI_JAVAFXSW_FILE = "jniconfig-javafxsw.json";
     public static final String JNI_ARCH_FILE = "jniconfig-${archOs}.json";
 
+    public static final String AGENT_REFLECTION_FILE = "reflect-config.json";
+    public static final String AGENT_JNI_FILE = "jni-config.json";
+    public static final String AGENT_RESOURCE_FILE = "resource-config.json";
+    public static final String AGENT_PROXY_FILE = "proxy-config.json";
+    public static final String AGENT_SERIALIZATION_FILE = "serialization-config.json";
+
+    public static final String BASE_LAYER_FILE = "base-layer.nil";
+    public static final String BASE_LAYER_LIB = "substratebase";
+
+    public static final String BENCHMARK_BASELINE_FILE = "${appName}-${archOs}.json";
+    public static final String BENCHMARK_LAST_FILE = "${appName}-${archOs}-last.json";
+    public static final String BENCHMARK_PROFILES_FILE = "${appName}-${archOs}-profiles.txt";
+
     /**
      * Arguments for native-image
      */
@@ -27,6 +27,9 @@
  */
 package com.gluonhq.substrate;
 
+import com.gluonhq.substrate.config.InitBuildTimeAdvisor;
+import com.gluonhq.substrate.model.BuildManifest;
+import com.gluonhq.substrate.model.ClassPathIndex;
 import com.gluonhq.substrate.model.InternalProjectConfiguration;
 import com.gluonhq.substrate.model.ProcessPaths;
 import com.gluonhq.substrate.model.Triplet;
@@ -37,35 +40,53 @@ import com.gluonhq.substrate.target.MacOSTargetConfiguration;
 import com.gluonhq.substrate.target.TargetConfiguration;
 import com.gluonhq.substrate.target.WebTargetConfiguration;
 import com.gluonhq.substrate.target.WindowsTargetConfiguration;
+import com.gluonhq.substrate.util.Benchmark;
+import com.gluonhq.substrate.util.BuildContext;
+import com.gluonhq.substrate.util.FileOps;
+import com.gluonhq.substrate.util.FileWatcher;
 import com.gluonhq.substrate.util.Logger;
 import com.gluonhq.substrate.util.ProcessRunner;
 import com.gluonhq.substrate.util.Strings;
 import com.gluonhq.substrate.util.Version;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class SubstrateDispatcher {
+public class SubstrateDispatcher implements AutoCloseable {
 
     /**
      * Define the different steps that can be handled by
-     * the SubstrateDispatcher. The steps are only used when
-     * the dispatcher is launched through the main method.
+     * the SubstrateDispatcher, either when it is launched
+     * through the main method, or with {@link #execute(Step)}.
      */
-    private enum Step {
+    public enum Step {
         /**
          * The goal of the COMPILE step is to run GraalVM
          * native-image to generate a compiled object file.
@@ -95,7 +116,35 @@ public class SubstrateDispatcher {
          * directly run the executable that was produced by
          * the LINK step.
          */
-        RUN(INSTALL);
+        RUN(INSTALL),
+        /**
+         * The goal of the BENCHMARK step is to run the executable
+         * that was produced by the LINK step several times, measuring
+         * its startup time and memory footprint, and to compare them
+         * with a stored baseline.
+         */
+        BENCHMARK(LINK),
+        /**
+         * The goal of the WATCH step is to keep the executable
+         * that was produced by the LINK step up to date while
+         * the project is developed: it runs the application, and
+         * when the classes, resources or native code of the project
+         * change, it rebuilds and relaunches it.
+         */
+        WATCH(LINK),
+        /**
+         * The goal of the AGENT step is to run the application
+         * on the JVM with the native-image tracing agent, to capture
+         * the configuration that is used by the COMPILE step.
+         * It doesn't require a previous compilation.
+         */
+        AGENT(),
+        /**
+         * The goal of the ANALYZE step is to find the classes
+         * of the project which static initializers can be run
+         * at build time. It doesn't require a previous compilation.
+         */
+        ANALYZE();
 
         private final Step dep;
 
@@ -119,32 +168,24 @@ public class SubstrateDispatcher {
         }
     }
 
-    private static volatile boolean compiling = true;
-    private static volatile boolean messagePrinted = false;
+    private static final List<Step> STEP_ORDER = List.of(Step.AGENT, Step.ANALYZE, Step.COMPILE, Step.LINK,
+            Step.BENCHMARK, Step.WATCH, Step.PACKAGE, Step.INSTALL, Step.RUN);
 
     public static void main(String[] args) throws IOException {
         Step step = getStepToExecute();
 
         Path buildRoot = Paths.get(System.getProperty("user.dir"), "build", "autoclient");
         ProjectConfiguration configuration = createProjectConfiguration();
-        SubstrateDispatcher dispatcher = new SubstrateDispatcher(buildRoot, configuration);
-
-        executeCompileStep(dispatcher);
-
-        if (step.requires(Step.LINK)) {
-            executeLinkStep(dispatcher);
-        }
-
-        if (step.requires(Step.PACKAGE)) {
-            executePackageStep(dispatcher);
-        }
-
-        if (step.requires(Step.INSTALL)) {
-            executeInstallStep(dispatcher);
-        }
-
-        if (step.requires(Step.RUN)) {
-            executeRunStep(dispatcher);
+        try (SubstrateDispatcher dispatcher = new SubstrateDispatcher(buildRoot, configuration)) {
+            for (Step s : STEP_ORDER) {
+                if (step.requires(s)) {
+                    BuildResult result = dispatcher.execute(s);
+                    if (!result.isSuccess()) {
+                        result.getException().ifPresent(Throwable::printStackTrace);
+                        System.exit(1);
+                    }
+                }
+            }
         }
     }
 
@@ -159,6 +200,19 @@ public class SubstrateDispatcher {
 
         boolean usePrismSW = Boolean.parseBoolean(System.getProperty("prism.sw", "false"));
         boolean usePrecompiledCode = Boolean.parseBoolean(System.getProperty("usePrecompiledCode", "true"));
+        boolean analyzeReflection = Boolean.parseBoolean(System.getProperty("analyzeReflection", "false"));
+        boolean resolveResources = Boolean.parseBoolean(System.getProperty("resolveResources", "false"));
+        boolean usePGO = Boolean.parseBoolean(System.getProperty("pgo", "false"));
+        boolean sizeReport = Boolean.parseBoolean(System.getProperty("sizeReport", "false"));
+        boolean useLayers = Boolean.parseBoolean(System.getProperty("layers", "false"));
+        boolean analyzeLocales = Boolean.parseBoolean(System.getProperty("analyzeLocales", "false"));
+        boolean pruneStaticLibs = Boolean.parseBoolean(System.getProperty("pruneStaticLibs", "false"));
+        boolean splitDebugInfo = Boolean.parseBoolean(System.getProperty("splitDebugInfo", "false"));
+        boolean staticMusl = Boolean.parseBoolean(System.getProperty("staticMusl", "false"));
+        boolean objectCache = Boolean.parseBoolean(System.getProperty("objectCache", "true"));
+        boolean remoteCachePull = Boolean.parseBoolean(System.getProperty("remoteCachePull", "true"));
+        boolean remoteCachePush = Boolean.parseBoolean(System.getProperty("remoteCachePush", "false"));
+        String buildProfile = System.getProperty("buildProfile", Constants.BuildProfile.RELEASE.name());
         List<String> nativeImageArgs = Arrays.asList(System.getProperty("nativeImageArgs", "").split(","));
         String targetProfile = System.getProperty("targetProfile");
         Triplet targetTriplet = targetProfile != null ?
@@ -176,6 +230,31 @@ public class SubstrateDispatcher {
         config.setVerbose(verbose);
         config.setUsePrismSW(usePrismSW);
         config.setUsePrecompiledCode(usePrecompiledCode);
+        config.setAnalyzeReflection(analyzeReflection);
+        config.setResolveResources(resolveResources);
+        config.setUsePGO(usePGO);
+        config.setSizeReport(sizeReport);
+        config.setUseLayers(useLayers);
+        config.setBuildProfile(Constants.BuildProfile.valueOf(buildProfile.toUpperCase(Locale.ROOT)));
+        // commas within braces belong to the globs or regular expressions of the rules
+        config.setResourcesIncludeRules(Strings.split(System.getProperty("resourcesinclude"), ",(?![^{]*\\})"));
+        config.setResourcesExcludeRules(Strings.split(System.getProperty("resourcesexclude"), ",(?![^{]*\\})"));
+        config.setAnalyzeLocales(analyzeLocales);
+        config.setPruneStaticLibs(pruneStaticLibs);
+        config.setSplitDebugInfo(splitDebugInfo);
+        config.setStaticMusl(staticMusl);
+        config.setObjectCache(objectCache);
+        config.setRemoteCacheUrl(System.getProperty("remoteCacheUrl"));
+        config.setRemoteCachePull(remoteCachePull);
+        config.setRemoteCachePush(remoteCachePush);
+        config.setRemoteCacheMaxEntrySize(System.getProperty("remoteCacheMaxEntrySize"));
+        config.setCharsetsList(Strings.split(System.getProperty("charsets")));
+        config.setLocalesList(Strings.split(System.getProperty("locales")));
+        config.setCpuVariants(Strings.split(System.getProperty("cpuVariants")));
+        config.setLinker(System.getProperty("linker"));
+        config.setGc(System.getProperty("gc"));
+        config.setMaxHeapSize(System.getProperty("maxHeapSize"));
+        config.setMaxNewSize(System.getProperty("maxNewSize"));
         if (!nativeImageArgs.isEmpty()) {
             config.setCompilerArgs(nativeImageArgs);
         }
@@ -195,23 +274,21 @@ public class SubstrateDispatcher {
                 .orElse(Step.RUN);
     }
 
+    /**
+     * Runs the compile step
+     * @param dispatcher the dispatcher of the project
+     * @throws RuntimeException if compiling fails
+     * @deprecated use {@link #execute(Step)}, that returns the result of the step
+     */
+    @Deprecated
     public static void executeCompileStep(SubstrateDispatcher dispatcher) {
-        startNativeCompileTimer();
-
-        try {
-            boolean nativeCompileSucceeded = dispatcher.nativeCompile();
-            compiling = false;
-
-            if (!nativeCompileSucceeded) {
-                Logger.logSevere("Compiling failed.");
-                System.exit(1);
-            }
-        } catch (Throwable t) {
-            Logger.logFatal(t, "Compiling failed with an exception.");
+        BuildResult result = dispatcher.execute(Step.COMPILE);
+        if (!result.isSuccess()) {
+            throw new RuntimeException("Compiling failed", result.getException().orElse(null));
         }
     }
 
-    private static void startNativeCompileTimer() {
+    private void startNativeCompileTimer() {
         Thread timer = new Thread(() -> {
             int counter = 1;
             while (compiling) {
@@ -227,17 +304,6 @@ public class SubstrateDispatcher {
         timer.start();
     }
 
-    private static void executeLinkStep(SubstrateDispatcher dispatcher) {
-        try {
-            if (!dispatcher.nativeLink()) {
-                Logger.logSevere("Linking failed.");
-                System.exit(1);
-            }
-        } catch (Throwable t) {
-            Logger.logFatal(t, "Linking failed with an exception.");
-        }
-    }
-
     private void printMessage(String task) {
        if (messagePrinted) {
           return;
@@ -298,49 +364,6 @@ public class SubstrateDispatcher {
         }
     }
 
-    private static void executePackageStep(SubstrateDispatcher dispatcher) {
-        try {
-            if (!dispatcher.nativePackage()) {
-                Logger.logSevere("Packaging failed.");
-                System.exit(1);
-            }
-        } catch (Throwable t) {
-            Logger.logFatal(t, "Packaging failed with an exception.");
-        }
-    }
-
-    private static void executeInstallStep(SubstrateDispatcher dispatcher) {
-        try {
-            if (!dispatcher.nativeInstall()) {
-                Logger.logSevere("Installing failed.");
-                System.exit(1);
-            }
-        } catch (Throwable t) {
-            Logger.logFatal(t, "Installing failed with an exception.");
-        }
-    }
-
-    private static void executeRunStep(SubstrateDispatcher dispatcher) {
-        try {
-            String expected = System.getProperty("expected");
-            if (expected != null) {
-                Logger.logInfo(logTitle("RUN TASK (with expected)"));
-
-                String response = dispatcher.targetConfiguration.run();
-                if (expected.equals(response)) {
-                    Logger.logInfo("Run ended successfully, the output: " + expected + " matched the expected result.");
-                } else {
-                    Logger.logSevere("Run failed, expected output: " + expected + ", output: " + response);
-                    System.exit(1);
-                }
-            } else {
-                dispatcher.nativeRun();
-            }
-        } catch (Throwable t) {
-            Logger.logFatal(t, "Running failed with an exception");
-        }
-    }
-
     private static String requireSystemProperty(String argName, String errorMessage ) {
         String arg = System.getProperty(argName);
         if (arg == null || arg.trim().isEmpty()) {
@@ -358,10 +381,14 @@ public class SubstrateDispatcher {
         System.out.println("Usage:\n java -Dimagecp=... -Dgraalvm=... -Dmainclass=... com.gluonhq.substrate.SubstrateDispatcher");
     }
 
+    private final BuildContext context = new BuildContext();
     private final InternalProjectConfiguration config;
     private final ProcessPaths paths;
     private final TargetConfiguration targetConfiguration;
 
+    private volatile boolean compiling;
+    private volatile boolean messagePrinted;
+
 
     /**
      * Dispatches calls to different process steps. Uses shared build root path and project configuration
@@ -369,22 +396,59 @@ public class SubstrateDispatcher {
      * @param config the ProjectConfiguration, including the target triplet
      */
     public SubstrateDispatcher(Path buildRoot, ProjectConfiguration config) throws IOException {
-        this.paths = new ProcessPaths(Objects.requireNonNull(buildRoot),
-                Objects.requireNonNull(config).getTargetTriplet().getArchOs());
-        ProcessRunner.setProcessLogPath(paths.getClientPath().resolve(Constants.LOG_PATH));
-        ProcessRunner.setConsoleProcessLog(Boolean.getBoolean("consoleProcessLog"));
-
-        this.config = new InternalProjectConfiguration(config);
-        if (this.config.isVerbose()) {
-            System.out.println("Configuration: " + this.config);
+        // the fields are created in the context, as it logs and runs processes
+        BuildContext.Scope scope = context.enter();
+        try {
+            this.paths = new ProcessPaths(Objects.requireNonNull(buildRoot),
+                    Objects.requireNonNull(config).getTargetTriplet().getArchOs());
+            ProcessRunner.setProcessLogPath(paths.getClientPath().resolve(Constants.LOG_PATH));
+            ProcessRunner.setConsoleProcessLog(Boolean.getBoolean("consoleProcessLog"));
+
+            this.config = new InternalProjectConfiguration(config);
+            if (this.config.isVerbose()) {
+                System.out.println("Configuration: " + this.config);
+            }
+
+            Triplet targetTriplet = config.getTargetTriplet();
+
+            this.targetConfiguration = Objects.requireNonNull(getTargetConfiguration(targetTriplet),
+                    "Error: Target Configuration was not found for " + targetTriplet);
+
+            Logger.logInit(paths.getLogPath().toString(), this.config.isVerbose());
+            FileOps.emptyTrash(paths.getTrashPath());
+        } finally {
+            scope.close();
         }
+    }
 
-        Triplet targetTriplet = config.getTargetTriplet();
+    /**
+     * Closes the log file of this dispatcher. Each dispatcher has its own log files
+     * and process logs, so different projects can be built in parallel in the same JVM.
+     */
+    @Override
+    public void close() {
+        context.close();
+    }
 
-        this.targetConfiguration = Objects.requireNonNull(getTargetConfiguration(targetTriplet),
-                "Error: Target Configuration was not found for " + targetTriplet);
+    /**
+     * A build task, that can throw up to two types of checked exceptions
+     */
+    @FunctionalInterface
+    private interface Task<T, E1 extends Exception, E2 extends Exception> {
+        T call() throws E1, E2;
+    }
 
-        Logger.logInit(paths.getLogPath().toString(), this.config.isVerbose());
+    /**
+     * Runs the given task in the build context of this dispatcher, so it logs
+     * to the log files of this build, and returns its result
+     */
+    private <T, E1 extends Exception, E2 extends Exception> T inContext(Task<T, E1, E2> task) throws E1, E2 {
+        BuildContext.Scope scope = context.enter();
+        try {
+            return task.call();
+        } finally {
+            scope.close();
+        }
     }
 
     private TargetConfiguration getTargetConfiguration(Triplet targetTriplet) throws IOException {
@@ -403,6 +467,183 @@ public class SubstrateDispatcher {
     }
 
 
+    /**
+     * Executes a single build step, with the step options given by the system properties.
+     *
+     * @param step the step to execute
+     * @return the result of the step
+     * @see #execute(Step, Properties)
+     */
+    public BuildResult execute(Step step) {
+        return execute(step, System.getProperties());
+    }
+
+    /**
+     * Executes a single build step, without running the steps it requires, which are
+     * expected to have been executed before. This method never exits the JVM: failures,
+     * including exceptions, are reported in the returned result, together with the
+     * artifacts and metrics of the step and the warnings and errors logged while it ran.
+     *
+     * The options of the step use the same names as the system properties of the main method:
+     * {@code agentTimeout} for AGENT, {@code expected} for RUN, {@code benchmarkRuns},
+     * {@code benchmarkWarmup}, {@code benchmarkThreshold}, {@code benchmarkCold},
+     * {@code benchmarkUpdate} and {@code benchmarkHeaps} for BENCHMARK, and
+     * {@code watchQuietPeriod} for WATCH.
+     *
+     * @param step the step to execute
+     * @param options the options of the step
+     * @return the result of the step
+     */
+    public BuildResult execute(Step step, Properties options) {
+        return inContext(() -> {
+            Objects.requireNonNull(step);
+            Objects.requireNonNull(options);
+            DiagnosticsHandler diagnostics = new DiagnosticsHandler();
+            Logger.addHandler(diagnostics);
+            Map<String, Path> artifacts = new LinkedHashMap<>();
+            Map<String, Double> metrics = new LinkedHashMap<>();
+            boolean success = false;
+            Throwable exception = null;
+            long start = System.nanoTime();
+            try {
+                success = runStep(step, options, artifacts, metrics);
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                Logger.logSevere(step + " failed with an exception: " + e);
+                exception = e;
+            } finally {
+                Logger.removeHandler(diagnostics);
+            }
+            return new BuildResult(step, success, Duration.ofNanos(System.nanoTime() - start),
+                    artifacts, metrics, diagnostics.getMessages(), exception);
+        });
+    }
+
+    private boolean runStep(Step step, Properties options, Map<String, Path> artifacts, Map<String, Double> metrics)
+            throws Exception {
+        BuildManifest manifest;
+        Map<String, String> values = Map.of("appName", config.getAppName(),
+                "archOs", config.getTargetTriplet().getArchOs());
+        Path benchmarkPath = paths.getClientPath().resolve(Constants.BENCHMARK_PATH);
+        switch (step) {
+            case COMPILE:
+                compiling = true;
+                startNativeCompileTimer();
+                try {
+                    if (!nativeCompile()) {
+                        return false;
+                    }
+                } finally {
+                    compiling = false;
+                }
+                manifest = getBuildManifest();
+                manifest.getPath(BuildManifest.OBJECT_FILE).ifPresent(p -> artifacts.put(BuildManifest.OBJECT_FILE, p));
+                manifest.getPath(BuildManifest.LLVM_OBJECT_FILE).ifPresent(p -> artifacts.put(BuildManifest.LLVM_OBJECT_FILE, p));
+                return true;
+            case LINK:
+                if (!nativeLink()) {
+                    return false;
+                }
+                manifest = getBuildManifest();
+                manifest.getPath(BuildManifest.LINK_OUTPUT).ifPresent(p -> artifacts.put(BuildManifest.LINK_OUTPUT, p));
+                manifest.getValue(BuildManifest.LINK_TIME).ifPresent(v -> metrics.put(BuildManifest.LINK_TIME, Double.parseDouble(v)));
+                return true;
+            case PACKAGE:
+                return nativePackage();
+            case INSTALL:
+                return nativeInstall();
+            case RUN:
+                String expected = options.getProperty("expected");
+                if (expected == null) {
+                    return runApp();
+                }
+                Logger.logInfo(logTitle("RUN TASK (with expected)"));
+                String response = targetConfiguration.run();
+                if (!expected.equals(response)) {
+                    Logger.logSevere("Run failed, expected output: " + expected + ", output: " + response);
+                    return false;
+                }
+                Logger.logInfo("Run ended successfully, the output: " + expected + " matched the expected result.");
+                return true;
+            case BENCHMARK:
+                int runs = Integer.parseInt(options.getProperty("benchmarkRuns", "10"));
+                int warmupRuns = Integer.parseInt(options.getProperty("benchmarkWarmup", "2"));
+                List<String> heapSizes = Strings.split(options.getProperty("benchmarkHeaps"));
+                if (!heapSizes.isEmpty()) {
+                    if (!nativeMemoryBenchmark(runs, warmupRuns, heapSizes)) {
+                        return false;
+                    }
+                    artifacts.put("benchmarkProfiles",
+                            benchmarkPath.resolve(Strings.substitute(Constants.BENCHMARK_PROFILES_FILE, values)));
+                    return true;
+                }
+                double threshold = Double.parseDouble(options.getProperty("benchmarkThreshold", "0.1"));
+                boolean coldRuns = Boolean.parseBoolean(options.getProperty("benchmarkCold", "false"));
+                boolean updateBaseline = Boolean.parseBoolean(options.getProperty("benchmarkUpdate", "false"));
+                boolean benchmarkSucceeded = nativeBenchmark(runs, warmupRuns, coldRuns, threshold, updateBaseline);
+                Path lastPath = benchmarkPath.resolve(Strings.substitute(Constants.BENCHMARK_LAST_FILE, values));
+                if (Files.exists(lastPath)) {
+                    artifacts.put("benchmark", lastPath);
+                    Benchmark.Result.read(lastPath).getVariants().forEach((variant, variantMetrics) ->
+                            variantMetrics.forEach((metric, value) -> metrics.put(variant + "." + metric, value)));
+                }
+                return benchmarkSucceeded;
+            case WATCH:
+                nativeWatch(Long.parseLong(options.getProperty("watchQuietPeriod", "500")));
+                return true;
+            case AGENT:
+                if (!nativeRunAgent(Long.parseLong(options.getProperty("agentTimeout", "0")))) {
+                    return false;
+                }
+                artifacts.put("agent", paths.getAgentPath());
+                return true;
+            case ANALYZE:
+                metrics.put("initBuildTimeClasses", (double) nativeAnalyze().size());
+                artifacts.put("initBuildTime", paths.getGenPath().resolve(
+                        Strings.substitute(Constants.USER_INIT_BUILD_TIME_ARCHOS_FILE, values)));
+                return true;
+            default:
+                throw new IllegalArgumentException("Unsupported step " + step);
+        }
+    }
+
+    private BuildManifest getBuildManifest() throws IOException {
+        return BuildManifest.load(paths.getGvmPath().resolve(Constants.BUILD_MANIFEST_FILE));
+    }
+
+    /**
+     * Collects the warnings and errors logged while a step runs
+     */
+    private static class DiagnosticsHandler extends Handler {
+
+        private final List<String> messages = new ArrayList<>();
+
+        DiagnosticsHandler() {
+            setLevel(Level.WARNING);
+        }
+
+        @Override
+        public synchronized void publish(LogRecord record) {
+            if (isLoggable(record)) {
+                messages.add(record.getLevel() + ": " + record.getMessage());
+            }
+        }
+
+        synchronized List<String> getMessages() {
+            return new ArrayList<>(messages);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
     /**
      * This method will start native compilation for the specified configuration.
      * The result of compilation is a at least one native file (2 files in case LLVM backend is used).
@@ -412,18 +653,20 @@ public class SubstrateDispatcher {
      * @throws IllegalArgumentException when the supplied configuration contains illegal combinations
      */
     public boolean nativeCompile() throws Exception {
-        Logger.logInfo(logTitle("COMPILE TASK"));
-        printMessage("compile");
+        return inContext(() -> {
+            Logger.logInfo(logTitle("COMPILE TASK"));
+            printMessage("compile");
 
-        Triplet targetTriplet  = config.getTargetTriplet();
-        config.canRunLLVM(targetTriplet);
+            Triplet targetTriplet  = config.getTargetTriplet();
+            config.canRunLLVM(targetTriplet);
 
-        Logger.logInfo("We will now compile your code for " + targetTriplet + ". This may take some time.");
-        boolean compilingSucceeded = targetConfiguration.compile();
-        if (!compilingSucceeded) {
-            Logger.logSevere("Compiling failed.");
-        }
-        return compilingSucceeded;
+            Logger.logInfo("We will now compile your code for " + targetTriplet + ". This may take some time.");
+            boolean compilingSucceeded = targetConfiguration.compile();
+            if (!compilingSucceeded) {
+                Logger.logSevere("Compiling failed.");
+            }
+            return compilingSucceeded;
+        });
     }
 
     /**
@@ -436,13 +679,15 @@ public class SubstrateDispatcher {
      * @throws IllegalArgumentException when the supplied configuration contains illegal combinations
      */
     public boolean nativeLink() throws IOException, InterruptedException {
-        Logger.logInfo(logTitle("LINK TASK"));
-        boolean linkingSucceeded = targetConfiguration.link();
-        if (!linkingSucceeded) {
-            Logger.logSevere("Linking failed.");
-        }
-        printMessage("link");
-        return linkingSucceeded;
+        return this.<Boolean, IOException, InterruptedException>inContext(() -> {
+            Logger.logInfo(logTitle("LINK TASK"));
+            boolean linkingSucceeded = targetConfiguration.link();
+            if (!linkingSucceeded) {
+                Logger.logSevere("Linking failed.");
+            }
+            printMessage("link");
+            return linkingSucceeded;
+        });
     }
 
     /**
@@ -454,13 +699,15 @@ public class SubstrateDispatcher {
      * @throws InterruptedException
      */
     public boolean nativePackage() throws IOException, InterruptedException {
-        Logger.logInfo(logTitle("PACKAGE TASK"));
-        boolean packagingSucceeded = targetConfiguration.packageApp();
-        if (!packagingSucceeded) {
-            Logger.logSevere("Packaging failed.");
-        }
-        printMessage("package");
-        return packagingSucceeded;
+        return this.<Boolean, IOException, InterruptedException>inContext(() -> {
+            Logger.logInfo(logTitle("PACKAGE TASK"));
+            boolean packagingSucceeded = targetConfiguration.packageApp();
+            if (!packagingSucceeded) {
+                Logger.logSevere("Packaging failed.");
+            }
+            printMessage("package");
+            return packagingSucceeded;
+        });
     }
 
     /**
@@ -472,13 +719,15 @@ public class SubstrateDispatcher {
      * @throws InterruptedException
      */
     public boolean nativeInstall() throws IOException, InterruptedException {
-        Logger.logInfo(logTitle("INSTALL TASK"));
-        boolean installingSucceeded = targetConfiguration.install();
-        if (!installingSucceeded) {
-            Logger.logSevere("Installing failed.");
-        }
-        printMessage("install");
-        return installingSucceeded;
+        return this.<Boolean, IOException, InterruptedException>inContext(() -> {
+            Logger.logInfo(logTitle("INSTALL TASK"));
+            boolean installingSucceeded = targetConfiguration.install();
+            if (!installingSucceeded) {
+                Logger.logSevere("Installing failed.");
+            }
+            printMessage("install");
+            return installingSucceeded;
+        });
     }
 
     /**
@@ -488,9 +737,238 @@ public class SubstrateDispatcher {
      * @throws IllegalArgumentException when the supplied configuration contains illegal combinations
      */
     public void nativeRun() throws IOException, InterruptedException {
+        this.<Boolean, IOException, InterruptedException>inContext(this::runApp);
+    }
+
+    private boolean runApp() throws IOException, InterruptedException {
         Logger.logInfo(logTitle("RUN TASK"));
-        targetConfiguration.runUntilEnd();
+        boolean runSucceeded = targetConfiguration.runUntilEnd();
         printMessage("run");
+        return runSucceeded;
+    }
+
+    /**
+     * This method runs the native image application, that was created after {@link #nativeLink()}
+     * was called and ended successfully, several times, and compares its startup time and peak
+     * memory with a baseline stored in the {@code benchmark} folder of the build root.
+     * If there is no baseline yet, or if it has to be updated, the result is stored as the new baseline.
+     * The result of the last benchmark is stored in that folder as well.
+     *
+     * @param runs the number of measured runs
+     * @param warmupRuns the number of initial runs that are discarded
+     * @param coldRuns true to measure runs with the file system caches dropped too (requires root on Linux)
+     * @param threshold the allowed relative increase over the baseline, like 0.1 for 10%
+     * @param updateBaseline true to replace the baseline with the new result
+     * @return false if the benchmark can't run or there are regressions, true otherwise
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public boolean nativeBenchmark(int runs, int warmupRuns, boolean coldRuns, double threshold, boolean updateBaseline)
+            throws IOException, InterruptedException {
+        return this.<Boolean, IOException, InterruptedException>inContext(() -> {
+            Logger.logInfo(logTitle("BENCHMARK TASK"));
+            Benchmark.Result result = targetConfiguration.benchmark(runs, warmupRuns, coldRuns, List.of());
+            if (result == null) {
+                return false;
+            }
+            result.getVariants().forEach((variant, metrics) ->
+                    Logger.logInfo("Benchmark " + variant + " (median of " + runs + " runs): " + metrics));
+
+            Map<String, String> values = Map.of("appName", config.getAppName(),
+                    "archOs", config.getTargetTriplet().getArchOs());
+            Path benchmarkPath = paths.getClientPath().resolve(Constants.BENCHMARK_PATH);
+            Path baselinePath = benchmarkPath.resolve(Strings.substitute(Constants.BENCHMARK_BASELINE_FILE, values));
+            result.write(benchmarkPath.resolve(Strings.substitute(Constants.BENCHMARK_LAST_FILE, values)));
+            if (updateBaseline || !Files.exists(baselinePath)) {
+                result.write(baselinePath);
+                Logger.logInfo("Benchmark baseline stored at " + baselinePath);
+                return true;
+            }
+
+            List<String> regressions = result.compare(Benchmark.Result.read(baselinePath), threshold);
+            if (!regressions.isEmpty()) {
+                regressions.forEach(r -> Logger.logSevere("Benchmark regression: " + r));
+                Logger.logSevere("Use -DbenchmarkUpdate=true to accept the new results as baseline");
+                return false;
+            }
+            Logger.logInfo("No regressions found against the baseline " + baselinePath);
+            return true;
+        });
+    }
+
+    /**
+     * This method runs the native image application, that was created after {@link #nativeLink()}
+     * was called and ended successfully, under different runtime memory profiles: the default one
+     * baked into the image, and one for each of the given maximum heap sizes. The garbage collector
+     * itself is chosen when the image is built, so each collector needs its own build.
+     * The runtime, garbage collection pauses and peak memory of each profile are logged and
+     * stored in the {@code benchmark} folder of the build root, to compare their tradeoffs.
+     *
+     * @param runs the number of measured runs for each profile
+     * @param warmupRuns the number of initial runs that are discarded for each profile
+     * @param heapSizes the maximum heap sizes to compare, like 64m
+     * @return false if the benchmark can't run, true otherwise
+     * @throws IllegalArgumentException if a heap size is not valid
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public boolean nativeMemoryBenchmark(int runs, int warmupRuns, List<String> heapSizes)
+            throws IOException, InterruptedException {
+        return this.<Boolean, IOException, InterruptedException>inContext(() -> {
+            Logger.logInfo(logTitle("MEMORY BENCHMARK TASK"));
+            // fail before running anything if a heap size is not valid
+            heapSizes.forEach(heapSize -> Strings.parseMemorySize("benchmarkHeaps", heapSize));
+            Map<String, List<String>> profiles = new LinkedHashMap<>();
+            profiles.put("default", List.of("-XX:+PrintGC"));
+            for (String heapSize : heapSizes) {
+                profiles.put("Xmx" + heapSize, List.of("-XX:+PrintGC", "-Xmx" + heapSize));
+            }
+            List<String> metrics = List.of(Benchmark.TOTAL, Benchmark.GC_COUNT, Benchmark.GC_PAUSE_TOTAL,
+                    Benchmark.GC_PAUSE_MAX, Benchmark.PEAK_RSS);
+            StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%-12s", "profile"));
+            metrics.forEach(m -> report.append(String.format(Locale.ROOT, " %20s", m)));
+            report.append("\n");
+            for (Map.Entry<String, List<String>> profile : profiles.entrySet()) {
+                Benchmark.Result result = targetConfiguration.benchmark(runs, warmupRuns, false, profile.getValue());
+                if (result == null) {
+                    return false;
+                }
+                Logger.logInfo("Benchmark " + profile.getKey() + " (median of " + runs + " runs): " +
+                        result.getVariants().get(Benchmark.WARM));
+                report.append(String.format(Locale.ROOT, "%-12s", profile.getKey()));
+                for (String metric : metrics) {
+                    report.append(String.format(Locale.ROOT, " %20s", result.getValue(Benchmark.WARM, metric)
+                            .map(v -> String.format(Locale.ROOT, "%.3f", v)).orElse("-")));
+                }
+                report.append("\n");
+            }
+
+            Map<String, String> values = Map.of("appName", config.getAppName(),
+                    "archOs", config.getTargetTriplet().getArchOs());
+            Path reportPath = paths.getClientPath().resolve(Constants.BENCHMARK_PATH)
+                    .resolve(Strings.substitute(Constants.BENCHMARK_PROFILES_FILE, values));
+            Files.createDirectories(reportPath.getParent());
+            Files.writeString(reportPath, report.toString());
+            Logger.logInfo("Memory profiles:\n" + report);
+            Logger.logInfo("Memory benchmark report stored at " + reportPath);
+            return true;
+        });
+    }
+
+    /**
+     * This method runs the native image application, that was created after {@link #nativeLink()}
+     * was called and ended successfully, and watches the directories of the classpath and the
+     * native code directory of the project. When files change, only the invalidated steps run
+     * again: changes in the native code only require linking, while changes in the classpath
+     * require compiling and linking too. Both steps reuse their caches for the inputs that
+     * didn't change. The application is stopped before linking, and launched again afterwards.
+     *
+     * Changes are coalesced: a rebuild starts once no file changed for the given quiet period.
+     * This method doesn't return until the thread is interrupted.
+     *
+     * @param quietPeriod the time in milliseconds without changes before rebuilding
+     * @throws Exception
+     */
+    public void nativeWatch(long quietPeriod) throws Exception {
+        inContext(() -> {
+            Logger.logInfo(logTitle("WATCH TASK"));
+            Path nativeCodePath = paths.getNativeCodePath();
+            List<Path> roots = Stream.of(config.getClasspath().split(File.pathSeparator))
+                    .map(Path::of)
+                    .filter(Files::isDirectory)
+                    .collect(Collectors.toList());
+            roots.add(nativeCodePath);
+
+            Process app = null;
+            try (FileWatcher watcher = new FileWatcher(roots)) {
+                app = targetConfiguration.launch();
+                while (true) {
+                    Logger.logInfo("Watching " + watcher.getRoots() + " for changes" +
+                            (watcher.getPendingRoots().isEmpty() ? "" :
+                                    ", and " + watcher.getPendingRoots() + " once created"));
+                    Set<Path> changes = watcher.awaitChanges(quietPeriod);
+                    Logger.logInfo(changes.size() + " file(s) changed, rebuilding");
+                    Logger.logDebug("Changed files: " + changes);
+                    boolean recompile = changes.stream().anyMatch(p -> !p.startsWith(nativeCodePath));
+                    if (recompile && !targetConfiguration.compile()) {
+                        Logger.logSevere("Compiling failed, waiting for more changes");
+                        continue;
+                    }
+                    stop(app);
+                    app = null;
+                    if (!targetConfiguration.link()) {
+                        Logger.logSevere("Linking failed, waiting for more changes");
+                        continue;
+                    }
+                    app = targetConfiguration.launch();
+                }
+            } finally {
+                stop(app);
+            }
+        });
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        if (process == null || !process.isAlive()) {
+            return;
+        }
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+    /**
+     * This method runs the application on the JVM with the native-image tracing agent,
+     * over the workload defined by the runtime arguments. The captured reflection, JNI,
+     * resources, proxy and serialization configuration is merged with the configuration
+     * of the classpath jars by the following calls to {@link #nativeCompile()}.
+     *
+     * @param timeout the maximum time in seconds allowed to run the application,
+     *                or 0 to wait until it ends
+     * @return true if the application ran successfully, false otherwise
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public boolean nativeRunAgent(long timeout) throws IOException, InterruptedException {
+        return this.<Boolean, IOException, InterruptedException>inContext(() -> {
+            Logger.logInfo(logTitle("AGENT TASK"));
+            boolean agentSucceeded = targetConfiguration.runAgent(timeout);
+            if (!agentSucceeded) {
+                Logger.logSevere("Running with the tracing agent failed.");
+            }
+            return agentSucceeded;
+        });
+    }
+
+    /**
+     * This method analyzes the static initializers of the classes of the project, excluding
+     * JavaFX, and generates a list of the classes that are safe to initialize at build time,
+     * in the {@code gensrc/initbuildtime-$archOs} file, with a report in {@code gvm/reports}.
+     * The list is not applied: to use it, it has to be copied to the
+     * {@code META-INF/substrate/config} folder of the project resources.
+     *
+     * @return the list of classes that are safe to initialize at build time
+     * @throws IOException
+     */
+    public List<String> nativeAnalyze() throws IOException {
+        return inContext(() -> {
+            Logger.logInfo(logTitle("ANALYZE TASK"));
+            String archOs = config.getTargetTriplet().getArchOs();
+            try (ClassPathIndex index = new ClassPathIndex(config.getClasspath(), null)) {
+                InitBuildTimeAdvisor advisor = new InitBuildTimeAdvisor(index,
+                        root -> !root.getFileName().toString().startsWith("javafx"));
+                List<String> safeClasses = advisor.analyze();
+                Path initBuildTimePath = paths.getGenPath().resolve(
+                        Strings.substitute(Constants.USER_INIT_BUILD_TIME_ARCHOS_FILE, Map.of("archOs", archOs)));
+                advisor.writeInitBuildTimeFile(initBuildTimePath);
+                advisor.writeReport(paths.getGvmPath().resolve(Constants.REPORTS_PATH).resolve(
+                        Strings.substitute(Constants.INIT_BUILD_TIME_REPORT_FILE, Map.of("archOs", archOs))));
+                Logger.logInfo(safeClasses.size() + " classes can be initialized at build time. To apply it, copy " +
+                        initBuildTimePath + " to " + Constants.META_INF_SUBSTRATE_CONFIG + " in the project resources");
+                return safeClasses;
+            }
+        });
     }
 
     /**
@@ -503,9 +981,11 @@ public class SubstrateDispatcher {
      * @throws Exception
      */
     public boolean nativeSharedLibrary() throws Exception {
-        Logger.logInfo(logTitle("SHARED LIBRARY TASK"));
-        config.setSharedLibrary(true);
-        return targetConfiguration.createSharedLib();
+        return inContext(() -> {
+            Logger.logInfo(logTitle("SHARED LIBRARY TASK"));
+            config.setSharedLibrary(true);
+            return targetConfiguration.createSharedLib();
+        });
     }
 
     /**
@@ -518,9 +998,11 @@ public class SubstrateDispatcher {
      * @throws Exception
      */
     public boolean nativeStaticLibrary() throws Exception {
-        Logger.logInfo(logTitle("STATIC LIBRARY TASK"));
-        config.setStaticLibrary(true);
-        return targetConfiguration.createStaticLib();
+        return inContext(() -> {
+            Logger.logInfo(logTitle("STATIC LIBRARY TASK"));
+            config.setStaticLibrary(true);
+            return targetConfiguration.createStaticLib();
+        });
     }
 
 }
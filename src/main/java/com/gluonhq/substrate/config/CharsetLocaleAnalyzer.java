@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.config;
+
+import com.gluonhq.substrate.model.ClassPathIndex;
+import com.gluonhq.substrate.util.ClassFile;
+import com.gluonhq.substrate.util.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the charsets and locales that a project uses, so native-image can include
+ * only those, instead of all the charsets ({@code -H:+AddAllCharsets}) and the
+ * default set of locales.
+ *
+ * The following usages are detected in the bytecode of the analyzed roots:
+ * <ul>
+ *     <li>Charsets: {@code StandardCharsets} fields, and string constants that
+ *     are names or aliases of a charset, like in {@code Charset.forName("windows-1252")}</li>
+ *     <li>Locales: {@code Locale} constants, like {@code Locale.FRANCE}, and
+ *     {@code Locale.forLanguageTag}, {@code Locale.of} and the {@code Locale}
+ *     constructors with constant arguments</li>
+ * </ul>
+ * and the locales of the resource bundles of the project are added too.
+ *
+ * The standard charsets are always included by native-image, so all the charsets
+ * are only required when a different one is found. Charset lookups with a
+ * non-constant name, in {@code Charset.forName}, {@code String.getBytes},
+ * the {@code String} constructors and the {@code InputStreamReader} and
+ * {@code OutputStreamWriter} constructors, can't be resolved, and are listed in the report.
+ */
+public class CharsetLocaleAnalyzer {
+
+    /**
+     * Value of the charsets list to keep all the charsets
+     */
+    public static final String ALL_CHARSETS = "all";
+
+    private static final Set<String> STANDARD_CHARSETS = Set.of(StandardCharsets.US_ASCII.name(),
+            StandardCharsets.ISO_8859_1.name(), StandardCharsets.UTF_8.name(), StandardCharsets.UTF_16.name(),
+            StandardCharsets.UTF_16BE.name(), StandardCharsets.UTF_16LE.name());
+    private static final String DEFAULT_LOCALE = "en";
+
+    private static final String CHARSET_CLASS = "java.nio.charset.Charset";
+    private static final String LOCALE_CLASS = "java.util.Locale";
+    private static final Map<String, String> CHARSET_NAME_LOOKUPS = Map.of(
+            CHARSET_CLASS + ".forName", "Charset.forName",
+            "java.lang.String.getBytes", "String.getBytes",
+            "java.lang.String.<init>", "new String",
+            "java.io.InputStreamReader.<init>", "new InputStreamReader",
+            "java.io.OutputStreamWriter.<init>", "new OutputStreamWriter");
+    private static final Pattern BUNDLE_LOCALE_PATTERN = Pattern.compile("_([a-z]{2,3}(?:_[A-Z]{2})?)\\.(properties|class)$");
+    private static final int MAX_CONSTANT_DISTANCE = 4;
+
+    private final ClassPathIndex index;
+    private final Predicate<Path> analyzedRoots;
+    private final Map<String, String> charsetNames = new HashMap<>();
+    private final Map<String, Set<String>> charsets = new TreeMap<>();
+    private final Map<String, Set<String>> locales = new TreeMap<>();
+    private final Set<String> unresolved = new TreeSet<>();
+    private boolean allCharsets;
+
+    /**
+     * Creates an analyzer for the given classpath index
+     *
+     * @param index the index of the classpath of the project
+     * @param analyzedRoots the jars and directories of the index which bytecode
+     *                      and resource bundles are analyzed
+     */
+    public CharsetLocaleAnalyzer(ClassPathIndex index, Predicate<Path> analyzedRoots) {
+        this.index = index;
+        this.analyzedRoots = analyzedRoots;
+        for (Map.Entry<String, Charset> entry : Charset.availableCharsets().entrySet()) {
+            charsetNames.put(entry.getKey().toLowerCase(Locale.ROOT), entry.getKey());
+            entry.getValue().aliases().forEach(alias -> charsetNames.put(alias.toLowerCase(Locale.ROOT), entry.getKey()));
+        }
+        addLocale(DEFAULT_LOCALE, "default locale");
+    }
+
+    /**
+     * Adds charsets that are always included, like those that are looked up
+     * with non-constant names. If the list contains {@value #ALL_CHARSETS}, all
+     * the charsets are included.
+     *
+     * @param names the names or aliases of the charsets
+     */
+    public void addCharsets(List<String> names) {
+        for (String name : names) {
+            if (ALL_CHARSETS.equalsIgnoreCase(name)) {
+                allCharsets = true;
+            } else if (charsetNames.containsKey(name.toLowerCase(Locale.ROOT))) {
+                addCharset(charsetNames.get(name.toLowerCase(Locale.ROOT)), "charsets list");
+            } else {
+                throw new IllegalArgumentException("Invalid charset in charsets list: " + name);
+            }
+        }
+    }
+
+    /**
+     * Adds locales that are always included
+     *
+     * @param tags the language tags of the locales, like en-US
+     */
+    public void addLocales(List<String> tags) {
+        for (String tag : tags) {
+            if (!addLocale(tag.replace('_', '-'), "locales list")) {
+                throw new IllegalArgumentException("Invalid locale in locales list: " + tag);
+            }
+        }
+    }
+
+    /**
+     * Analyzes the project
+     *
+     * @param bundles the resource bundles included in the image
+     * @throws IOException if a class can't be read
+     */
+    public void analyze(List<String> bundles) throws IOException {
+        List<String> bundlePaths = new ArrayList<>();
+        bundles.forEach(b -> bundlePaths.add(b.replace('.', '/')));
+        for (ClassPathIndex.Entry entry : index.getEntries()) {
+            if (!analyzedRoots.test(entry.getRoot())) {
+                continue;
+            }
+            String name = entry.getName();
+            Matcher matcher = BUNDLE_LOCALE_PATTERN.matcher(name);
+            if (matcher.find() && bundlePaths.contains(name.substring(0, matcher.start()))) {
+                addLocale(matcher.group(1).replace('_', '-'), "bundle " + name);
+            }
+            if (entry.isClass() && !name.endsWith("module-info.class")) {
+                try (InputStream is = index.open(entry)) {
+                    analyzeClass(ClassFile.read(is));
+                } catch (IOException e) {
+                    Logger.logDebug("Error reading " + entry + ": " + e.getMessage());
+                }
+            }
+        }
+        Logger.logDebug("Charset and locale analysis found " + charsets.size() + " charsets and " +
+                locales.size() + " locales");
+    }
+
+    private void analyzeClass(ClassFile classFile) throws IOException {
+        for (ClassFile.Member method : classFile.getMethods()) {
+            classFile.visitInstructions(method, new UsageVisitor(classFile.getName() + "." + method.getName()));
+        }
+    }
+
+    /*
+     * Tracks the string constants loaded before calls to Charset and Locale methods
+     */
+    private class UsageVisitor implements ClassFile.InstructionVisitor {
+
+        private final String location;
+        private int count;
+        private final List<String> strings = new ArrayList<>();
+        private int lastStringAt = -1;
+
+        UsageVisitor(String location) {
+            this.location = location;
+        }
+
+        @Override
+        public void visit(ClassFile.Instruction instruction) {
+            count++;
+            int opcode = instruction.getOpcode();
+            if ((opcode == ClassFile.LDC || opcode == ClassFile.LDC_W) && instruction.getConstant() instanceof String) {
+                String value = (String) instruction.getConstant();
+                if (count - lastStringAt > MAX_CONSTANT_DISTANCE) {
+                    strings.clear();
+                }
+                strings.add(value);
+                lastStringAt = count;
+                String charset = charsetNames.get(value.toLowerCase(Locale.ROOT));
+                if (charset != null) {
+                    addCharset(charset, "constant \"" + value + "\" in " + location);
+                }
+                return;
+            }
+            ClassFile.MemberRef ref = instruction.getRef();
+            if (ref == null || ref.getOwner() == null) {
+                return;
+            }
+            boolean constants = !strings.isEmpty() && count - lastStringAt <= MAX_CONSTANT_DISTANCE;
+            if (opcode == ClassFile.GETSTATIC) {
+                if ("java.nio.charset.StandardCharsets".equals(ref.getOwner())) {
+                    String charset = charsetNames.get(ref.getName().replace('_', '-').toLowerCase(Locale.ROOT));
+                    if (charset != null) {
+                        addCharset(charset, "StandardCharsets." + ref.getName() + " in " + location);
+                    }
+                } else if (LOCALE_CLASS.equals(ref.getOwner())) {
+                    getLocaleConstant(ref.getName())
+                            .ifPresent(tag -> addLocale(tag, "Locale." + ref.getName() + " in " + location));
+                }
+            } else if (isCharsetNameLookup(ref)) {
+                // the name is the last argument, so its constant is loaded right before the call
+                if (strings.isEmpty() || count - lastStringAt != 1) {
+                    unresolved.add(CHARSET_NAME_LOOKUPS.get(ref.getOwner() + "." + ref.getName()) +
+                            " with non-constant name in " + location);
+                }
+            } else if (ref.matches(LOCALE_CLASS, "forLanguageTag") && constants) {
+                addLocale(strings.get(strings.size() - 1), "Locale.forLanguageTag in " + location);
+            } else if ((ref.matches(LOCALE_CLASS, "<init>") || ref.matches(LOCALE_CLASS, "of")) && constants) {
+                int parameters = Math.min(ClassFile.getParameterTypes(ref.getDescriptor()).size(), strings.size());
+                String tag = String.join("-", strings.subList(strings.size() - parameters, strings.size()));
+                addLocale(tag, "Locale." + ("of".equals(ref.getName()) ? "of" : "new") + " in " + location);
+            }
+        }
+    }
+
+    /*
+     * Returns true for the methods and constructors that take the name of a charset
+     * as their last parameter, like String.getBytes(String), but not new String(String)
+     */
+    private static boolean isCharsetNameLookup(ClassFile.MemberRef ref) {
+        if (!CHARSET_NAME_LOOKUPS.containsKey(ref.getOwner() + "." + ref.getName())) {
+            return false;
+        }
+        List<String> parameters = ClassFile.getParameterTypes(ref.getDescriptor());
+        return !parameters.isEmpty() && "java.lang.String".equals(parameters.get(parameters.size() - 1)) &&
+                (parameters.size() > 1 || !"<init>".equals(ref.getName()));
+    }
+
+    private static Optional<String> getLocaleConstant(String fieldName) {
+        try {
+            Field field = Locale.class.getField(fieldName);
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == Locale.class) {
+                String tag = ((Locale) field.get(null)).toLanguageTag();
+                return "und".equals(tag) ? Optional.empty() : Optional.of(tag);
+            }
+        } catch (ReflectiveOperationException e) {
+            // not a locale constant
+        }
+        return Optional.empty();
+    }
+
+    private void addCharset(String name, String reason) {
+        charsets.computeIfAbsent(name, n -> new TreeSet<>()).add(reason);
+    }
+
+    private boolean addLocale(String tag, String reason) {
+        Locale locale = Locale.forLanguageTag(tag);
+        if (locale.getLanguage().isEmpty()) {
+            return false;
+        }
+        locales.computeIfAbsent(locale.toLanguageTag(), t -> new TreeSet<>()).add(reason);
+        return true;
+    }
+
+    /**
+     * @return the names of the charsets that were found
+     */
+    public Set<String> getCharsets() {
+        return charsets.keySet();
+    }
+
+    /**
+     * @return the language tags of the locales that were found
+     */
+    public Set<String> getLocales() {
+        return locales.keySet();
+    }
+
+    /**
+     * @return the charset lookups that couldn't be resolved
+     */
+    public Set<String> getUnresolved() {
+        return unresolved;
+    }
+
+    /**
+     * @return true if a charset that is not included by default was found,
+     * or all the charsets were requested
+     */
+    public boolean requiresAllCharsets() {
+        return allCharsets || charsets.keySet().stream().anyMatch(c -> !STANDARD_CHARSETS.contains(c));
+    }
+
+    /**
+     * Returns the native-image arguments to include the charsets and locales that were found.
+     * Native-image has no option to include individual charsets, so all of them are
+     * added when a non-standard charset is required.
+     *
+     * @return the list of native-image arguments
+     */
+    public List<String> getNativeImageArgs() {
+        List<String> args = new ArrayList<>();
+        if (requiresAllCharsets()) {
+            args.add("-H:+AddAllCharsets");
+        }
+        args.add("-H:IncludeLocales=" + String.join(",", locales.keySet()));
+        return args;
+    }
+
+    /**
+     * Writes a report with the charsets and locales that were found, the reason
+     * why they were included, and how many of the available ones are left out.
+     * Native-image doesn't report the size that each charset or locale adds to
+     * the image, so the summary gives counts, not sizes.
+     *
+     * @param reportPath the path of the report file
+     * @throws IOException if the report can't be written
+     */
+    public void writeReport(Path reportPath) throws IOException {
+        Files.createDirectories(reportPath.getParent());
+        int availableCharsets = Charset.availableCharsets().size();
+        int availableLocales = Locale.getAvailableLocales().length;
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8))) {
+            writer.println("Charset and locale analysis report");
+            writer.println();
+            writer.println("Charsets:");
+            charsets.forEach((name, reasons) -> writer.println("    " + name + " (" + String.join(", ", reasons) + ")"));
+            writer.println();
+            writer.println("Locales:");
+            locales.forEach((tag, reasons) -> writer.println("    " + tag + " (" + String.join(", ", reasons) + ")"));
+            if (!unresolved.isEmpty()) {
+                writer.println();
+                writer.println("Unresolved charset lookups, add the required charsets to the charsets list:");
+                unresolved.forEach(u -> writer.println("    " + u));
+            }
+            writer.println();
+            writer.println("Summary (number of charsets and locales, not their size in the image):");
+            if (requiresAllCharsets()) {
+                writer.println("    Charsets: all " + availableCharsets + " charsets are included, because " +
+                        (allCharsets ? "they were requested" : "a non-standard charset is used"));
+            } else {
+                writer.println("    Charsets: " + STANDARD_CHARSETS.size() + " standard charsets are included, " +
+                        (availableCharsets - STANDARD_CHARSETS.size()) + " of " + availableCharsets + " are left out");
+            }
+            writer.println("    Locales: " + locales.size() + " locales are included, " +
+                    Math.max(0, availableLocales - locales.size()) + " of " + availableLocales + " are left out");
+        }
+        Logger.logDebug("Charset and locale analysis report written to " + reportPath);
+    }
+}
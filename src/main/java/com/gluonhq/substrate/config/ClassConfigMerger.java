@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.config;
+
+import com.gluonhq.substrate.util.json.JsonReader;
+import com.gluonhq.substrate.util.json.JsonWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Merges reflection and JNI configuration files, which are arrays of class
+ * entries. Entries are merged by class name (and condition, if any): boolean
+ * flags are combined, and the lists of methods and fields are joined,
+ * without duplicates.
+ */
+public class ClassConfigMerger extends ConfigMerger {
+
+    private static final List<String> ALL_MEMBERS_FLAGS = List.of(
+            "allDeclaredConstructors", "allPublicConstructors",
+            "allDeclaredFields", "allPublicFields",
+            "allDeclaredMethods", "allPublicMethods");
+
+    private final Map<String, Map<String, Object>> entries = new LinkedHashMap<>();
+
+    /**
+     * Adds an entry for the given class, without members
+     *
+     * @param className the fully qualified name of the class
+     */
+    public void addClass(String className) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", className);
+        add(entry);
+    }
+
+    /**
+     * Adds an entry for the given class, with all its
+     * constructors, fields and methods
+     *
+     * @param className the fully qualified name of the class
+     */
+    public void addClassWithAllMembers(String className) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", className);
+        ALL_MEMBERS_FLAGS.forEach(flag -> entry.put(flag, true));
+        add(entry);
+    }
+
+    /**
+     * Adds a class entry, merging it with a previous entry for the same class
+     *
+     * @param entry a map with the content of the entry, it requires a name
+     */
+    public void add(Map<String, Object> entry) {
+        Object name = entry.get("name");
+        if (!(name instanceof String)) {
+            throw new IllegalArgumentException("Class entry without name: " + entry);
+        }
+        String key = entry.containsKey("condition") ? name + "|" + entry.get("condition") : (String) name;
+        Map<String, Object> existing = entries.get(key);
+        if (existing == null) {
+            entries.put(key, copy(entry));
+        } else {
+            mergeMembers(existing, entry);
+        }
+    }
+
+    /**
+     * Returns the merged entry for the given class, without condition
+     *
+     * @param className the fully qualified name of the class
+     * @return an Optional with the entry, or empty if the class wasn't added
+     */
+    public Optional<Map<String, Object>> getEntry(String className) {
+        return Optional.ofNullable(entries.get(className));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void write(Path path) throws IOException {
+        try (JsonWriter writer = new JsonWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.beginArray();
+            for (Map<String, Object> entry : entries.values()) {
+                writer.value(entry);
+            }
+            writer.endArray();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void merge(JsonReader reader) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Object value = reader.readValue();
+            if (!(value instanceof Map)) {
+                throw new IOException("Expected a class entry, but found " + value);
+            }
+            add((Map<String, Object>) value);
+        }
+        reader.endArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void mergeMembers(Map<String, Object> existing, Map<String, Object> entry) {
+        for (Map.Entry<String, Object> member : entry.entrySet()) {
+            String key = member.getKey();
+            Object value = member.getValue();
+            Object current = existing.get(key);
+            if (current == null) {
+                existing.put(key, copyValue(value));
+            } else if (current instanceof Boolean && value instanceof Boolean) {
+                existing.put(key, (Boolean) current || (Boolean) value);
+            } else if (current instanceof List && value instanceof List) {
+                List<Object> list = (List<Object>) current;
+                for (Object element : (List<Object>) value) {
+                    addMember(list, element);
+                }
+            }
+            // other values (e.g. name, condition) are kept from the first entry
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addMember(List<Object> members, Object member) {
+        if (member instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) member;
+            for (Object existing : members) {
+                if (existing instanceof Map && sameMember((Map<String, Object>) existing, map)) {
+                    mergeMembers((Map<String, Object>) existing, map);
+                    return;
+                }
+            }
+        } else if (members.contains(member)) {
+            return;
+        }
+        members.add(copyValue(member));
+    }
+
+    /*
+     * Methods are identified by name and parameter types, fields only by name
+     */
+    private static boolean sameMember(Map<String, Object> a, Map<String, Object> b) {
+        return a.get("name") != null && a.get("name").equals(b.get("name")) &&
+                String.valueOf(a.get("parameterTypes")).equals(String.valueOf(b.get("parameterTypes")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> copy(Map<String, Object> map) {
+        return (Map<String, Object>) copyValue(map);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copyValue(Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            ((Map<String, Object>) value).forEach((k, v) -> copy.put(k, copyValue(v)));
+            return copy;
+        } else if (value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            ((List<Object>) value).forEach(v -> copy.add(copyValue(v)));
+            return copy;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.config;
+
+import com.gluonhq.substrate.util.json.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Base class for the mergers of native-image JSON configuration files.
+ * Entries from different sources are parsed and combined, so the resulting
+ * file contains each entry only once.
+ */
+public abstract class ConfigMerger {
+
+    /**
+     * Parses the JSON content of the given stream and merges it with
+     * the entries added so far. The stream is closed afterwards.
+     *
+     * @param inputStream the stream with the JSON content
+     * @param source a description of the source, used for error reporting
+     * @throws IOException if the content can't be read or is not valid
+     */
+    public void merge(InputStream inputStream, String source) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            merge(reader);
+        } catch (IOException | ClassCastException e) {
+            throw new IOException("Error parsing " + source + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses the JSON content of the given file, if it exists, and merges it
+     * with the entries added so far
+     *
+     * @param path the path of the configuration file
+     * @return true if the file exists and was merged
+     * @throws IOException if the content can't be read or is not valid
+     */
+    public boolean merge(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        merge(Files.newInputStream(path), path.toString());
+        return true;
+    }
+
+    /**
+     * Writes the merged configuration to the given file
+     *
+     * @param path the path of the configuration file
+     * @throws IOException if the file can't be written
+     */
+    public abstract void write(Path path) throws IOException;
+
+    abstract void merge(JsonReader reader) throws IOException;
+}
@@ -125,7 +125,9 @@ public class ConfigResolver {
      * @param archOs a string with the arch and os, it can be null
      * @return a list of lines that should be added to the reflectionconfig.json file
      * @throws IOException
+     * @deprecated the content of the files is not parsed, use {@link #mergeUserReflectionConfig(String, ClassConfigMerger)} instead
      */
+    @Deprecated
     public List<String> getUserReflectionList(String archOs) throws IOException {
         Logger.logDebug("Scanning for reflection files");
         return scanJars(USER_REFLECTION_FILE,
@@ -144,7 +146,9 @@ public class ConfigResolver {
      * @param archOs a string with the arch and os, it can be null
      * @return a list of lines that should be added to the jniconfig.json file
      * @throws IOException
+     * @deprecated the content of the files is not parsed, use {@link #mergeUserJNIConfig(String, ClassConfigMerger)} instead
      */
+    @Deprecated
     public List<String> getUserJNIList(String archOs) throws IOException {
         Logger.logDebug("Scanning for JNI files");
         return scanJars(USER_JNI_FILE,
@@ -163,7 +167,9 @@ public class ConfigResolver {
      * @param archOs a string with the arch and os, it can be null
      * @return a list of lines that should be added to the resourceconfig.json file
      * @throws IOException
+     * @deprecated the content of the files is not parsed, use {@link #mergeUserResourceConfig(String, ResourceConfigMerger)} instead
      */
+    @Deprecated
     public List<String> getUserResourcesList(String archOs) throws IOException {
         Logger.logDebug("Scanning for resource files");
         List<String> resources = scanJars(USER_RESOURCE_FILE,
@@ -177,9 +183,76 @@ public class ConfigResolver {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Walks through the jars in the classpath,
+     * and looks for META-INF/substrate/config/reflectionconfig.json or
+     * META-INF/substrate/config/reflectionconfig-${archos}.json files.
+     *
+     * The entries from all the files found are merged into the provided merger
+     *
+     * @param archOs a string with the arch and os, it can be null
+     * @param merger the merger that collects the reflection entries
+     * @throws IOException if a file can't be read or is not valid JSON
+     */
+    public void mergeUserReflectionConfig(String archOs, ClassConfigMerger merger) throws IOException {
+        Logger.logDebug("Scanning for reflection files");
+        scanJars(USER_REFLECTION_FILE, getFileNameForArchOs(USER_REFLECTION_ARCHOS_FILE, archOs), merger);
+    }
+
+    /**
+     * Walks through the jars in the classpath,
+     * and looks for META-INF/substrate/config/jniconfig.json or
+     * META-INF/substrate/config/jniconfig-${archos}.json files.
+     *
+     * The entries from all the files found are merged into the provided merger
+     *
+     * @param archOs a string with the arch and os, it can be null
+     * @param merger the merger that collects the JNI entries
+     * @throws IOException if a file can't be read or is not valid JSON
+     */
+    public void mergeUserJNIConfig(String archOs, ClassConfigMerger merger) throws IOException {
+        Logger.logDebug("Scanning for JNI files");
+        scanJars(USER_JNI_FILE, getFileNameForArchOs(USER_JNI_ARCHOS_FILE, archOs), merger);
+    }
+
+    /**
+     * Walks through the jars in the classpath,
+     * and looks for META-INF/substrate/config/resourceconfig.json or
+     * META-INF/substrate/config/resourceconfig-${archos}.json files.
+     *
+     * The patterns and bundles from all the files found are merged into the provided merger
+     *
+     * @param archOs a string with the arch and os, it can be null
+     * @param merger the merger that collects the resource patterns
+     * @throws IOException if a file can't be read or is not valid JSON
+     */
+    public void mergeUserResourceConfig(String archOs, ResourceConfigMerger merger) throws IOException {
+        Logger.logDebug("Scanning for resource files");
+        scanJars(USER_RESOURCE_FILE, getFileNameForArchOs(USER_RESOURCE_ARCHOS_FILE, archOs), merger);
+    }
+
     private List<String> scanJars(String configName, String configArchosName, String initLine, Predicate<String> filter) throws IOException {
-        Objects.requireNonNull(configName, "configName can't be null");
         List<String> list = new ArrayList<>();
+        scanJars(configName, configArchosName, (zip, zipEntry) -> {
+            if (initLine != null) {
+                // first line content before adding the file's content
+                list.add(initLine);
+            }
+            Logger.logDebug("Adding classes from " + zip.getName() + "::" + zipEntry.getName());
+            list.addAll(FileOps.readFileLines(zip.getInputStream(zipEntry), filter));
+        });
+        return list;
+    }
+
+    private void scanJars(String configName, String configArchosName, ConfigMerger merger) throws IOException {
+        scanJars(configName, configArchosName, (zip, zipEntry) -> {
+            Logger.logDebug("Merging config from " + zip.getName() + "::" + zipEntry.getName());
+            merger.merge(zip.getInputStream(zipEntry), zip.getName() + "::" + zipEntry.getName());
+        });
+    }
+
+    private void scanJars(String configName, String configArchosName, ConfigEntryConsumer consumer) throws IOException {
+        Objects.requireNonNull(configName, "configName can't be null");
         for (File jar : jars) {
             if (!jar.exists()) {
                 continue;
@@ -192,17 +265,11 @@ public class ConfigResolver {
                     if (!zipEntry.isDirectory() &&
                             ((META_INF_SUBSTRATE_CONFIG + configName).equals(name) ||
                                 (configArchosName != null && (META_INF_SUBSTRATE_CONFIG + configArchosName).equals(name)))) {
-                        if (initLine != null) {
-                            // first line content before adding the file's content
-                            list.add(initLine);
-                        }
-                        Logger.logDebug("Adding classes from " + zip.getName() + "::" + zipEntry.getName());
-                        list.addAll(FileOps.readFileLines(zip.getInputStream(zipEntry), filter));
+                        consumer.accept(zip, zipEntry);
                     }
                 }
             }
         }
-        return list;
     }
 
     private String getFileNameForArchOs(String userFileName, String archOs) {
@@ -210,4 +277,8 @@ public class ConfigResolver {
                 null : Strings.substitute(userFileName, Map.of("archOs", archOs));
     }
 
+    @FunctionalInterface
+    private interface ConfigEntryConsumer {
+        void accept(ZipFile zip, ZipEntry zipEntry) throws IOException;
+    }
 }
@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.config;
+
+import com.gluonhq.substrate.model.ClassPathIndex;
+import com.gluonhq.substrate.util.json.JsonReader;
+import com.gluonhq.substrate.util.json.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Breaks down the size of a native image per package and per jar, from the
+ * dashboard dump that native-image generates with {@code -H:DashboardDump}:
+ * the code size of each compiled method and the image heap size of the objects
+ * of each class. The totals come from the build output JSON file, generated with
+ * {@code -H:BuildOutputJSONFile}, when available. The dashboard was removed from
+ * GraalVM 23.0, so with newer versions the report only has the totals.
+ *
+ * The report can be stored as JSON, to compare it with the report of a following
+ * build, and as a text file with the largest contributors.
+ */
+public class ImageSizeReport {
+
+    /**
+     * Name used for the classes that are not found in the classpath, like those
+     * of the JDK and GraalVM
+     */
+    static final String JDK = "<jdk>";
+
+    private static final int TOP_ENTRIES = 50;
+    private static final long MB = 1024 * 1024;
+
+    private long totalBytes = -1;
+    private final Map<String, long[]> packages = new HashMap<>();
+    private final Map<String, long[]> jars = new HashMap<>();
+
+    ImageSizeReport() {
+    }
+
+    /**
+     * Creates the report of an image
+     *
+     * @param dashboardDump the dashboard dump file, in JSON format, or null if there is no breakdown
+     * @param buildOutput the build output JSON file, or null
+     * @param index the index of the classpath, used to find the jar of each class
+     * @return the size report
+     * @throws IOException if the files can't be read or are not valid
+     */
+    public static ImageSizeReport create(Path dashboardDump, Path buildOutput, ClassPathIndex index) throws IOException {
+        ImageSizeReport report = new ImageSizeReport();
+        if (buildOutput != null && Files.exists(buildOutput)) {
+            report.totalBytes = readTotalBytes(buildOutput);
+        }
+        if (dashboardDump == null) {
+            return report;
+        }
+
+        Map<String, String> classJars = new HashMap<>();
+        for (ClassPathIndex.Entry entry : index.getEntries()) {
+            if (entry.isClass()) {
+                classJars.putIfAbsent(entry.getClassName(), entry.getRoot().getFileName().toString());
+            }
+        }
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(dashboardDump, StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("code-breakdown".equals(name)) {
+                    report.readBreakdown(reader, "code-size", 0, classJars);
+                } else if ("heap-breakdown".equals(name)) {
+                    report.readBreakdown(reader, "heap-size", 1, classJars);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        return report;
+    }
+
+    private void readBreakdown(JsonReader reader, String key, int slot, Map<String, String> classJars) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!key.equals(reader.nextName())) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                String name = null;
+                long size = 0;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String field = reader.nextName();
+                    if ("name".equals(field)) {
+                        name = reader.nextString();
+                    } else if ("size".equals(field)) {
+                        size = reader.nextNumber().longValue();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                if (name != null) {
+                    // code entries are methods, heap entries are classes
+                    add(slot == 0 ? getDeclaringClass(name) : getElementClass(name), size, slot, classJars);
+                }
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+    }
+
+    private void add(String className, long size, int slot, Map<String, String> classJars) {
+        int dot = className.lastIndexOf('.');
+        String pkg = dot < 0 ? "" : className.substring(0, dot);
+        int dollar = className.indexOf('$');
+        String outerClass = dollar < 0 ? className : className.substring(0, dollar);
+        String jar = classJars.getOrDefault(className, classJars.getOrDefault(outerClass, JDK));
+        packages.computeIfAbsent(pkg, p -> new long[2])[slot] += size;
+        jars.computeIfAbsent(jar, j -> new long[2])[slot] += size;
+    }
+
+    // java.lang.String.indexOf(int, int) -> java.lang.String
+    static String getDeclaringClass(String method) {
+        int paren = method.indexOf('(');
+        String name = paren < 0 ? method : method.substring(0, paren);
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    // java.lang.String[][] -> java.lang.String, [Ljava.lang.String; -> java.lang.String
+    static String getElementClass(String name) {
+        String className = name.replace("[]", "");
+        if (className.startsWith("[")) {
+            className = className.replaceAll("^\\[+L?", "").replace(";", "");
+        }
+        return className;
+    }
+
+    private static long readTotalBytes(Path buildOutput) throws IOException {
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(buildOutput, StandardCharsets.UTF_8))) {
+            Object value = reader.readValue();
+            if (value instanceof Map) {
+                Object details = ((Map<?, ?>) value).get("image_details");
+                if (details instanceof Map) {
+                    Object total = ((Map<?, ?>) details).get("total_bytes");
+                    if (total instanceof Number) {
+                        return ((Number) total).longValue();
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the total size of the image in bytes, as reported by native-image, or -1 if unknown
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return true if the report has the code and image heap sizes per jar and package
+     */
+    public boolean hasBreakdown() {
+        return !packages.isEmpty();
+    }
+
+    public long getCodeBytes() {
+        return packages.values().stream().mapToLong(v -> v[0]).sum();
+    }
+
+    public long getHeapBytes() {
+        return packages.values().stream().mapToLong(v -> v[1]).sum();
+    }
+
+    /**
+     * @return a map of package names and their code and image heap sizes in bytes
+     */
+    public Map<String, long[]> getPackages() {
+        return sorted(packages);
+    }
+
+    /**
+     * @return a map of jar file names and their code and image heap sizes in bytes. The
+     * classes that are not in the classpath are added to {@value #JDK}
+     */
+    public Map<String, long[]> getJars() {
+        return sorted(jars);
+    }
+
+    private static Map<String, long[]> sorted(Map<String, long[]> map) {
+        return map.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0] + e.getValue()[1]).reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * Compares this report with the report of a previous build, and returns
+     * the jars and packages that were added, removed or changed their size by
+     * at least the given amount of bytes
+     *
+     * @param previous the report of the previous build
+     * @param minBytes the minimum change in bytes to be listed
+     * @return a list of messages, like "jar libX.jar added 14.0 MB (code 10.0 MB, heap 4.0 MB)"
+     */
+    public List<String> diff(ImageSizeReport previous, long minBytes) {
+        List<String> changes = new ArrayList<>();
+        if (totalBytes >= 0 && previous.totalBytes >= 0 && Math.abs(totalBytes - previous.totalBytes) >= minBytes) {
+            changes.add("image " + describeChange(previous.totalBytes, totalBytes) + " (" +
+                    format(previous.totalBytes) + " -> " + format(totalBytes) + ")");
+        }
+        // a report without breakdown doesn't remove every jar and package
+        if (hasBreakdown() && previous.hasBreakdown()) {
+            diff("jar", previous.jars, jars, minBytes, changes);
+            diff("package", previous.packages, packages, minBytes, changes);
+        }
+        return changes;
+    }
+
+    private static void diff(String type, Map<String, long[]> before, Map<String, long[]> after,
+                             long minBytes, List<String> changes) {
+        Set<String> names = new TreeSet<>(before.keySet());
+        names.addAll(after.keySet());
+        names.stream()
+                .map(name -> Map.entry(name, new long[] {
+                        after.getOrDefault(name, new long[2])[0] - before.getOrDefault(name, new long[2])[0],
+                        after.getOrDefault(name, new long[2])[1] - before.getOrDefault(name, new long[2])[1]}))
+                .filter(e -> Math.abs(e.getValue()[0] + e.getValue()[1]) >= minBytes)
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> -Math.abs(e.getValue()[0] + e.getValue()[1])))
+                .forEach(e -> {
+                    String name = e.getKey();
+                    long[] delta = e.getValue();
+                    String change;
+                    if (!before.containsKey(name)) {
+                        change = "added " + format(delta[0] + delta[1]);
+                    } else if (!after.containsKey(name)) {
+                        change = "removed " + format(-delta[0] - delta[1]);
+                    } else {
+                        change = describeChange(0, delta[0] + delta[1]);
+                    }
+                    changes.add(type + " " + (name.isEmpty() ? "(default)" : name) + " " + change +
+                            " (code " + formatSigned(delta[0]) + ", heap " + formatSigned(delta[1]) + ")");
+                });
+    }
+
+    private static String describeChange(long before, long after) {
+        return after >= before ? "grew by " + format(after - before) : "shrank by " + format(before - after);
+    }
+
+    private static String format(long bytes) {
+        return String.format(Locale.ROOT, "%.1f MB", (double) bytes / MB);
+    }
+
+    private static String formatSigned(long bytes) {
+        return (bytes >= 0 ? "+" : "-") + format(Math.abs(bytes));
+    }
+
+    /**
+     * Writes the report as a JSON file, that can be read with {@link #read(Path)}
+     *
+     * @param path the path of the file
+     * @throws IOException if the file can't be written
+     */
+    public void write(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (JsonWriter writer = new JsonWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.beginObject();
+            writer.name("totalBytes").value(totalBytes);
+            writeSizes(writer, "jars", getJars());
+            writeSizes(writer, "packages", getPackages());
+            writer.endObject();
+        }
+    }
+
+    private static void writeSizes(JsonWriter writer, String name, Map<String, long[]> sizes) throws IOException {
+        writer.name(name).beginObject();
+        for (Map.Entry<String, long[]> entry : sizes.entrySet()) {
+            writer.name(entry.getKey()).beginArray()
+                    .value(entry.getValue()[0]).value(entry.getValue()[1])
+                    .endArray();
+        }
+        writer.endObject();
+    }
+
+    /**
+     * Reads a report that was written with {@link #write(Path)}
+     *
+     * @param path the path of the file
+     * @return the size report
+     * @throws IOException if the file can't be read or is not valid
+     */
+    public static ImageSizeReport read(Path path) throws IOException {
+        ImageSizeReport report = new ImageSizeReport();
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("totalBytes".equals(name)) {
+                    report.totalBytes = reader.nextNumber().longValue();
+                } else if ("jars".equals(name)) {
+                    readSizes(reader, report.jars);
+                } else if ("packages".equals(name)) {
+                    readSizes(reader, report.packages);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        return report;
+    }
+
+    private static void readSizes(JsonReader reader, Map<String, long[]> sizes) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            reader.beginArray();
+            long code = reader.nextNumber().longValue();
+            long heap = reader.nextNumber().longValue();
+            reader.endArray();
+            sizes.put(name, new long[] {code, heap});
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Writes the largest jars and packages to a text file
+     *
+     * @param path the path of the report file
+     * @throws IOException if the file can't be written
+     */
+    public void writeReport(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            String total = "Image size: " + (totalBytes < 0 ? "unknown" : format(totalBytes));
+            if (!hasBreakdown()) {
+                writer.write(total);
+                writer.newLine();
+                writer.write("The breakdown per jar and package requires the dashboard of GraalVM versions before 23.0");
+                writer.newLine();
+                return;
+            }
+            writer.write(total + ", code: " + format(getCodeBytes()) + ", image heap: " + format(getHeapBytes()));
+            writer.newLine();
+            writeSection(writer, "Jars", getJars());
+            writeSection(writer, "Packages (top " + TOP_ENTRIES + ")", getPackages());
+        }
+    }
+
+    private static void writeSection(BufferedWriter writer, String title, Map<String, long[]> sizes) throws IOException {
+        writer.newLine();
+        writer.write(String.format(Locale.ROOT, "%-12s %-12s %s", "Code", "Heap", title));
+        writer.newLine();
+        int count = 0;
+        for (Map.Entry<String, long[]> entry : sizes.entrySet()) {
+            if (count++ == TOP_ENTRIES) {
+                break;
+            }
+            writer.write(String.format(Locale.ROOT, "%-12s %-12s %s", format(entry.getValue()[0]), format(entry.getValue()[1]),
+                    entry.getKey().isEmpty() ? "(default)" : entry.getKey()));
+            writer.newLine();
+        }
+    }
+}
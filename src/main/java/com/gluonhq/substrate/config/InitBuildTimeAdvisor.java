@@ -0,0 +1,561 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.config;
+
+import com.gluonhq.substrate.model.ClassPathIndex;
+import com.gluonhq.substrate.util.ClassFile;
+import com.gluonhq.substrate.util.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Analyzes the static initializers of the classes of a project, to find the
+ * classes that can be safely initialized at build time, so their static state is
+ * stored in the image heap instead of being computed at startup.
+ *
+ * A static initializer is considered safe when neither it, nor the methods it
+ * calls, nor the initializers of the classes it references:
+ * <ul>
+ *     <li>start threads or use executors and timers</li>
+ *     <li>access files, the network or processes</li>
+ *     <li>call native methods or load native libraries</li>
+ *     <li>read the time, random seeds, system properties, environment variables
+ *     or the default locale, which would capture the values of the build machine</li>
+ *     <li>call JDK classes outside of a list of well known packages</li>
+ * </ul>
+ *
+ * Virtual and interface calls are checked against the method of the declared class
+ * and against the methods of all its subclasses and implementations in the classpath.
+ * As the JDK can call back the methods of the objects it is given, like the run method
+ * of a Runnable or the hashCode method of a key of a map, when a class of the project
+ * is instantiated, its methods that can override JDK methods are checked as well.
+ * Calls that can't be resolved make the initializer unsafe. The bodies of lambdas
+ * and method references are analyzed as if they were called directly.
+ */
+public class InitBuildTimeAdvisor {
+
+    private static final int MAX_CALL_DEPTH = 10;
+
+    private static final List<String> JDK_PREFIXES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    private static final Set<String> SAFE_JDK_PACKAGES = Set.of(
+            "java.lang", "java.lang.invoke", "java.math", "java.nio", "java.nio.charset",
+            "java.util", "java.util.concurrent", "java.util.concurrent.atomic",
+            "java.util.function", "java.util.regex", "java.util.stream");
+
+    private static final Map<String, String> UNSAFE_JDK_CLASSES = Map.ofEntries(
+            Map.entry("java.lang.Thread", "starts threads"),
+            Map.entry("java.lang.ThreadGroup", "starts threads"),
+            Map.entry("java.lang.Runtime", "uses the runtime"),
+            Map.entry("java.lang.ProcessBuilder", "starts processes"),
+            Map.entry("java.lang.ClassLoader", "loads classes or resources"),
+            Map.entry("java.util.Random", "uses a random seed"),
+            Map.entry("java.util.Timer", "starts threads"),
+            Map.entry("java.util.Date", "reads the time"),
+            Map.entry("java.util.Calendar", "reads the time"),
+            Map.entry("java.util.TimeZone", "reads the time zone"),
+            Map.entry("java.util.ServiceLoader", "loads services"),
+            Map.entry("java.util.UUID", "uses a random seed"),
+            Map.entry("java.util.concurrent.Executors", "starts threads"),
+            Map.entry("java.util.concurrent.ThreadPoolExecutor", "starts threads"),
+            Map.entry("java.util.concurrent.ScheduledThreadPoolExecutor", "starts threads"),
+            Map.entry("java.util.concurrent.ForkJoinPool", "starts threads"),
+            Map.entry("java.util.concurrent.CompletableFuture", "starts threads"),
+            Map.entry("java.util.concurrent.ThreadLocalRandom", "uses a random seed"));
+
+    private static final Map<String, String> UNSAFE_JDK_MEMBERS = Map.of(
+            "java.lang.Class.forName", "loads classes",
+            "java.lang.Class.getResource", "reads resources",
+            "java.lang.Class.getResourceAsStream", "reads resources",
+            "java.util.Locale.getDefault", "reads the default locale",
+            "java.util.Locale.setDefault", "changes the default locale",
+            "java.nio.charset.Charset.defaultCharset", "reads the default charset");
+
+    // the methods of Object that the JDK calls back, like the ones of the keys of maps
+    private static final Set<String> OBJECT_METHODS = Set.of(
+            "toString()Ljava/lang/String;", "hashCode()I", "equals(Ljava/lang/Object;)Z");
+
+    private final ClassPathIndex index;
+    private final Predicate<Path> analyzedRoots;
+    private final Map<String, Optional<ClassFile>> classFiles = new HashMap<>();
+    private final Map<String, String> classVerdicts = new HashMap<>();
+    private final Map<String, String> methodVerdicts = new HashMap<>();
+    private final Map<String, Integer> inProgress = new HashMap<>();
+    private Map<String, List<String>> directSubtypes;
+    private int lowestOpenCycle = Integer.MAX_VALUE;
+    private final Map<String, String> results = new TreeMap<>();
+
+    /**
+     * Creates an advisor for the given classpath index
+     *
+     * @param index the index of the classpath of the project
+     * @param analyzedRoots the jars and directories of the index which classes
+     *                      are candidates for build time initialization. Other
+     *                      roots are only used to resolve the calls.
+     */
+    public InitBuildTimeAdvisor(ClassPathIndex index, Predicate<Path> analyzedRoots) {
+        this.index = index;
+        this.analyzedRoots = analyzedRoots;
+    }
+
+    /**
+     * Analyzes all the classes with a static initializer
+     *
+     * @return the sorted list of the classes that are safe to initialize at build time
+     * @throws IOException if a class can't be read
+     */
+    public List<String> analyze() throws IOException {
+        results.clear();
+        for (ClassPathIndex.Entry entry : index.getEntries()) {
+            if (!entry.isClass() || entry.getName().endsWith("module-info.class") ||
+                    !analyzedRoots.test(entry.getRoot())) {
+                continue;
+            }
+            String className = entry.getClassName();
+            if (results.containsKey(className)) {
+                continue;
+            }
+            Optional<ClassFile> classFile = getClassFile(className);
+            if (classFile.isPresent() && classFile.get().getStaticInitializer().isPresent()) {
+                String verdict = checkClass(className);
+                results.put(className, verdict == null ? "" : verdict);
+            }
+        }
+        List<String> safe = new ArrayList<>();
+        results.forEach((className, verdict) -> {
+            if (verdict.isEmpty()) {
+                safe.add(className);
+            }
+        });
+        Logger.logDebug("Static initializers analyzed: " + results.size() + ", safe: " + safe.size());
+        return safe;
+    }
+
+    /**
+     * Writes the list of the safe classes, in the format of the initbuildtime files
+     *
+     * @param path the path of the file
+     * @throws IOException if the file can't be written
+     */
+    public void writeInitBuildTimeFile(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            results.forEach((className, verdict) -> {
+                if (verdict.isEmpty()) {
+                    writer.println(className);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes a report with the analyzed classes, and for the unsafe ones, the reason
+     *
+     * @param reportPath the path of the report file
+     * @throws IOException if the report can't be written
+     */
+    public void writeReport(Path reportPath) throws IOException {
+        Files.createDirectories(reportPath.getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8))) {
+            writer.println("Build time initialization report");
+            writer.println();
+            writer.println("Safe to initialize at build time:");
+            results.forEach((className, verdict) -> {
+                if (verdict.isEmpty()) {
+                    writer.println("    " + className);
+                }
+            });
+            writer.println();
+            writer.println("Not safe to initialize at build time:");
+            results.forEach((className, verdict) -> {
+                if (!verdict.isEmpty()) {
+                    writer.println("    " + className + ": " + verdict);
+                }
+            });
+        }
+        Logger.logDebug("Build time initialization report written to " + reportPath);
+    }
+
+    /*
+     * Returns null if the initialization of the class is safe, or the reason otherwise
+     */
+    private String checkClass(String className) throws IOException {
+        if (isJdkClass(className)) {
+            return checkJdkClass(className);
+        }
+        if (className.startsWith("javafx.")) {
+            return "uses JavaFX";
+        }
+        return checkOnce(className, classVerdicts, () -> {
+            Optional<ClassFile> classFile = getClassFile(className);
+            if (classFile.isEmpty()) {
+                return "class " + className + " not found";
+            }
+            String verdict = null;
+            String superName = classFile.get().getSuperName();
+            if (superName != null) {
+                verdict = checkClass(superName);
+            }
+            Optional<ClassFile.Member> clinit = classFile.get().getStaticInitializer();
+            if (verdict == null && clinit.isPresent()) {
+                verdict = checkMethod(classFile.get(), clinit.get(), 0);
+            }
+            return verdict;
+        });
+    }
+
+    private String checkMethod(ClassFile classFile, ClassFile.Member method, int depth) throws IOException {
+        String key = classFile.getName() + "." + method.getName() + method.getDescriptor();
+        if (methodVerdicts.containsKey(key)) {
+            return methodVerdicts.get(key);
+        }
+        if (method.isNative()) {
+            return "calls native method " + key;
+        }
+        if (method.getCodeLength() == 0) {
+            return "calls abstract method " + key;
+        }
+        if (depth > MAX_CALL_DEPTH) {
+            return "call depth exceeded at " + key;
+        }
+        return checkOnce(key, methodVerdicts, () -> {
+            String[] verdict = new String[1];
+            classFile.visitInstructions(method, instruction -> {
+                if (verdict[0] == null) {
+                    verdict[0] = checkInstruction(key, classFile.getName(), instruction, depth);
+                }
+            });
+            return verdict[0];
+        });
+    }
+
+    /*
+     * Runs the check of a class or method, unless it is cached or already in progress.
+     * A check that reaches a class or method in progress (a cycle) gets an unknown
+     * verdict for it, which doesn't add a reason, since the check in progress covers
+     * it anyway. Verdicts that depend on a cycle that is still open are not cached,
+     * as they are only final once the check that opened the cycle ends, but unsafe
+     * verdicts are, as they don't depend on the rest of the cycle.
+     */
+    private String checkOnce(String key, Map<String, String> verdicts, Check check) throws IOException {
+        if (verdicts.containsKey(key)) {
+            return verdicts.get(key);
+        }
+        Integer position = inProgress.get(key);
+        if (position != null) {
+            lowestOpenCycle = Math.min(lowestOpenCycle, position);
+            return null;
+        }
+        int depth = inProgress.size();
+        inProgress.put(key, depth);
+        int callerOpenCycle = lowestOpenCycle;
+        lowestOpenCycle = Integer.MAX_VALUE;
+        String verdict = check.run();
+        inProgress.remove(key);
+        if (verdict != null || lowestOpenCycle >= depth) {
+            verdicts.put(key, verdict);
+            lowestOpenCycle = callerOpenCycle;
+        } else {
+            lowestOpenCycle = Math.min(lowestOpenCycle, callerOpenCycle);
+        }
+        return verdict;
+    }
+
+    private String checkInstruction(String location, String currentClass, ClassFile.Instruction instruction, int depth) throws IOException {
+        int opcode = instruction.getOpcode();
+        ClassFile.MemberRef ref = instruction.getRef();
+        if (opcode == ClassFile.INVOKEDYNAMIC) {
+            // lambdas and method references are checked as a direct use of their implementation
+            // method. Other call sites, like string concatenation, only use safe JDK classes
+            ref = instruction.getImplementation();
+            opcode = instruction.getImplementationOpcode();
+            if (ref == null) {
+                return null;
+            }
+        }
+        if (opcode == ClassFile.NEW) {
+            String type = ref == null ? instruction.getType() : ref.getOwner();
+            String verdict = type.equals(currentClass) ? null : checkClass(type);
+            if (verdict == null) {
+                verdict = checkCallbacks(location, type, depth);
+            }
+            if (verdict != null || ref == null) {
+                return verdict;
+            }
+            opcode = ClassFile.INVOKESPECIAL; // constructor reference
+        }
+        if (ref == null || ref.getOwner() == null) {
+            return null; // constants and type checks
+        }
+        String owner = ref.getOwner();
+        if (owner.endsWith("[]")) {
+            return null; // clone of arrays
+        }
+        if (isJdkClass(owner)) {
+            String verdict = checkJdkClass(owner);
+            if (verdict == null && UNSAFE_JDK_MEMBERS.containsKey(owner + "." + ref.getName())) {
+                verdict = UNSAFE_JDK_MEMBERS.get(owner + "." + ref.getName());
+            }
+            if (verdict == null && "java.lang.System".equals(owner) && !"arraycopy".equals(ref.getName())) {
+                verdict = "uses System." + ref.getName();
+            }
+            return verdict == null ? null : verdict + " (" + owner + "." + ref.getName() + ") in " + location;
+        }
+        if (!owner.equals(currentClass) && (opcode == ClassFile.GETSTATIC || opcode == ClassFile.PUTSTATIC ||
+                opcode == ClassFile.INVOKESTATIC)) {
+            String verdict = checkClass(owner);
+            if (verdict != null) {
+                return verdict;
+            }
+        }
+        if (opcode < ClassFile.INVOKEVIRTUAL || opcode > ClassFile.INVOKEINTERFACE) {
+            return null;
+        }
+        return checkCall(location, opcode, owner, ref.getName(), ref.getDescriptor(), depth);
+    }
+
+    private String checkCall(String location, int opcode, String owner, String name, String descriptor, int depth)
+            throws IOException {
+        if (owner.startsWith("javafx.")) {
+            return "uses JavaFX (" + owner + "." + name + ") in " + location;
+        }
+        List<String> receivers = new ArrayList<>(List.of(owner));
+        if (opcode == ClassFile.INVOKEVIRTUAL || opcode == ClassFile.INVOKEINTERFACE) {
+            // the receiver can be an instance of any subclass or implementation
+            receivers.addAll(getSubtypes(owner));
+        }
+        Set<String> checked = new HashSet<>();
+        for (String receiver : receivers) {
+            String verdict = checkCallOn(location, receiver, name, descriptor, depth, checked);
+            if (verdict != null) {
+                return verdict;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Checks the method that a call resolves to, when the receiver is an instance of the
+     * given class: the first method found in the class and its superclasses, or else a
+     * default method of its interfaces. An abstract method means that the receiver is an
+     * instance of a subclass, which is checked separately.
+     */
+    private String checkCallOn(String location, String receiver, String name, String descriptor, int depth,
+            Set<String> checked) throws IOException {
+        List<String> interfaces = new ArrayList<>();
+        String current = receiver;
+        while (current != null && !isJdkClass(current)) {
+            Optional<ClassFile> classFile = getClassFile(current);
+            if (classFile.isEmpty()) {
+                return "class " + current + " not found";
+            }
+            Optional<ClassFile.Member> method = classFile.get().getMethod(name, descriptor);
+            if (method.isPresent()) {
+                return isAbstract(method.get()) ? null :
+                        checkResolvedMethod(classFile.get(), method.get(), depth, checked);
+            }
+            interfaces.addAll(classFile.get().getInterfaces());
+            current = classFile.get().getSuperName();
+        }
+        if (current != null) {
+            // inherited from a JDK class
+            String verdict = checkJdkClass(current);
+            if (verdict != null) {
+                return verdict + " in " + location;
+            }
+        }
+        Set<String> visited = new HashSet<>();
+        while (!interfaces.isEmpty()) {
+            String interfaceName = interfaces.remove(0);
+            if (isJdkClass(interfaceName) || !visited.add(interfaceName)) {
+                continue;
+            }
+            Optional<ClassFile> classFile = getClassFile(interfaceName);
+            if (classFile.isEmpty()) {
+                return "class " + interfaceName + " not found";
+            }
+            Optional<ClassFile.Member> method = classFile.get().getMethod(name, descriptor);
+            if (method.isPresent() && !isAbstract(method.get())) {
+                return checkResolvedMethod(classFile.get(), method.get(), depth, checked);
+            }
+            interfaces.addAll(classFile.get().getInterfaces());
+        }
+        return null;
+    }
+
+    private String checkResolvedMethod(ClassFile classFile, ClassFile.Member method, int depth, Set<String> checked)
+            throws IOException {
+        if (!checked.add(classFile.getName() + "." + method.getName() + method.getDescriptor())) {
+            return null;
+        }
+        return checkMethod(classFile, method, depth + 1);
+    }
+
+    /*
+     * Checks the methods of a new instance of a class of the project that the JDK
+     * can call back: all its instance methods if it extends or implements a JDK
+     * type other than Object, or else the ones that override methods of Object
+     */
+    private String checkCallbacks(String location, String className, int depth) throws IOException {
+        if (isJdkClass(className) || className.startsWith("javafx.")) {
+            return null;
+        }
+        List<ClassFile> types = new ArrayList<>();
+        boolean jdkSupertype = false;
+        List<String> pending = new ArrayList<>(List.of(className));
+        Set<String> visited = new HashSet<>();
+        while (!pending.isEmpty()) {
+            String type = pending.remove(0);
+            if (!visited.add(type)) {
+                continue;
+            }
+            if (isJdkClass(type)) {
+                jdkSupertype |= !"java.lang.Object".equals(type);
+                continue;
+            }
+            Optional<ClassFile> classFile = getClassFile(type);
+            if (classFile.isEmpty()) {
+                continue; // reported when the class is checked
+            }
+            types.add(classFile.get());
+            if (classFile.get().getSuperName() != null) {
+                pending.add(classFile.get().getSuperName());
+            }
+            pending.addAll(classFile.get().getInterfaces());
+        }
+        Set<String> checked = new HashSet<>();
+        for (ClassFile type : types) {
+            for (ClassFile.Member method : type.getMethods()) {
+                if (method.isStatic() || isAbstract(method) || method.getName().startsWith("<") ||
+                        (!jdkSupertype && !OBJECT_METHODS.contains(method.getName() + method.getDescriptor()))) {
+                    continue;
+                }
+                String verdict = checkResolvedMethod(type, method, depth, checked);
+                if (verdict != null) {
+                    return verdict;
+                }
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Returns the subclasses and implementations of the given class or interface
+     * in the classpath, including the indirect ones
+     */
+    private List<String> getSubtypes(String className) throws IOException {
+        if (directSubtypes == null) {
+            directSubtypes = new HashMap<>();
+            for (ClassPathIndex.Entry entry : index.getEntries()) {
+                if (!entry.isClass() || entry.getName().endsWith("module-info.class")) {
+                    continue;
+                }
+                ClassFile classFile;
+                try (InputStream is = index.open(entry)) {
+                    classFile = ClassFile.read(is);
+                } catch (IOException e) {
+                    Logger.logDebug("Error reading " + entry + ": " + e.getMessage());
+                    continue;
+                }
+                List<String> supertypes = new ArrayList<>(classFile.getInterfaces());
+                if (classFile.getSuperName() != null) {
+                    supertypes.add(classFile.getSuperName());
+                }
+                for (String supertype : supertypes) {
+                    directSubtypes.computeIfAbsent(supertype, k -> new ArrayList<>()).add(classFile.getName());
+                }
+            }
+        }
+        List<String> subtypes = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        List<String> pending = new ArrayList<>(List.of(className));
+        while (!pending.isEmpty()) {
+            for (String subtype : directSubtypes.getOrDefault(pending.remove(0), List.of())) {
+                if (visited.add(subtype)) {
+                    subtypes.add(subtype);
+                    pending.add(subtype);
+                }
+            }
+        }
+        return subtypes;
+    }
+
+    private static boolean isAbstract(ClassFile.Member method) {
+        return (method.getAccess() & ClassFile.ACC_ABSTRACT) != 0;
+    }
+
+    private static String checkJdkClass(String className) {
+        String verdict = UNSAFE_JDK_CLASSES.get(className);
+        if (verdict != null) {
+            return verdict;
+        }
+        int dot = className.lastIndexOf('.');
+        String packageName = dot < 0 ? "" : className.substring(0, dot);
+        return SAFE_JDK_PACKAGES.contains(packageName) ? null : "uses " + className;
+    }
+
+    private static boolean isJdkClass(String className) {
+        return JDK_PREFIXES.stream().anyMatch(className::startsWith);
+    }
+
+    private Optional<ClassFile> getClassFile(String className) throws IOException {
+        Optional<ClassFile> classFile = classFiles.get(className);
+        if (classFile == null) {
+            classFile = Optional.empty();
+            Optional<ClassPathIndex.Entry> entry = index.findClass(className);
+            if (entry.isPresent()) {
+                try (InputStream is = index.open(entry.get())) {
+                    classFile = Optional.of(ClassFile.read(is));
+                } catch (IOException e) {
+                    Logger.logDebug("Error reading " + entry.get() + ": " + e.getMessage());
+                }
+            }
+            classFiles.put(className, classFile);
+        }
+        return classFile;
+    }
+
+    @FunctionalInterface
+    private interface Check {
+        String run() throws IOException;
+    }
+}
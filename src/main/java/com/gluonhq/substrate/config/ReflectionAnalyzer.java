@@ -0,0 +1,619 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.config;
+
+import com.gluonhq.substrate.model.ClassPathIndex;
+import com.gluonhq.substrate.util.ClassFile;
+import com.gluonhq.substrate.util.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * Analyzes the bytecode and the FXML files of a project, looking for the
+ * classes and members that are accessed reflectively, so these can be
+ * registered individually in the reflection configuration, instead of
+ * registering whole classes with all their members.
+ *
+ * The following patterns are detected:
+ * <ul>
+ *     <li>FXML files: the controller (its no-arg constructor, the fields
+ *     injected by fx:id, the event handlers and the initialize method) and
+ *     the custom controls that are instantiated by the FXMLLoader</li>
+ *     <li>Members annotated with {@code @javafx.fxml.FXML}</li>
+ *     <li>{@code Class.forName} and {@code ClassLoader.loadClass} with a constant
+ *     class name, and {@code getMethod}, {@code getField} and {@code getConstructor}
+ *     (and their declared variants) with a constant class and member name</li>
+ *     <li>The main class: only its no-arg constructor if it is a JavaFX
+ *     application, or only its main method otherwise</li>
+ * </ul>
+ *
+ * Reflective lookups that use non-constant names can't be resolved, and are
+ * listed in the report, so they can be added to the reflection list of the project.
+ */
+public class ReflectionAnalyzer {
+
+    private static final String FXML_ANNOTATION = "javafx.fxml.FXML";
+    private static final String APPLICATION_CLASS = "javafx.application.Application";
+    private static final String FXML_NAMESPACE = "http://javafx.com/fxml";
+    private static final String CONSTRUCTOR = "<init>";
+
+    /*
+     * Number of instructions between a string constant and the
+     * call to Class.forName, to allow for forName(String, boolean, ClassLoader)
+     */
+    private static final int MAX_CONSTANT_DISTANCE = 4;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int ICONST_5 = 0x08;
+
+    private final ClassPathIndex index;
+    private final Predicate<Path> analyzedRoots;
+    private final ClassConfigMerger merger = new ClassConfigMerger();
+    private final Map<String, Optional<ClassFile>> classFiles = new HashMap<>();
+    private final Map<String, Set<String>> reasons = new TreeMap<>();
+    private final Set<String> unresolved = new TreeSet<>();
+
+    /**
+     * Creates an analyzer for the given classpath index
+     *
+     * @param index the index of the classpath of the project
+     * @param analyzedRoots the jars and directories of the index which bytecode
+     *                      and FXML files are analyzed. Other roots are only used
+     *                      to resolve classes.
+     */
+    public ReflectionAnalyzer(ClassPathIndex index, Predicate<Path> analyzedRoots) {
+        this.index = index;
+        this.analyzedRoots = analyzedRoots;
+    }
+
+    /**
+     * Analyzes the project
+     *
+     * @param mainClassName the fully qualified name of the main class
+     * @return a merger with the class entries that were found
+     * @throws IOException if a class or FXML file can't be read
+     */
+    public ClassConfigMerger analyze(String mainClassName) throws IOException {
+        addMainClass(mainClassName);
+        for (ClassPathIndex.Entry entry : index.getEntries()) {
+            if (!analyzedRoots.test(entry.getRoot())) {
+                continue;
+            }
+            if (entry.getName().endsWith(".fxml")) {
+                analyzeFxml(entry);
+            } else if (entry.isClass() && !entry.getName().endsWith("module-info.class")) {
+                Optional<ClassFile> classFile = getClassFile(entry.getClassName());
+                if (classFile.isPresent()) {
+                    analyzeClass(classFile.get());
+                }
+            }
+        }
+        Logger.logDebug("Reflection analysis found " + merger.size() + " classes");
+        return merger;
+    }
+
+    /**
+     * Writes a report with the classes registered for reflection, the reason
+     * why they were registered, and how many of their members (and bytes of bytecode)
+     * are no longer registered, compared to registering all the members of these classes.
+     *
+     * @param reportPath the path of the report file
+     * @throws IOException if the report can't be written
+     */
+    public void writeReport(Path reportPath) throws IOException {
+        Files.createDirectories(reportPath.getParent());
+        int totalMembers = 0, totalRegistered = 0;
+        long totalBytes = 0, totalRemovedBytes = 0;
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8))) {
+            writer.println("Reflection analysis report");
+            writer.println();
+            for (Map.Entry<String, Set<String>> reason : reasons.entrySet()) {
+                String className = reason.getKey();
+                writer.println(className + " (" + String.join(", ", reason.getValue()) + ")");
+                Optional<ClassFile> classFile = getClassFile(className);
+                Map<String, Object> entry = merger.getEntry(className).orElse(Map.of());
+                if (classFile.isEmpty()) {
+                    writer.println("    class not found in the classpath");
+                    continue;
+                }
+                int members = 0, registered = 0;
+                long bytes = 0, removedBytes = 0;
+                for (ClassFile.Member method : classFile.get().getMethods()) {
+                    if ("<clinit>".equals(method.getName())) {
+                        continue;
+                    }
+                    members++;
+                    bytes += method.getCodeLength();
+                    if (isRegistered(entry, method)) {
+                        registered++;
+                    } else {
+                        removedBytes += method.getCodeLength();
+                    }
+                }
+                for (ClassFile.Member field : classFile.get().getFields()) {
+                    members++;
+                    if (isRegistered(entry, field)) {
+                        registered++;
+                    }
+                }
+                writer.println("    registered members: " + registered + " of " + members +
+                        ", unregistered bytecode: " + removedBytes + " of " + bytes + " bytes");
+                totalMembers += members;
+                totalRegistered += registered;
+                totalBytes += bytes;
+                totalRemovedBytes += removedBytes;
+            }
+            if (!unresolved.isEmpty()) {
+                writer.println();
+                writer.println("Unresolved reflective lookups, add the required classes to the reflection list:");
+                unresolved.forEach(u -> writer.println("    " + u));
+            }
+            writer.println();
+            writer.println("Total: " + reasons.size() + " classes, registered members: " + totalRegistered + " of " +
+                    totalMembers + ", unregistered bytecode: " + totalRemovedBytes + " of " + totalBytes + " bytes");
+        }
+        Logger.logDebug("Reflection analysis report written to " + reportPath);
+    }
+
+    /**
+     * @return the reflective lookups that couldn't be resolved
+     */
+    public Set<String> getUnresolved() {
+        return unresolved;
+    }
+
+    private void addMainClass(String mainClassName) throws IOException {
+        if (isSubclassOf(mainClassName, APPLICATION_CLASS)) {
+            addMethod(mainClassName, CONSTRUCTOR, List.of(), "JavaFX application");
+        } else {
+            addMethod(mainClassName, "main", List.of("java.lang.String[]"), "main class");
+        }
+    }
+
+    private void analyzeClass(ClassFile classFile) throws IOException {
+        String className = classFile.getName();
+        for (ClassFile.Member field : classFile.getFields()) {
+            if (field.getAnnotations().contains(FXML_ANNOTATION)) {
+                addField(className, field.getName(), "@FXML");
+            }
+        }
+        for (ClassFile.Member method : classFile.getMethods()) {
+            if (method.getAnnotations().contains(FXML_ANNOTATION)) {
+                addMethod(className, method.getName(), ClassFile.getParameterTypes(method.getDescriptor()), "@FXML");
+            }
+            classFile.visitInstructions(method, new LookupVisitor(className + "." + method.getName()));
+        }
+    }
+
+    /*
+     * Tracks the constants loaded before calls to Class and ClassLoader methods.
+     * Class constants loaded while an array of classes is built are the parameter
+     * types of the lookup, not its receiver.
+     */
+    private class LookupVisitor implements ClassFile.InstructionVisitor {
+
+        private final String location;
+        private int count;
+        private String lastString;
+        private int lastStringAt = -1;
+        private String pendingClass;
+        private String pendingName;
+        private int lastOpcode = -1;
+        private List<String> parameterTypes;
+        private int parameterCount;
+
+        LookupVisitor(String location) {
+            this.location = location;
+        }
+
+        @Override
+        public void visit(ClassFile.Instruction instruction) throws IOException {
+            count++;
+            int opcode = instruction.getOpcode();
+            int previousOpcode = lastOpcode;
+            lastOpcode = opcode;
+            if (opcode == ClassFile.ANEWARRAY && "java.lang.Class".equals(instruction.getType())) {
+                // iconst_<n> followed by anewarray: array of n parameter types
+                parameterTypes = new ArrayList<>();
+                parameterCount = previousOpcode >= ICONST_0 && previousOpcode <= ICONST_5 ?
+                        previousOpcode - ICONST_0 : -1;
+                return;
+            }
+            if (opcode == ClassFile.LDC || opcode == ClassFile.LDC_W) {
+                if (instruction.getType() != null) {
+                    if (parameterTypes != null) {
+                        parameterTypes.add(instruction.getType());
+                    } else {
+                        pendingClass = instruction.getType();
+                        pendingName = null;
+                    }
+                } else if (instruction.getConstant() instanceof String) {
+                    lastString = (String) instruction.getConstant();
+                    lastStringAt = count;
+                    if (pendingClass != null && pendingName == null && parameterTypes == null) {
+                        pendingName = lastString;
+                    }
+                }
+                return;
+            }
+            ClassFile.MemberRef ref = instruction.getRef();
+            if (ref == null || ref.getOwner() == null) {
+                return;
+            }
+            if (ref.matches("java.lang.Class", "forName") || ref.matches("java.lang.ClassLoader", "loadClass")) {
+                if (lastString != null && count - lastStringAt <= MAX_CONSTANT_DISTANCE) {
+                    addForName(lastString, "Class.forName in " + location);
+                    if (parameterTypes != null) {
+                        parameterTypes.add(lastString);
+                    } else {
+                        pendingClass = lastString;
+                        pendingName = null;
+                    }
+                } else {
+                    unresolved.add(ref.getOwner() + "." + ref.getName() + " with non-constant name in " + location);
+                    parameterCount = -1;
+                }
+                return;
+            }
+            if (!"java.lang.Class".equals(ref.getOwner())) {
+                if (parameterTypes != null) {
+                    if (opcode != ClassFile.GETSTATIC && ref.getDescriptor() != null &&
+                            ref.getDescriptor().contains("[Ljava/lang/Class;")) {
+                        // the array is consumed by another method
+                        parameterTypes = null;
+                    } else {
+                        // an element that is not a class constant, like int.class
+                        parameterCount = -1;
+                    }
+                }
+                return;
+            }
+            List<String> parameters = parameterTypes != null && parameterCount == parameterTypes.size() ?
+                    parameterTypes : null;
+            switch (ref.getName()) {
+                case "getMethod":
+                case "getDeclaredMethod":
+                    if (pendingClass != null && pendingName != null) {
+                        addMethods(pendingClass, pendingName, "Class." + ref.getName() + " in " + location);
+                    } else {
+                        unresolved.add("Class." + ref.getName() + " with non-constant arguments in " + location);
+                    }
+                    break;
+                case "getField":
+                case "getDeclaredField":
+                    if (pendingClass != null && pendingName != null) {
+                        addField(pendingClass, pendingName, "Class." + ref.getName() + " in " + location);
+                    } else {
+                        unresolved.add("Class." + ref.getName() + " with non-constant arguments in " + location);
+                    }
+                    break;
+                case "newInstance":
+                    addConstructor(List.of(), ref.getName());
+                    break;
+                case "getConstructor":
+                case "getDeclaredConstructor":
+                    addConstructor(parameters, ref.getName());
+                    break;
+                case "getMethods":
+                case "getDeclaredMethods":
+                case "getFields":
+                case "getDeclaredFields":
+                case "getConstructors":
+                case "getDeclaredConstructors":
+                    unresolved.add("Class." + ref.getName() + " in " + location);
+                    break;
+                default:
+                    return;
+            }
+            pendingClass = null;
+            pendingName = null;
+            parameterTypes = null;
+        }
+
+        /*
+         * Registers the constructor with the given parameter types, or all the
+         * constructors if they are not known
+         */
+        private void addConstructor(List<String> parameters, String lookup) throws IOException {
+            if (pendingClass == null) {
+                unresolved.add("Class." + lookup + " on an unknown class in " + location);
+            } else if (parameters != null) {
+                addMethod(pendingClass, CONSTRUCTOR, parameters, "Class." + lookup + " in " + location);
+            } else {
+                addMethods(pendingClass, CONSTRUCTOR, "Class." + lookup + " in " + location);
+            }
+        }
+    }
+
+    private void analyzeFxml(ClassPathIndex.Entry entry) throws IOException {
+        String source = entry.toString();
+        List<String> imports = new ArrayList<>();
+        String controller = null;
+        Set<String> ids = new LinkedHashSet<>();
+        Set<String> handlers = new LinkedHashSet<>();
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        try (InputStream is = index.open(entry)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(is);
+            try {
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.PROCESSING_INSTRUCTION && "import".equals(reader.getPITarget())) {
+                        imports.add(reader.getPIData().trim());
+                    } else if (event == XMLStreamConstants.START_ELEMENT) {
+                        boolean fxElement = FXML_NAMESPACE.equals(reader.getNamespaceURI());
+                        if (!fxElement) {
+                            addFxmlElement(reader.getLocalName(), imports, source);
+                        }
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            String name = reader.getAttributeLocalName(i);
+                            String value = reader.getAttributeValue(i);
+                            if (FXML_NAMESPACE.equals(reader.getAttributeNamespace(i))) {
+                                if ("controller".equals(name)) {
+                                    controller = value;
+                                } else if ("id".equals(name)) {
+                                    ids.add(value);
+                                }
+                            } else if (fxElement && "type".equals(name) && "root".equals(reader.getLocalName())) {
+                                addFxmlElement(value, imports, source);
+                            } else if (value.startsWith("#")) {
+                                handlers.add(value.substring(1));
+                            }
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            Logger.logSevere("Error parsing " + source + ": " + e.getMessage());
+            return;
+        }
+        if (controller == null) {
+            return;
+        }
+        String reason = "controller of " + source;
+        addMethod(controller, CONSTRUCTOR, List.of(), reason);
+        addMethods(controller, "initialize", reason);
+        for (String id : ids) {
+            Optional<String> declaringClass = findField(controller, id);
+            if (declaringClass.isPresent()) {
+                addField(declaringClass.get(), id, reason);
+            } else {
+                unresolved.add(controller + "." + id + " (fx:id in " + source + ")");
+            }
+        }
+        for (String handler : handlers) {
+            addMethods(controller, handler, reason);
+        }
+    }
+
+    /*
+     * Registers the public constructors and methods of the custom controls
+     * used in FXML files, as the FXMLLoader creates and configures them through
+     * reflection. JavaFX classes are skipped, as the JavaFX SDK provides their configuration.
+     */
+    private void addFxmlElement(String elementName, List<String> imports, String source) throws IOException {
+        String lastSegment = elementName.substring(elementName.lastIndexOf('.') + 1);
+        if (lastSegment.isEmpty() || !Character.isUpperCase(lastSegment.charAt(0))) {
+            return; // property or static property element
+        }
+        String className = resolveFxmlClass(elementName, imports);
+        if (className == null) {
+            unresolved.add("FXML element " + elementName + " in " + source);
+            return;
+        }
+        if (className.startsWith("javafx.") || className.startsWith("java.")) {
+            return;
+        }
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", className);
+        entry.put("allPublicConstructors", true);
+        entry.put("allPublicMethods", true);
+        add(entry, "FXML element in " + source);
+    }
+
+    private String resolveFxmlClass(String name, List<String> imports) {
+        if (name.contains(".")) {
+            return name;
+        }
+        for (String imp : imports) {
+            if (imp.endsWith("." + name)) {
+                return imp;
+            }
+        }
+        for (String imp : imports) {
+            if (imp.endsWith(".*")) {
+                String className = imp.substring(0, imp.length() - 1) + name;
+                if (index.findClass(className).isPresent()) {
+                    return className;
+                }
+            }
+        }
+        return index.findClass("java.lang." + name).isPresent() ? "java.lang." + name : null;
+    }
+
+    private void addForName(String className, String reason) throws IOException {
+        Optional<ClassFile> classFile = getClassFile(className);
+        if (classFile.isPresent() && classFile.get().getMethod(CONSTRUCTOR, "()V").isPresent()) {
+            addMethod(className, CONSTRUCTOR, List.of(), reason);
+        } else {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", className);
+            add(entry, reason);
+        }
+    }
+
+    /*
+     * Adds all the methods with the given name, of the class and its superclasses
+     */
+    private void addMethods(String className, String methodName, String reason) throws IOException {
+        String current = className;
+        boolean found = false;
+        while (current != null) {
+            Optional<ClassFile> classFile = getClassFile(current);
+            if (classFile.isEmpty()) {
+                break;
+            }
+            for (ClassFile.Member method : classFile.get().getMethods()) {
+                if (method.getName().equals(methodName)) {
+                    addMethod(current, methodName, ClassFile.getParameterTypes(method.getDescriptor()), reason);
+                    found = true;
+                }
+            }
+            if (CONSTRUCTOR.equals(methodName)) {
+                break;
+            }
+            current = classFile.get().getSuperName();
+        }
+        if (!found && getClassFile(className).isEmpty()) {
+            unresolved.add(className + "." + methodName + " (" + reason + ")");
+        }
+    }
+
+    /*
+     * Returns the class that declares the field with the given name, which is the given
+     * class or one of its superclasses, as the FXMLLoader injects inherited fields too.
+     * If the class is not in the index, it is assumed to declare the field
+     */
+    private Optional<String> findField(String className, String fieldName) throws IOException {
+        if (getClassFile(className).isEmpty()) {
+            return Optional.of(className);
+        }
+        String current = className;
+        while (current != null) {
+            Optional<ClassFile> classFile = getClassFile(current);
+            if (classFile.isEmpty()) {
+                break;
+            }
+            if (classFile.get().getFields().stream().anyMatch(f -> f.getName().equals(fieldName))) {
+                return Optional.of(current);
+            }
+            current = classFile.get().getSuperName();
+        }
+        return Optional.empty();
+    }
+
+    private void addMethod(String className, String methodName, List<String> parameterTypes, String reason) {
+        Map<String, Object> method = new LinkedHashMap<>();
+        method.put("name", methodName);
+        method.put("parameterTypes", new ArrayList<>(parameterTypes));
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", className);
+        entry.put("methods", new ArrayList<>(List.of(method)));
+        add(entry, reason);
+    }
+
+    private void addField(String className, String fieldName, String reason) {
+        Map<String, Object> field = new LinkedHashMap<>();
+        field.put("name", fieldName);
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", className);
+        entry.put("fields", new ArrayList<>(List.of(field)));
+        add(entry, reason);
+    }
+
+    private void add(Map<String, Object> entry, String reason) {
+        merger.add(entry);
+        reasons.computeIfAbsent((String) entry.get("name"), k -> new LinkedHashSet<>()).add(reason);
+    }
+
+    private boolean isSubclassOf(String className, String superClassName) throws IOException {
+        String current = className;
+        while (current != null) {
+            if (current.equals(superClassName)) {
+                return true;
+            }
+            Optional<ClassFile> classFile = getClassFile(current);
+            if (classFile.isEmpty()) {
+                return false;
+            }
+            current = classFile.get().getSuperName();
+        }
+        return false;
+    }
+
+    private Optional<ClassFile> getClassFile(String className) throws IOException {
+        Optional<ClassFile> classFile = classFiles.get(className);
+        if (classFile == null) {
+            classFile = Optional.empty();
+            Optional<ClassPathIndex.Entry> entry = index.findClass(className);
+            if (entry.isPresent()) {
+                try (InputStream is = index.open(entry.get())) {
+                    classFile = Optional.of(ClassFile.read(is));
+                } catch (IOException e) {
+                    Logger.logDebug("Error reading " + entry.get() + ": " + e.getMessage());
+                }
+            }
+            classFiles.put(className, classFile);
+        }
+        return classFile;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean isRegistered(Map<String, Object> entry, ClassFile.Member member) {
+        boolean method = member.getDescriptor().startsWith("(");
+        boolean constructor = CONSTRUCTOR.equals(member.getName());
+        String prefix = constructor ? "Constructors" : method ? "Methods" : "Fields";
+        if (Boolean.TRUE.equals(entry.get("allDeclared" + prefix)) ||
+                (member.isPublic() && Boolean.TRUE.equals(entry.get("allPublic" + prefix)))) {
+            return true;
+        }
+        Object list = entry.get(method ? "methods" : "fields");
+        if (!(list instanceof List)) {
+            return false;
+        }
+        List<String> parameterTypes = method ? ClassFile.getParameterTypes(member.getDescriptor()) : null;
+        return ((List<Object>) list).stream()
+                .filter(Map.class::isInstance)
+                .map(m -> (Map<String, Object>) m)
+                .anyMatch(m -> member.getName().equals(m.get("name")) &&
+                        (!method || parameterTypes.equals(m.get("parameterTypes"))));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.config;
+
+import com.gluonhq.substrate.util.json.JsonReader;
+import com.gluonhq.substrate.util.json.JsonWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Merges resource configuration files. Both the array and the includes/excludes
+ * formats of the "resources" element are accepted. Patterns and bundles are kept
+ * in the order they are added, without duplicates.
+ */
+public class ResourceConfigMerger extends ConfigMerger {
+
+    private final Set<Map<String, Object>> includes = new LinkedHashSet<>();
+    private final Set<Map<String, Object>> excludes = new LinkedHashSet<>();
+    private final Set<Map<String, Object>> bundles = new LinkedHashSet<>();
+
+    /**
+     * Adds a pattern of resources to be included
+     *
+     * @param pattern a regular expression that matches resource names
+     */
+    public void addPattern(String pattern) {
+        includes.add(patternEntry(pattern));
+    }
+
+    /**
+     * Adds a pattern of resources to be excluded
+     *
+     * @param pattern a regular expression that matches resource names
+     */
+    public void addExcludePattern(String pattern) {
+        excludes.add(patternEntry(pattern));
+    }
+
+    public List<String> getPatterns() {
+        List<String> patterns = new ArrayList<>();
+        includes.forEach(entry -> patterns.add(String.valueOf(entry.get("pattern"))));
+        return patterns;
+    }
+
+    public List<String> getExcludePatterns() {
+        List<String> patterns = new ArrayList<>();
+        excludes.forEach(entry -> patterns.add(String.valueOf(entry.get("pattern"))));
+        return patterns;
+    }
+
+    @Override
+    public void write(Path path) throws IOException {
+        try (JsonWriter writer = new JsonWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.beginObject();
+            writer.name("resources");
+            if (excludes.isEmpty()) {
+                writeEntries(writer, includes);
+            } else {
+                writer.beginObject();
+                writer.name("includes");
+                writeEntries(writer, includes);
+                writer.name("excludes");
+                writeEntries(writer, excludes);
+                writer.endObject();
+            }
+            if (!bundles.isEmpty()) {
+                writer.name("bundles");
+                writeEntries(writer, bundles);
+            }
+            writer.endObject();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void merge(JsonReader reader) throws IOException {
+        Object value = reader.readValue();
+        if (!(value instanceof Map)) {
+            throw new IOException("Expected a resource configuration object");
+        }
+        Map<String, Object> config = (Map<String, Object>) value;
+        Object resources = config.get("resources");
+        if (resources instanceof List) {
+            addEntries(includes, resources);
+        } else if (resources instanceof Map) {
+            addEntries(includes, ((Map<String, Object>) resources).get("includes"));
+            addEntries(excludes, ((Map<String, Object>) resources).get("excludes"));
+        }
+        addEntries(bundles, config.get("bundles"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addEntries(Set<Map<String, Object>> entries, Object list) throws IOException {
+        if (list == null) {
+            return;
+        }
+        if (!(list instanceof List)) {
+            throw new IOException("Expected an array, but found " + list);
+        }
+        for (Object entry : (List<Object>) list) {
+            if (!(entry instanceof Map)) {
+                throw new IOException("Expected an object, but found " + entry);
+            }
+            entries.add((Map<String, Object>) entry);
+        }
+    }
+
+    private static void writeEntries(JsonWriter writer, Set<Map<String, Object>> entries) throws IOException {
+        writer.beginArray();
+        for (Map<String, Object> entry : entries) {
+            writer.value(entry);
+        }
+        writer.endArray();
+    }
+
+    private static Map<String, Object> patternEntry(String pattern) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("pattern", pattern);
+        return entry;
+    }
+}
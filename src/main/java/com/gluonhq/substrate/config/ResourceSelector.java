@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.config;
+
+import com.gluonhq.substrate.model.ClassPathIndex;
+import com.gluonhq.substrate.util.Logger;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the resources that are included in the image by extension into an
+ * explicit list of resources, using the index of the classpath, so it is known
+ * at build time which jar contributes each resource.
+ *
+ * The selection can be adjusted with include and exclude rules. A rule has the
+ * form {@code [jarGlob!]regex}: the regular expression is matched against the
+ * resource names of the jars or directories which file name matches the glob
+ * (for instance {@code "mylib-*.jar!images/.*\\.png"}). Without glob, the rule
+ * applies to every element of the classpath. A {@code !} inside a group of the
+ * regular expression, like {@code (?!...)}, doesn't separate a glob.
+ * Exclude rules take precedence over include rules.
+ *
+ * native-image includes resources by name, from every element of the classpath
+ * that contains them, so rules select or exclude resource names: a rule with glob
+ * applies to the names it matches in the selected jars, for the whole classpath.
+ */
+public class ResourceSelector {
+
+    private final ClassPathIndex index;
+    private final List<Pattern> extensionPatterns = new ArrayList<>();
+    private final List<Rule> includeRules = new ArrayList<>();
+    private final List<Rule> excludeRules = new ArrayList<>();
+    private final Map<Path, Usage> usageByRoot = new LinkedHashMap<>();
+    private final Set<String> selected = new TreeSet<>();
+
+    public ResourceSelector(ClassPathIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Selects all the resources with the given extension, unless they are excluded
+     *
+     * @param extension the extension of the resource files, like "png"
+     */
+    public void addExtension(String extension) {
+        extensionPatterns.add(Pattern.compile(".*\\." + Pattern.quote(extension) + "$"));
+    }
+
+    /**
+     * Adds a rule to select resources
+     *
+     * @param rule a rule with the form {@code [jarGlob!]regex}
+     */
+    public void addIncludeRule(String rule) {
+        includeRules.add(Rule.parse(rule));
+    }
+
+    /**
+     * Adds a rule to skip resources that would be selected otherwise
+     *
+     * @param rule a rule with the form {@code [jarGlob!]regex}
+     */
+    public void addExcludeRule(String rule) {
+        excludeRules.add(Rule.parse(rule));
+    }
+
+    /**
+     * Returns the regular expressions of the exclude rules that apply to all the
+     * classpath, so they can be passed to native-image as exclude patterns too
+     *
+     * @return a list of regular expressions
+     */
+    public List<String> getGlobalExcludePatterns() {
+        List<String> patterns = new ArrayList<>();
+        for (Rule rule : excludeRules) {
+            if (rule.matcher == null) {
+                patterns.add(rule.pattern.pattern());
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * Resolves the selected resources of the classpath
+     *
+     * @return a sorted list of patterns that match exactly each selected resource name
+     */
+    public List<String> select() {
+        usageByRoot.clear();
+        selected.clear();
+        Set<String> excluded = new TreeSet<>();
+        for (ClassPathIndex.Entry entry : index.getEntries()) {
+            if (!entry.isClass() && matchesAny(excludeRules, entry)) {
+                excluded.add(entry.getName());
+            }
+        }
+        for (ClassPathIndex.Entry entry : index.getEntries()) {
+            if (entry.isClass()) {
+                continue;
+            }
+            Usage usage = usageByRoot.computeIfAbsent(entry.getRoot(), r -> new Usage());
+            usage.totalBytes += entry.getSize();
+            if (!excluded.contains(entry.getName()) && isIncluded(entry)) {
+                selected.add(entry.getName());
+            }
+        }
+        // native-image includes a selected resource from every jar that contains it
+        for (ClassPathIndex.Entry entry : index.getEntries()) {
+            if (!entry.isClass() && selected.contains(entry.getName())) {
+                Usage usage = usageByRoot.get(entry.getRoot());
+                usage.count++;
+                usage.bytes += entry.getSize();
+            }
+        }
+        List<String> patterns = new ArrayList<>();
+        for (String name : selected) {
+            patterns.add(Pattern.quote(name));
+        }
+        Logger.logDebug("Selected " + patterns.size() + " resources from the classpath");
+        return patterns;
+    }
+
+    /**
+     * @return the total bytes of the selected resources
+     */
+    public long getSelectedBytes() {
+        return usageByRoot.values().stream().mapToLong(u -> u.bytes).sum();
+    }
+
+    /**
+     * Writes a report with the number of resources and bytes that each element
+     * of the classpath contributes to the image, sorted by size.
+     * {@link #select()} has to be called first.
+     *
+     * @param reportPath the path of the report file
+     * @throws IOException if the report can't be written
+     */
+    public void writeReport(Path reportPath) throws IOException {
+        Files.createDirectories(reportPath.getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8))) {
+            writer.println("Resources report");
+            writer.println();
+            writer.println(String.format("%12s %12s %8s  %s", "bytes", "total bytes", "count", "classpath element"));
+            usageByRoot.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue().bytes, a.getValue().bytes))
+                    .forEach(e -> writer.println(String.format("%12d %12d %8d  %s",
+                            e.getValue().bytes, e.getValue().totalBytes, e.getValue().count, e.getKey())));
+            writer.println();
+            writer.println("Total: " + selected.size() + " resources, " + getSelectedBytes() + " bytes");
+        }
+        Logger.logDebug("Resources report written to " + reportPath);
+    }
+
+    private boolean isIncluded(ClassPathIndex.Entry entry) {
+        for (Pattern pattern : extensionPatterns) {
+            if (pattern.matcher(entry.getName()).matches()) {
+                return true;
+            }
+        }
+        return matchesAny(includeRules, entry);
+    }
+
+    private static boolean matchesAny(List<Rule> rules, ClassPathIndex.Entry entry) {
+        String rootName = entry.getRoot().getFileName().toString();
+        for (Rule rule : rules) {
+            if (rule.matches(rootName, entry.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Usage {
+        private int count;
+        private long bytes;
+        private long totalBytes;
+    }
+
+    private static class Rule {
+
+        private final PathMatcher matcher;
+        private final Pattern pattern;
+
+        private Rule(PathMatcher matcher, Pattern pattern) {
+            this.matcher = matcher;
+            this.pattern = pattern;
+        }
+
+        static Rule parse(String rule) {
+            if (rule == null || rule.isBlank()) {
+                throw new IllegalArgumentException("Invalid empty resource rule");
+            }
+            int index = rule.indexOf('!');
+            if (index > 0 && rule.lastIndexOf('(', index) >= 0) {
+                // part of the regular expression, like a negative lookahead
+                index = -1;
+            }
+            PathMatcher matcher = index > 0 ?
+                    FileSystems.getDefault().getPathMatcher("glob:" + rule.substring(0, index)) : null;
+            return new Rule(matcher, Pattern.compile(rule.substring(index + 1)));
+        }
+
+        boolean matches(String rootName, String name) {
+            return (matcher == null || matcher.matches(Path.of(rootName))) &&
+                    pattern.matcher(name).matches();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Keeps track of the files generated by the build steps, so later steps
+ * can resolve them directly instead of searching the build directories.
+ *
+ * The manifest is stored as a properties file, mapping keys to absolute
+ * paths or plain values.
+ */
+public class BuildManifest {
+
+    /**
+     * The object file generated by native-image
+     */
+    public static final String OBJECT_FILE = "objectFile";
+
+    /**
+     * The llvm.o file generated by native-image when the LLVM backend is used
+     */
+    public static final String LLVM_OBJECT_FILE = "llvmObjectFile";
+
+    /**
+     * The directory of the base layer the image was compiled on top of, if any
+     */
+    public static final String BASE_LAYER = "baseLayer";
+
+    /**
+     * The executable or library generated by the last link
+     */
+    public static final String LINK_OUTPUT = "linkOutput";
+
+    /**
+     * The wall time of the last link, in milliseconds. It is not set when the
+     * link output was restored from the remote build cache
+     */
+    public static final String LINK_TIME = "linkTimeMillis";
+
+    /**
+     * The linker selected for the last link, or "default" for the one of the system
+     */
+    public static final String LINKER = "linker";
+
+    private final Path manifestPath;
+    private final Properties properties = new Properties();
+
+    private BuildManifest(Path manifestPath) {
+        this.manifestPath = manifestPath;
+    }
+
+    /**
+     * Reads the manifest from the given path. If the file doesn't exist,
+     * an empty manifest is returned, that will be written to that path when saved.
+     *
+     * @param manifestPath the path of the manifest file
+     * @return the build manifest
+     * @throws IOException if the existing file can't be read
+     */
+    public static BuildManifest load(Path manifestPath) throws IOException {
+        BuildManifest manifest = new BuildManifest(manifestPath);
+        if (Files.exists(manifestPath)) {
+            try (InputStream is = Files.newInputStream(manifestPath)) {
+                manifest.properties.load(is);
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Returns the path registered for the given key, as long as
+     * the file still exists
+     *
+     * @param key the key of the build output
+     * @return an Optional with the path, or empty if not registered or not found
+     */
+    public Optional<Path> getPath(String key) {
+        return Optional.ofNullable(properties.getProperty(key))
+                .map(Path::of)
+                .filter(Files::exists);
+    }
+
+    public void putPath(String key, Path path) {
+        properties.setProperty(key, path.toAbsolutePath().toString());
+    }
+
+    public Optional<String> getValue(String key) {
+        return Optional.ofNullable(properties.getProperty(key));
+    }
+
+    public void putValue(String key, String value) {
+        properties.setProperty(key, value);
+    }
+
+    public void remove(String key) {
+        properties.remove(key);
+    }
+
+    /**
+     * Removes all the entries of the manifest
+     */
+    public void clear() {
+        properties.clear();
+    }
+
+    /**
+     * Writes the manifest to its file
+     *
+     * @throws IOException if the file can't be written
+     */
+    public void save() throws IOException {
+        Files.createDirectories(manifestPath.getParent());
+        try (OutputStream os = Files.newOutputStream(manifestPath)) {
+            properties.store(os, "Substrate build manifest");
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.model;
+
+import com.gluonhq.substrate.util.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Index of the files that can be found in the elements of a classpath, either
+ * jars or directories, with their sizes. Entries from jars are read on demand,
+ * keeping the jars open until the index is closed.
+ */
+public class ClassPathIndex implements Closeable {
+
+    private final List<Path> roots;
+    private final Map<String, Entry> entriesByName = new LinkedHashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Path, ZipFile> zipFiles = new HashMap<>();
+
+    /**
+     * Creates an index of the given classpath
+     *
+     * @param classPath standard java classpath, delimited with {@code File.pathSeparator}
+     * @param filter a predicate that the classpath elements have to pass to be indexed, can be null
+     * @throws IOException if an element can't be read
+     */
+    public ClassPathIndex(String classPath, Predicate<String> filter) throws IOException {
+        this(new ClassPath(classPath).filter(filter == null ? s -> true : filter).stream()
+                .filter(s -> !s.isEmpty())
+                .map(Path::of)
+                .distinct()
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Creates an index of the given jars and directories
+     *
+     * @param roots a list of jars and directories
+     * @throws IOException if an element can't be read
+     */
+    public ClassPathIndex(List<Path> roots) throws IOException {
+        this.roots = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(roots)));
+        for (Path root : this.roots) {
+            if (Files.isDirectory(root)) {
+                indexDirectory(root);
+            } else if (Files.isRegularFile(root) && root.getFileName().toString().endsWith(".jar")) {
+                indexJar(root);
+            } else {
+                Logger.logDebug("Skipping classpath element " + root);
+            }
+        }
+    }
+
+    public List<Path> getRoots() {
+        return roots;
+    }
+
+    /**
+     * Returns all the entries, in classpath order. The same name can be found
+     * in more than one root.
+     *
+     * @return a list of entries
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Returns the entries which names match the given predicate
+     *
+     * @param namePredicate the predicate applied to the entry names
+     * @return a list of entries
+     */
+    public List<Entry> getEntries(Predicate<String> namePredicate) {
+        return entries.stream()
+                .filter(e -> namePredicate.test(e.getName()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the entry with the given name, as it would be resolved by
+     * a class loader: the first root that contains it wins.
+     *
+     * @param name the name of the entry, with '/' as separator
+     * @return an Optional with the entry, or empty if not found
+     */
+    public Optional<Entry> find(String name) {
+        return Optional.ofNullable(entriesByName.get(name));
+    }
+
+    /**
+     * Finds the class file of the given class
+     *
+     * @param className the fully qualified name of the class
+     * @return an Optional with the entry, or empty if not found
+     */
+    public Optional<Entry> findClass(String className) {
+        return find(className.replace('.', '/') + ".class");
+    }
+
+    /**
+     * Opens a stream to read the content of the entry
+     *
+     * @param entry the entry of this index
+     * @return an input stream that has to be closed by the caller
+     * @throws IOException if the entry can't be read
+     */
+    public InputStream open(Entry entry) throws IOException {
+        Path root = entry.getRoot();
+        if (Files.isDirectory(root)) {
+            return Files.newInputStream(root.resolve(entry.getName()));
+        }
+        ZipFile zip = zipFiles.get(root);
+        if (zip == null) {
+            zip = new ZipFile(root.toFile());
+            zipFiles.put(root, zip);
+        }
+        ZipEntry zipEntry = zip.getEntry(entry.getName());
+        if (zipEntry == null) {
+            throw new IOException("Entry " + entry.getName() + " not found in " + root);
+        }
+        return zip.getInputStream(zipEntry);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ZipFile zip : zipFiles.values()) {
+            zip.close();
+        }
+        zipFiles.clear();
+    }
+
+    private void indexDirectory(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+                addEntry(new Entry(root, name, Files.size(file)));
+            }
+        }
+    }
+
+    private void indexJar(Path root) throws IOException {
+        try (ZipFile zip = new ZipFile(root.toFile())) {
+            for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements(); ) {
+                ZipEntry zipEntry = e.nextElement();
+                if (!zipEntry.isDirectory()) {
+                    addEntry(new Entry(root, zipEntry.getName(), Math.max(0, zipEntry.getSize())));
+                }
+            }
+        }
+    }
+
+    private void addEntry(Entry entry) {
+        entries.add(entry);
+        entriesByName.putIfAbsent(entry.getName(), entry);
+    }
+
+    /**
+     * A file found in a classpath element
+     */
+    public static class Entry {
+
+        private final Path root;
+        private final String name;
+        private final long size;
+
+        Entry(Path root, String name, long size) {
+            this.root = root;
+            this.name = name;
+            this.size = size;
+        }
+
+        /**
+         * @return the jar or directory that contains this entry
+         */
+        public Path getRoot() {
+            return root;
+        }
+
+        /**
+         * @return the name of the entry, relative to its root, with '/' as separator
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the uncompressed size of the entry, in bytes
+         */
+        public long getSize() {
+            return size;
+        }
+
+        public boolean isClass() {
+            return name.endsWith(".class") && !name.startsWith("META-INF/");
+        }
+
+        /**
+         * @return the fully qualified name of the class, if this entry is a class file
+         */
+        public String getClassName() {
+            return name.substring(0, name.length() - ".class".length()).replace('/', '.');
+        }
+
+        @Override
+        public String toString() {
+            return root.getFileName() + "::" + name;
+        }
+    }
+}
@@ -337,6 +337,33 @@ public class InternalProjectConfiguration {
         return publicConfig.isUsePrecompiledCode();
     }
 
+    public boolean isAnalyzeReflection() {
+        return publicConfig.isAnalyzeReflection();
+    }
+
+    public boolean isUsePGO() {
+        return publicConfig.isUsePGO();
+    }
+
+    public boolean isSizeReport() {
+        return publicConfig.isSizeReport();
+    }
+
+    public boolean isUseLayers() {
+        return publicConfig.isUseLayers();
+    }
+
+    public Constants.BuildProfile getBuildProfile() {
+        return publicConfig.getBuildProfile();
+    }
+
+    /**
+     * @return true if the DEV build profile is used
+     */
+    public boolean isDevBuild() {
+        return publicConfig.getBuildProfile() == Constants.BuildProfile.DEV;
+    }
+
     /**
      * Enables hash checking to verify integrity of Graal and Java/JavaFX files
      * @param enableCheckHash boolean to enable hash checking
@@ -401,6 +428,87 @@ public class InternalProjectConfiguration {
                 .orElse(Collections.emptyList());
     }
 
+    public boolean isResolveResources() {
+        return publicConfig.isResolveResources();
+    }
+
+    public List<String> getResourcesIncludeRules() {
+        return Optional.ofNullable(publicConfig.getResourcesIncludeRules())
+                .orElse(Collections.emptyList());
+    }
+
+    public List<String> getResourcesExcludeRules() {
+        return Optional.ofNullable(publicConfig.getResourcesExcludeRules())
+                .orElse(Collections.emptyList());
+    }
+
+    public boolean isAnalyzeLocales() {
+        return publicConfig.isAnalyzeLocales();
+    }
+
+    public boolean isPruneStaticLibs() {
+        return publicConfig.isPruneStaticLibs();
+    }
+
+    public boolean isSplitDebugInfo() {
+        return publicConfig.isSplitDebugInfo();
+    }
+
+    public boolean isStaticMusl() {
+        return publicConfig.isStaticMusl();
+    }
+
+    public boolean isObjectCache() {
+        return publicConfig.isObjectCache();
+    }
+
+    public String getRemoteCacheUrl() {
+        return publicConfig.getRemoteCacheUrl();
+    }
+
+    public boolean isRemoteCachePull() {
+        return publicConfig.isRemoteCachePull();
+    }
+
+    public boolean isRemoteCachePush() {
+        return publicConfig.isRemoteCachePush();
+    }
+
+    public String getRemoteCacheMaxEntrySize() {
+        return publicConfig.getRemoteCacheMaxEntrySize();
+    }
+
+    public List<String> getCharsetsList() {
+        return Optional.ofNullable(publicConfig.getCharsetsList())
+                .orElse(Collections.emptyList());
+    }
+
+    public List<String> getLocalesList() {
+        return Optional.ofNullable(publicConfig.getLocalesList())
+                .orElse(Collections.emptyList());
+    }
+
+    public String getLinker() {
+        return publicConfig.getLinker();
+    }
+
+    public String getGc() {
+        return publicConfig.getGc();
+    }
+
+    public String getMaxHeapSize() {
+        return publicConfig.getMaxHeapSize();
+    }
+
+    public String getMaxNewSize() {
+        return publicConfig.getMaxNewSize();
+    }
+
+    public List<String> getCpuVariants() {
+        return Optional.ofNullable(publicConfig.getCpuVariants())
+                .orElse(Collections.emptyList());
+    }
+
     public List<String> getReflectionList() {
         return Optional.ofNullable(publicConfig.getReflectionList())
                 .orElse(Collections.emptyList());
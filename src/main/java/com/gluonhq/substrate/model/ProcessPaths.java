@@ -42,6 +42,8 @@ public class ProcessPaths {
     private final Path genPath;
     private final Path tmpPath;
     private final Path logPath;
+    private final Path trashPath;
+    private final Path agentPath;
     private final Path sourcePath;
     private final Path nativeCodePath;
 
@@ -49,15 +51,22 @@ public class ProcessPaths {
      * |-- target/build
      *     |-- gluonfx                   <!-- buildRoot  -->
      *         |-- log
+     *         |-- trash                <!-- removed in background -->
+     *         |-- agent                <!-- tracing agent configuration -->
+     *         |-- benchmark            <!-- benchmark baselines -->
+     *         |-- symbols              <!-- split debug info, by build-id -->
      *         |-- $arch-$os            <!-- $ARCH-$OS  -->
      *             |-- gvm
      *                 |-- $appName
      *                 |-- lib
      *                 |-- log
+     *                 |-- pgo          <!-- cached PGO profile -->
+     *                 |-- reports
      *                 |-- tmp
      *                 |-- android_project
      *                     |-- app
      *                 |-- $appName.apk
+     *                 |-- build-manifest.properties
      *             |-- $appName (.exe,.app)
      *             |-- $appName.app.dSYM
      *             |-- $appName.ipa
@@ -79,6 +88,8 @@ public class ProcessPaths {
         genPath = Files.createDirectories(appPath.resolve(Constants.GEN_PATH));
         tmpPath = Files.createDirectories(gvmPath.resolve(Constants.TMP_PATH));
         logPath = Files.createDirectories(gvmPath.resolve(Constants.LOG_PATH));
+        trashPath = clientPath.resolve(Constants.TRASH_PATH);
+        agentPath = clientPath.resolve(Constants.AGENT_PATH);
         sourcePath = clientPath.getParent().getParent().resolve(Constants.SOURCE_PATH);
         nativeCodePath = sourcePath.getParent().resolve(Constants.NATIVE_CODE_PATH);
     }
@@ -111,6 +122,30 @@ public class ProcessPaths {
         return logPath;
     }
 
+    /**
+     * Directory where stale build directories are moved to, so
+     * they can be deleted in the background. It lives under the build
+     * root, so moving into it is a rename on the same file store, and
+     * outside the gvm directory, so its content is never mistaken for
+     * build output.
+     *
+     * @return the path of the trash directory
+     */
+    public Path getTrashPath() {
+        return trashPath;
+    }
+
+    /**
+     * Directory where the native-image tracing agent writes the configuration
+     * captured while running the application on the JVM. It is shared by all
+     * the targets, and merged into their configuration files.
+     *
+     * @return the path of the agent directory
+     */
+    public Path getAgentPath() {
+        return agentPath;
+    }
+
     public Path getNativeCodePath() {
         return nativeCodePath;
     }
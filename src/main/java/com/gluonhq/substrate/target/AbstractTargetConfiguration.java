@@ -28,36 +28,66 @@
 package com.gluonhq.substrate.target;
 
 import com.gluonhq.substrate.Constants;
+import com.gluonhq.substrate.config.CharsetLocaleAnalyzer;
+import com.gluonhq.substrate.config.ClassConfigMerger;
+import com.gluonhq.substrate.config.ConfigMerger;
 import com.gluonhq.substrate.config.ConfigResolver;
+import com.gluonhq.substrate.config.ImageSizeReport;
+import com.gluonhq.substrate.config.ReflectionAnalyzer;
+import com.gluonhq.substrate.config.ResourceConfigMerger;
+import com.gluonhq.substrate.config.ResourceSelector;
+import com.gluonhq.substrate.model.BuildManifest;
 import com.gluonhq.substrate.model.ClassPath;
+import com.gluonhq.substrate.model.ClassPathIndex;
 import com.gluonhq.substrate.model.InternalProjectConfiguration;
 import com.gluonhq.substrate.model.ProcessPaths;
 import com.gluonhq.substrate.model.Triplet;
+import com.gluonhq.substrate.util.Benchmark;
+import com.gluonhq.substrate.util.DebugInfo;
 import com.gluonhq.substrate.util.FileDeps;
 import com.gluonhq.substrate.util.FileOps;
+import com.gluonhq.substrate.util.HttpBuildCache;
 import com.gluonhq.substrate.util.Lib;
 import com.gluonhq.substrate.util.Logger;
+import com.gluonhq.substrate.util.NativeSymbols;
+import com.gluonhq.substrate.util.ObjectCache;
 import com.gluonhq.substrate.util.ProcessRunner;
 import com.gluonhq.substrate.util.Strings;
 import com.gluonhq.substrate.util.Version;
+import com.gluonhq.substrate.util.calltree.CallTreeIndex;
+import com.gluonhq.substrate.util.calltree.CallTreeQuery;
+import com.gluonhq.substrate.util.json.JsonReader;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStreamWriter;
+import java.io.StringReader;
 import java.net.URISyntaxException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -80,16 +110,24 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
      */
     private static final String HOME_FINDER_FEATURE = "org.graalvm.home.HomeFinderFeature";
 
+    private static final String ADD_ALL_CHARSETS_ARG = "-H:+AddAllCharsets";
     private static final List<String> baseNativeImageArguments = Arrays.asList(
             "-Djdk.internal.lambda.eagerlyInitialize=false",
             "--no-server",
             "-H:+SharedLibrary",
-            "-H:+AddAllCharsets",
+            ADD_ALL_CHARSETS_ARG,
             "-H:+ReportExceptionStackTraces",
             "-H:-DeadlockWatchdogExitOnTimeout",
             "-H:DeadlockWatchdogInterval=0",
             "-H:+RemoveSaturatedTypeFlows"
     );
+    private static final long SIZE_REPORT_MIN_CHANGE = 100 * 1024;
+    private static final String NATIVE_LIBS_STAMP = "nativeLibsStamp";
+    private static final String WL_WHOLE_ARCHIVE = "-Wl,--whole-archive";
+    private static final String WL_NO_WHOLE_ARCHIVE = "-Wl,--no-whole-archive";
+    private static final String WL_FORCE_LOAD = "-Wl,-force_load,";
+    private static final String WHOLEARCHIVE = "/WHOLEARCHIVE:";
+    private static final Map<String, String> COMPILER_IDENTITIES = new ConcurrentHashMap<>();
     private static final List<String> verboseNativeImageArguments = Arrays.asList(
             "-H:+PrintAnalysisCallTree",
             "-H:Log=registerResource:"
@@ -99,6 +137,8 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
     final InternalProjectConfiguration projectConfiguration;
     final ProcessPaths paths;
     protected final boolean crossCompile;
+    private boolean collectingProfile;
+    private HttpBuildCache httpBuildCache;
 
     private final List<String> defaultAdditionalSourceFiles = Collections.singletonList("launcher.c");
     private final List<Lib> defaultStaticJavaLibs = List.of(
@@ -119,7 +159,11 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
 
     /**
      * Compile sets the required command line arguments and runs
-     * native-image
+     * native-image. If profile-guided optimization is enabled, and the
+     * target is the host desktop platform, the image is optimized with a
+     * profile collected by an instrumented image. With the DEV build profile,
+     * profile-guided optimization is skipped, and the only build output reused
+     * from previous builds is the directory of extracted native libraries.
      *
      * @return true if the process ends successfully, false otherwise
      * @throws IOException
@@ -127,6 +171,32 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
      */
     @Override
     public boolean compile() throws IOException, InterruptedException {
+        return compileOptimized(List.of());
+    }
+
+    /**
+     * Runs native-image with the given arguments added before the compiler arguments
+     * of the project, using profile-guided optimization when it is enabled and available
+     */
+    boolean compileOptimized(List<String> extraArgs) throws IOException, InterruptedException {
+        if (projectConfiguration.isUsePGO()) {
+            if (projectConfiguration.isDevBuild()) {
+                Logger.logInfo("Profile-guided optimization is skipped with the DEV build profile");
+            } else if (canUsePGO()) {
+                return compileWithPGO(extraArgs);
+            } else {
+                Logger.logInfo("Profile-guided optimization is only available when compiling an " +
+                        "executable for the host desktop platform, it will be skipped");
+            }
+        }
+        return compile(extraArgs);
+    }
+
+    /**
+     * Runs native-image, with the given arguments added before the compiler
+     * arguments of the project
+     */
+    boolean compile(List<String> extraArgs) throws IOException, InterruptedException {
         String substrateClasspath = "";
         try {
             substrateClasspath = new File(AbstractTargetConfiguration.class.getProtectionDomain()
@@ -144,7 +214,13 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
 
         ProcessRunner compileRunner = new ProcessRunner(getNativeImagePath());
 
-        baseNativeImageArguments.forEach(compileRunner::addArg);
+        compileRunner.addArgs(getBaseNativeImageArguments());
+        if (projectConfiguration.isAnalyzeLocales()) {
+            compileRunner.addArgs(analyzeCharsetsAndLocales(processedClasspath));
+        }
+        if (projectConfiguration.isDevBuild()) {
+            compileRunner.addArgs(getDevBuildArgs());
+        }
 
         compileRunner.addArgs(getNativeImageArguments());
 
@@ -165,17 +241,24 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
             verboseNativeImageArguments.forEach(compileRunner::addArg);
         }
 
+        if (projectConfiguration.isSizeReport()) {
+            compileRunner.addArgs(getSizeReportArgs());
+        }
+
         compileRunner.addArgs(getConfigurationFileArgs(processedClasspath));
 
         compileRunner.addArgs(getTargetSpecificAOTCompileFlags());
+        compileRunner.addArgs(getMemoryArgs());
         List<String> bundlesList = getBundlesList(processedClasspath);
         if (!bundlesList.isEmpty()) {
             String bundles = String.join(",", bundlesList);
             compileRunner.addArg("-H:IncludeResourceBundles=" + bundles);
         }
         compileRunner.addArg(getJniPlatformArg());
+        compileRunner.addArgs(getLayerArgs(processedClasspath));
         compileRunner.addArg(Constants.NATIVE_IMAGE_ARG_CLASSPATH);
         compileRunner.addArg(substrateClasspath + File.pathSeparator + FileOps.createPathingJar(paths.getTmpPath(), processedClasspath));
+        compileRunner.addArgs(extraArgs);
         projectConfiguration.getCompilerArgs().stream()
             .filter(arg -> arg != null && !arg.isEmpty())
             .forEach(compileRunner::addArg);
@@ -188,9 +271,38 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
 
         Path gvmPath = paths.getGvmPath();
         Path workDir = gvmPath.resolve(projectConfiguration.getAppName());
+
+        Optional<HttpBuildCache> remoteCache = getRemoteCache();
+        String cacheKey = null;
+        if (remoteCache.isPresent()) {
+            List<Path> inputs = new ClassPath(processedClasspath).filter(s -> !s.isEmpty()).stream()
+                    .map(Path::of)
+                    .collect(Collectors.toList());
+            inputs.add(Path.of(substrateClasspath));
+            cacheKey = getRemoteCacheKey("compile", inputs, compileRunner.getCmdList());
+            if (remoteCache.get().load(cacheKey, Files.createDirectories(paths.getTmpPath())) && validateCompileResult(0)) {
+                Logger.logInfo("Compile output restored from the remote cache");
+                return true;
+            }
+        }
+
         int result = compileRunner.runProcess("compile", workDir.toFile());
 
-        return validateCompileResult(result);
+        boolean success = validateCompileResult(result);
+        if (success && cacheKey != null) {
+            BuildManifest manifest = getBuildManifest();
+            List<Path> outputs = new ArrayList<>();
+            manifest.getPath(BuildManifest.OBJECT_FILE).ifPresent(outputs::add);
+            manifest.getPath(BuildManifest.LLVM_OBJECT_FILE).ifPresent(outputs::add);
+            remoteCache.get().store(cacheKey, outputs);
+        }
+        if (success && projectConfiguration.isSizeReport()) {
+            createSizeReport(processedClasspath);
+        }
+        if (success && projectConfiguration.isVerbose()) {
+            indexCallTree(workDir.resolve(Constants.REPORTS_PATH));
+        }
+        return success;
     }
 
     @Override
@@ -208,30 +320,175 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
         ProcessRunner linkRunner = new ProcessRunner(getLinker());
 
         Path gvmAppPath = gvmPath.resolve(appName);
-        linkRunner.addArgs(getAdditionalObjectFiles());
+        List<String> objectFiles = new ArrayList<>(getAdditionalObjectFiles());
 
-        linkRunner.addArg(objectFile.toString());
-        linkRunner.addArgs(getTargetSpecificObjectFiles());
+        objectFiles.add(objectFile.toString());
+        objectFiles.addAll(getTargetSpecificObjectFiles());
 
-        linkRunner.addArgs(getNativeCodeList().stream()
+        objectFiles.addAll(getNativeCodeList().stream()
             .map(s -> s.replaceAll("\\..*", "." + getObjectFileExtension()))
             .distinct()
             .map(sourceFile -> gvmAppPath.resolve(sourceFile).toString())
             .collect(Collectors.toList()));
+        linkRunner.addArgs(objectFiles);
 
-        linkRunner.addArgs(getTargetSpecificJavaLinkLibraries());
-        linkRunner.addArgs(getTargetSpecificLinkFlags(projectConfiguration.isUseJavaFX(),
+        List<String> javaLinkLibraries = new ArrayList<>(getTargetSpecificJavaLinkLibraries());
+        List<String> linkFlags = new ArrayList<>(getTargetSpecificLinkFlags(projectConfiguration.isUseJavaFX(),
                 projectConfiguration.isUsePrismSW()));
-
-        linkRunner.addArgs(getTargetSpecificLinkOutputFlags());
+        if (projectConfiguration.isPruneStaticLibs()) {
+            Set<String> unused = findUnusedStaticLibs(objectFiles, javaLinkLibraries, linkFlags);
+            javaLinkLibraries.removeIf(unused::contains);
+            linkFlags.removeIf(unused::contains);
+        }
+        linkRunner.addArgs(javaLinkLibraries);
+        linkRunner.addArgs(linkFlags);
+
+        List<String> linkOutputFlags = getTargetSpecificLinkOutputFlags();
+        linkRunner.addArgs(linkOutputFlags);
+        Optional<String> objcopy = projectConfiguration.isSplitDebugInfo() ? getObjcopy() : Optional.empty();
+        if (objcopy.isPresent()) {
+            linkRunner.addArg("-Wl,--build-id");
+        }
 
         linkRunner.addArgs(getLinkerLibraryPathFlags());
+        linkRunner.addArgs(getBaseLayerLinkFlags());
         linkRunner.addArgs(getNativeLibsLinkFlags());
         linkRunner.addArgs(projectConfiguration.getLinkerArgs());
         linkRunner.setInfo(true);
         linkRunner.setLogToFile(true);
+
+        Optional<HttpBuildCache> remoteCache = getRemoteCache();
+        int outputIndex = linkOutputFlags.indexOf("-o");
+        Path linkOutput = outputIndex < 0 ? null : Path.of(linkOutputFlags.get(outputIndex + 1));
+        String cacheKey = null;
+        if (remoteCache.isPresent() && linkOutput != null) {
+            // object files and archives passed by path
+            List<Path> inputs = linkRunner.getCmdList().stream()
+                    .filter(arg -> !arg.startsWith("-") && !arg.equals(linkOutput.toString()))
+                    .map(File::new)
+                    .filter(File::isFile)
+                    .map(File::toPath)
+                    .collect(Collectors.toList());
+            inputs.add(gvmPath.resolve(Constants.LIB_PATH));
+            cacheKey = getRemoteCacheKey("link", inputs, linkRunner.getCmdList());
+            if (remoteCache.get().load(cacheKey, linkOutput.getParent()) && linkOutput.toFile().setExecutable(true)) {
+                Logger.logInfo("Link output restored from the remote cache");
+                copyBaseLayerLibrary(linkOutput);
+                registerLinkOutput(linkOutput, -1);
+                return splitDebugInfo(objcopy, linkOutput);
+            }
+        }
+
+        long start = System.nanoTime();
         int result = linkRunner.runProcess("link");
-        return result == 0;
+        long linkTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (result == 0 && cacheKey != null) {
+            remoteCache.get().store(cacheKey, List.of(linkOutput));
+        }
+        if (result == 0) {
+            Logger.logInfo("Linking took " + linkTime + " ms");
+            copyBaseLayerLibrary(linkOutput);
+            registerLinkOutput(linkOutput, linkTime);
+        }
+        return result == 0 && splitDebugInfo(objcopy, linkOutput);
+    }
+
+    /**
+     * Registers the link output and the link time in the build manifest
+     *
+     * @param linkOutput the path of the link output, or null if it is unknown
+     * @param linkTime the link time in milliseconds, or -1 if the linker didn't run
+     */
+    private void registerLinkOutput(Path linkOutput, long linkTime) throws IOException {
+        BuildManifest manifest = getBuildManifest();
+        if (linkOutput != null) {
+            manifest.putPath(BuildManifest.LINK_OUTPUT, linkOutput);
+        } else {
+            manifest.remove(BuildManifest.LINK_OUTPUT);
+        }
+        if (linkTime >= 0) {
+            manifest.putValue(BuildManifest.LINK_TIME, String.valueOf(linkTime));
+        } else {
+            manifest.remove(BuildManifest.LINK_TIME);
+        }
+        manifest.save();
+    }
+
+    private boolean splitDebugInfo(Optional<String> objcopy, Path linkOutput) throws IOException, InterruptedException {
+        if (projectConfiguration.isSplitDebugInfo()) {
+            if (objcopy.isEmpty() || linkOutput == null) {
+                Logger.logInfo("Splitting debug info is not supported for " + projectConfiguration.getTargetTriplet());
+            } else {
+                new DebugInfo(objcopy.get()).split(linkOutput, paths.getClientPath().resolve(Constants.SYMBOLS_PATH));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the remote build cache, if the project sets its URL
+     */
+    Optional<HttpBuildCache> getRemoteCache() {
+        String url = projectConfiguration.getRemoteCacheUrl();
+        if (url == null || url.isEmpty()) {
+            return Optional.empty();
+        }
+        if (httpBuildCache == null) {
+            httpBuildCache = new HttpBuildCache(url);
+            httpBuildCache.setPull(projectConfiguration.isRemoteCachePull());
+            httpBuildCache.setPush(projectConfiguration.isRemoteCachePush());
+            long maxEntrySize = Strings.parseMemorySize("remoteCacheMaxEntrySize", projectConfiguration.getRemoteCacheMaxEntrySize());
+            if (maxEntrySize > 0) {
+                httpBuildCache.setMaxEntrySize(maxEntrySize);
+            }
+        }
+        return Optional.of(httpBuildCache);
+    }
+
+    /**
+     * Returns the remote cache key of the outputs of a build step, based on the content of
+     * its input files, including the configuration files passed in its command, and on the
+     * command itself. The build root, the GraalVM path and the user home are replaced by
+     * placeholders in the command and in the names of the inputs, so the key is the same
+     * on machines with different paths
+     *
+     * @param step the name of the build step
+     * @param inputs the files and directories that the step reads
+     * @param command the command that runs the step
+     * @return the key, as a hex string
+     */
+    private String getRemoteCacheKey(String step, List<Path> inputs, List<String> command) throws IOException {
+        String clientPath = paths.getClientPath().toString();
+        String graalPath = projectConfiguration.getGraalPath().toString();
+        String userHome = System.getProperty("user.home");
+        Function<String, String> relocate = value -> value.replace(clientPath, "${clientPath}")
+                .replace(graalPath, "${graalPath}")
+                .replace(userHome, "${userHome}");
+        List<Path> keyInputs = new ArrayList<>(inputs);
+        keyInputs.addAll(getConfigurationFiles(command));
+        List<String> values = new ArrayList<>();
+        values.add(step);
+        values.add(projectConfiguration.getTargetTriplet().toString());
+        values.add(String.valueOf(projectConfiguration.getGraalVersion()));
+        command.stream()
+                .map(relocate)
+                .forEach(values::add);
+        return FileOps.calculateCheckSum(keyInputs, path -> relocate.apply(path.toString()),
+                values.toArray(new String[0]));
+    }
+
+    /**
+     * Returns the files of the native image options like -H:ReflectionConfigurationFiles=,
+     * that list the files with the reflection, JNI, resource, proxy and serialization
+     * configuration, separated by commas
+     */
+    static List<Path> getConfigurationFiles(List<String> command) {
+        return command.stream()
+                .filter(arg -> arg.startsWith("-H:") && arg.contains("ConfigurationFiles="))
+                .flatMap(arg -> Stream.of(arg.substring(arg.indexOf('=') + 1).split(",")))
+                .filter(file -> !file.isEmpty())
+                .map(Path::of)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -289,6 +546,23 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
      */
     @Override
     public boolean runUntilEnd() throws IOException, InterruptedException {
+        return runUntilEnd(List.of());
+    }
+
+    /**
+     * Starts the generated native image with the runtime arguments, without
+     * waiting for it to end. When cross-compiling, the image can't run on the
+     * host, and null is returned.
+     *
+     * @return the process of the application, or null when cross-compiling
+     * @throws IOException
+     */
+    @Override
+    public Process launch() throws IOException {
+        if (crossCompile) {
+            Logger.logSevere("Launching the application is not supported when cross-compiling");
+            return null;
+        }
         String appName = Objects.requireNonNull(getLinkOutputName(),
                 "Application name can't be null");
         Path app = Path.of(getAppPath(appName));
@@ -301,10 +575,136 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
             runProcess.addArgs(runtimeArgsList);
         }
         runProcess.setInfo(true);
+        return runProcess.startProcess("launch " + appName);
+    }
+
+    /**
+     * Runs the generated native image, with the given arguments added before
+     * the runtime arguments of the project
+     */
+    private boolean runUntilEnd(List<String> extraArgs) throws IOException, InterruptedException {
+        String appName = Objects.requireNonNull(getLinkOutputName(),
+                "Application name can't be null");
+        Path app = Path.of(getAppPath(appName));
+        if (!Files.exists(app)) {
+            throw new IOException("Application not found at path " + app.toString());
+        }
+        ProcessRunner runProcess = new ProcessRunner(app.toString());
+        runProcess.addArgs(extraArgs);
+        List<String> runtimeArgsList = projectConfiguration.getRuntimeArgsList();
+        if (runtimeArgsList != null) {
+            runProcess.addArgs(runtimeArgsList);
+        }
+        runProcess.setInfo(true);
         int result = runProcess.runProcess("run until end");
         return result == 0;
     }
 
+    /**
+     * Runs the generated native image several times with the runtime arguments, and
+     * measures its startup time, total runtime and, on Linux, peak RSS and page faults.
+     * When cross-compiling, the image can't run on the host, and null is returned.
+     *
+     * @param runs the number of measured runs
+     * @param warmupRuns the number of initial runs that are discarded
+     * @param coldRuns true to measure runs with the file system caches dropped too
+     * @param extraArgs runtime arguments added before the project ones, like -Xmx64m
+     * @return the result of the benchmark, or null when cross-compiling
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Override
+    public Benchmark.Result benchmark(int runs, int warmupRuns, boolean coldRuns, List<String> extraArgs) throws IOException, InterruptedException {
+        if (crossCompile) {
+            Logger.logSevere("Benchmarking is not supported when cross-compiling");
+            return null;
+        }
+        String appName = Objects.requireNonNull(getLinkOutputName(),
+                "Application name can't be null");
+        Path app = Path.of(getAppPath(appName));
+        if (!Files.exists(app)) {
+            throw new IOException("Application not found at path " + app.toString());
+        }
+        List<String> command = new ArrayList<>();
+        command.add(app.toString());
+        command.addAll(extraArgs);
+        List<String> runtimeArgsList = projectConfiguration.getRuntimeArgsList();
+        if (runtimeArgsList != null) {
+            command.addAll(runtimeArgsList);
+        }
+        Benchmark benchmark = new Benchmark(command);
+        benchmark.setRuns(runs);
+        benchmark.setWarmupRuns(warmupRuns);
+        benchmark.setColdRuns(coldRuns);
+        return benchmark.run();
+    }
+
+    /**
+     * Runs the application on the JVM of GraalVM with the native-image tracing agent.
+     * The JavaFX jars are added to the module path, and the rest of the classpath is
+     * kept. The captured configuration is merged into the agent directory, so
+     * running the application with different workloads (given by the runtime arguments)
+     * accumulates the configuration.
+     *
+     * @param timeout the maximum time in seconds allowed to run the application,
+     *                or 0 to wait until it ends
+     * @return true if the process ended successfully, false otherwise
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Override
+    public boolean runAgent(long timeout) throws IOException, InterruptedException {
+        Path java = projectConfiguration.getGraalPath().resolve("bin")
+                .resolve(Triplet.isWindowsHost() ? "java.exe" : "java");
+        if (!Files.exists(java)) {
+            throw new IOException("Java executable not found at path " + java);
+        }
+        Path agentPath = Files.createDirectories(paths.getAgentPath());
+
+        List<String> modulePath = new ArrayList<>();
+        List<String> classPath = new ArrayList<>();
+        Set<String> modules = new LinkedHashSet<>();
+        for (String element : new ClassPath(projectConfiguration.getClasspath()).filter(s -> !s.isEmpty())) {
+            String fileName = Path.of(element).getFileName().toString();
+            if (fileName.startsWith("javafx-") && fileName.endsWith(".jar")) {
+                modulePath.add(element);
+                String name = fileName.substring("javafx-".length()).split("-")[0];
+                modules.add("javafx." + name.replace(".jar", ""));
+            } else {
+                classPath.add(element);
+            }
+        }
+
+        ProcessRunner runner = new ProcessRunner(java.toString());
+        runner.addArg("-agentlib:native-image-agent=config-merge-dir=" + agentPath.toAbsolutePath());
+        if (!modulePath.isEmpty()) {
+            runner.addArgs("--module-path", String.join(File.pathSeparator, modulePath));
+            runner.addArgs("--add-modules", String.join(",", modules));
+        }
+        runner.addArgs("-cp", String.join(File.pathSeparator, classPath));
+        runner.addArg(projectConfiguration.getMainClassName());
+        List<String> runtimeArgsList = projectConfiguration.getRuntimeArgsList();
+        if (runtimeArgsList != null) {
+            runner.addArgs(runtimeArgsList);
+        }
+        runner.setInfo(true);
+        runner.setLogToFile(true);
+        // file systems may store modification times with a precision of one second
+        FileTime start = FileTime.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        int result = runner.runProcess("run agent", null, timeout);
+        if (result != 0) {
+            // an application stopped after the timeout doesn't exit with 0,
+            // but the agent still writes the configuration when the JVM shuts down
+            Path reflectionFile = agentPath.resolve(Constants.AGENT_REFLECTION_FILE);
+            if (!runner.isTimedOut() || !Files.exists(reflectionFile) ||
+                    Files.getLastModifiedTime(reflectionFile).compareTo(start) < 0) {
+                return false;
+            }
+        }
+        Logger.logInfo("Configuration captured by the tracing agent in " + agentPath);
+        return true;
+    }
+
     /**
      * Creates a native image that can be used as shared library
      * @return true if the process succeeded or false if the process failed
@@ -340,34 +740,203 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
             return true;
         }
 
-        ProcessRunner processRunner = new ProcessRunner(getCompiler());
-        processRunner.addArg("-c");
+        List<String> flags = new ArrayList<>();
         if (projectConfiguration.isVerbose()) {
-            processRunner.addArg("-DGVM_VERBOSE");
+            flags.add("-DGVM_VERBOSE");
         }
-        processRunner.addArg("-DSUBSTRATE");
-        processRunner.addArgs(getTargetSpecificCCompileFlags());
+        flags.add("-DSUBSTRATE");
+        flags.addAll(getTargetSpecificCCompileFlags());
 
-        processRunner.addArg("-I" + workDir.toString());
+        flags.add("-I" + workDir.toString());
 
-        processRunner.addArgs(copyAdditionalSourceFiles(workDir));
+        List<String> sources = new ArrayList<>(copyAdditionalSourceFiles(workDir));
 
         Path nativeCodeDir = paths.getNativeCodePath();
         if (Files.isDirectory(nativeCodeDir)) {
             FileOps.copyDirectory(nativeCodeDir, workDir);
         }
 
-        processRunner.addArgs(getNativeCodeList());
+        sources.addAll(getNativeCodeList());
 
         for (String fileName : getAdditionalHeaderFiles()) {
             FileOps.copyResource(getAdditionalSourceFileLocation()  + fileName, workDir.resolve(fileName));
         }
-  
+
+        ObjectCache objectCache = new ObjectCache(Constants.USER_SUBSTRATE_PATH.resolve(Constants.OBJECT_CACHE_PATH));
+        Map<String, String> cacheKeys = projectConfiguration.isObjectCache() ?
+                getObjectCacheKeys(flags, sources, workDir) : Map.of();
+        List<String> misses = new ArrayList<>();
+        for (String source : sources) {
+            String key = cacheKeys.get(source);
+            if (key == null || !objectCache.restore(key, workDir.resolve(getObjectFileName(source)))) {
+                misses.add(source);
+            }
+        }
+        if (projectConfiguration.isObjectCache()) {
+            Logger.logDebug("Object cache: " + (sources.size() - misses.size()) + " hits, " + misses.size() + " misses");
+        }
+        if (misses.isEmpty()) {
+            return true;
+        }
+
+        ProcessRunner processRunner = new ProcessRunner(getCompiler());
+        processRunner.addArg("-c");
+        processRunner.addArgs(flags);
+        processRunner.addArgs(misses);
         int result = processRunner.runProcess("compile-additional-sources", workDir.toFile());
         // we need more checks (e.g. do launcher.o and thread.o exist?)
+        if (result == 0 && !cacheKeys.isEmpty()) {
+            for (String source : misses) {
+                Path object = workDir.resolve(getObjectFileName(source));
+                if (cacheKeys.containsKey(source) && Files.exists(object)) {
+                    objectCache.store(cacheKeys.get(source), object);
+                }
+            }
+            objectCache.trim(ObjectCache.DEFAULT_MAX_SIZE);
+        }
         return result == 0;
     }
 
+    private String getObjectFileName(String sourceFile) {
+        return sourceFile.replaceAll("\\..*", "." + getObjectFileExtension());
+    }
+
+    /**
+     * Returns the object cache keys of the source files, which combine the output of the
+     * preprocessor, the compiler identity and the flags. The path of the work directory is
+     * left out of the flags, so projects can share the objects, unless debug information,
+     * that contains it, is generated. Sources that can't be preprocessed have no key.
+     *
+     * @param flags the compiler flags
+     * @param sources the source files, relative to the work directory
+     * @param workDir the work directory
+     * @return a map with the cache key of each source file
+     */
+    private Map<String, String> getObjectCacheKeys(List<String> flags, List<String> sources, Path workDir)
+            throws IOException, InterruptedException {
+        String compilerIdentity = getCompilerIdentity();
+        if (compilerIdentity == null) {
+            return Map.of();
+        }
+        String dir = workDir.toString();
+        List<String> keyFlags = flags.stream()
+                .map(flag -> flag.replace(dir, "${workDir}"))
+                .collect(Collectors.toList());
+        if (flags.stream().anyMatch(flag -> flag.startsWith("-g") || flag.startsWith("/Z"))) {
+            keyFlags.add(dir);
+        }
+        Map<String, String> keys = new HashMap<>();
+        for (String source : sources) {
+            ProcessRunner runner = new ProcessRunner(getCompiler());
+            runner.addArgs(flags);
+            runner.addArgs(getPreprocessorFlags());
+            runner.addArg(source);
+            runner.showSevereMessage(false);
+            if (runner.runProcess("preprocess-" + Path.of(source).getFileName(), workDir.toFile()) == 0) {
+                keys.put(source, ObjectCache.key(String.join("\n", runner.getResponses()), compilerIdentity, keyFlags));
+            } else {
+                Logger.logDebug("Error preprocessing " + source + ", it won't be cached");
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the version information of the compiler, or null if it can't be found
+     */
+    private String getCompilerIdentity() throws IOException, InterruptedException {
+        String compiler = getCompiler();
+        String identity = COMPILER_IDENTITIES.get(compiler);
+        if (identity == null) {
+            ProcessRunner runner = new ProcessRunner(compiler);
+            runner.addArgs(getCompilerVersionFlags());
+            // cl prints its version, but fails without input files
+            runner.showSevereMessage(false);
+            runner.runProcess("compiler-version");
+            identity = String.join("\n", runner.getResponses()).trim();
+            if (identity.isEmpty()) {
+                Logger.logDebug("Unable to find the version of " + compiler + ", the object cache won't be used");
+                return null;
+            }
+            COMPILER_IDENTITIES.put(compiler, identity);
+        }
+        return identity;
+    }
+
+    private boolean canUsePGO() {
+        String os = projectConfiguration.getTargetTriplet().getOs();
+        return !crossCompile && !projectConfiguration.isSharedLibrary() && !projectConfiguration.isStaticLibrary() &&
+                (Constants.OS_LINUX.equals(os) || Constants.OS_DARWIN.equals(os) || Constants.OS_WINDOWS.equals(os));
+    }
+
+    /**
+     * Compiles the image with profile-guided optimization. The profile is cached in
+     * the pgo folder, with a key based on the content of the classpath, the main class
+     * and the runtime arguments (the workload). If there is no profile for the current key,
+     * an instrumented image is compiled, linked and run with the runtime arguments
+     * to collect it. The instrumented image is built without the given arguments, so
+     * the same profile can be used for all the CPU variants of the image.
+     *
+     * @param extraArgs the arguments of the optimized image
+     * @return true if the process ends successfully, false otherwise
+     */
+    private boolean compileWithPGO(List<String> extraArgs) throws IOException, InterruptedException {
+        Path pgoPath = Files.createDirectories(paths.getGvmPath().resolve(Constants.PGO_PATH));
+        List<Path> classPath = new ClassPath(projectConfiguration.getClasspath()).filter(s -> !s.isEmpty()).stream()
+                .map(Path::of)
+                .collect(Collectors.toList());
+        String key = FileOps.calculateCheckSum(classPath, projectConfiguration.getMainClassName(),
+                String.valueOf(projectConfiguration.getRuntimeArgsList()),
+                projectConfiguration.getGraalPath().toString());
+        Path profile = pgoPath.resolve(key + ".iprof");
+        if (Files.exists(profile)) {
+            Logger.logInfo("Using the cached PGO profile " + profile);
+            return compile(withArg(extraArgs, "--pgo=" + profile));
+        }
+
+        Logger.logInfo("Building an instrumented image to collect a PGO profile");
+        collectingProfile = true;
+        try {
+            if (!compile(List.of("--pgo-instrument")) || !link()) {
+                Logger.logSevere("Building the instrumented image failed");
+                return false;
+            }
+        } finally {
+            collectingProfile = false;
+        }
+        Path partialProfile = pgoPath.resolve(key + ".iprof.part");
+        Files.deleteIfExists(partialProfile);
+        Logger.logInfo("Running the instrumented image to collect a PGO profile");
+        if (!runUntilEnd(List.of("-XX:ProfilesDumpFile=" + partialProfile)) || !Files.exists(partialProfile)) {
+            Logger.logSevere("Running the instrumented image failed, the PGO profile wasn't created");
+            return false;
+        }
+        // only the profile for the current classpath is kept
+        try (Stream<Path> profiles = Files.list(pgoPath)) {
+            for (Path stale : profiles.filter(p -> p.getFileName().toString().endsWith(".iprof"))
+                    .collect(Collectors.toList())) {
+                Files.delete(stale);
+            }
+        }
+        Files.move(partialProfile, profile);
+        Logger.logInfo("PGO profile stored in " + profile);
+        return compile(withArg(extraArgs, "--pgo=" + profile));
+    }
+
+    /**
+     * @return true while the instrumented image used to collect a PGO profile is built,
+     * which is always a single image, even if CPU variants are enabled
+     */
+    final boolean isCollectingProfile() {
+        return collectingProfile;
+    }
+
+    private static List<String> withArg(List<String> args, String arg) {
+        List<String> list = new ArrayList<>(args);
+        list.add(arg);
+        return list;
+    }
+
     private String validateCompileRequirements() throws IOException {
         String mainClassName = projectConfiguration.getMainClassName();
         if (mainClassName == null || mainClassName.isEmpty()) {
@@ -517,7 +1086,7 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
 
     private String createTempDirectoryArg() throws IOException {
         Path tmpPath = paths.getTmpPath();
-        FileOps.rmdir(tmpPath);
+        FileOps.moveToTrash(tmpPath, paths.getTrashPath());
         String tmpDir = tmpPath.toFile().getAbsolutePath();
         return "-H:TempDirectory=" + tmpDir;
     }
@@ -559,9 +1128,18 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
             arguments.add("--initialize-at-build-time=" + String.join(",", buildTimeList));
         }
 
-        arguments.add("-H:ReflectionConfigurationFiles=" + createReflectionConfig(suffix, configResolver));
+        arguments.add("-H:ReflectionConfigurationFiles=" + createReflectionConfig(suffix, configResolver, processedClasspath));
         arguments.add("-H:JNIConfigurationFiles=" + createJNIConfig(suffix, configResolver));
-        arguments.add("-H:ResourceConfigurationFiles=" + createResourceConfig(suffix, configResolver));
+        arguments.add("-H:ResourceConfigurationFiles=" + createResourceConfig(suffix, configResolver, processedClasspath));
+
+        Path proxyPath = paths.getAgentPath().resolve(Constants.AGENT_PROXY_FILE);
+        if (Files.exists(proxyPath)) {
+            arguments.add("-H:DynamicProxyConfigurationFiles=" + proxyPath);
+        }
+        Path serializationPath = paths.getAgentPath().resolve(Constants.AGENT_SERIALIZATION_FILE);
+        if (Files.exists(serializationPath)) {
+            arguments.add("-H:SerializationConfigurationFiles=" + serializationPath);
+        }
 
         return arguments;
     }
@@ -578,141 +1156,569 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
         return list;
     }
 
-    private Path createReflectionConfig(String suffix, ConfigResolver configResolver) throws IOException {
+    private Path createReflectionConfig(String suffix, ConfigResolver configResolver, String processedClasspath) throws IOException {
         Path gvmPath = paths.getGvmPath();
         Path reflectionPath = gvmPath.resolve(
                 Strings.substitute(Constants.REFLECTION_ARCH_FILE, Map.of("archOs", suffix)));
         Files.deleteIfExists(reflectionPath);
-        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(reflectionPath.toFile())))) {
-            bw.write("[\n");
-            writeSingleEntry(bw, projectConfiguration.getMainClassName(), false);
-            for (String javaFile : getReflectionClassList(suffix, projectConfiguration.isUseJavaFX(), projectConfiguration.isUsePrismSW())) {
-                InputStream inputStream = AbstractTargetConfiguration.class.getResourceAsStream(Constants.CONFIG_FILES + javaFile);
-                if (inputStream != null) {
-                    bw.write(",\n");
-                    List<String> lines = FileOps.readFileLines(inputStream,
-                            line -> !line.startsWith("[") && !line.startsWith("]"));
-                    for (String line : lines) {
-                        bw.write(line + "\n");
-                    }
+        ClassConfigMerger merger;
+        if (projectConfiguration.isAnalyzeReflection()) {
+            merger = analyzeReflection(suffix, processedClasspath);
+        } else {
+            merger = new ClassConfigMerger();
+            merger.addClassWithAllMembers(projectConfiguration.getMainClassName());
+        }
+        for (String javaFile : getReflectionClassList(suffix, projectConfiguration.isUseJavaFX(), projectConfiguration.isUsePrismSW())) {
+            mergeConfigResource(merger, javaFile);
+        }
+        configResolver.mergeUserReflectionConfig(suffix, merger);
+        mergeAgentConfig(merger, Constants.AGENT_REFLECTION_FILE);
+        for (String javaClass : projectConfiguration.getReflectionList()) {
+            merger.addClassWithAllMembers(javaClass);
+        }
+        merger.write(reflectionPath);
+        return reflectionPath;
+    }
+
+    /**
+     * Returns the arguments to compile the application as a layer on top of the cached
+     * base layer with the JDK and JavaFX, creating that base layer if it doesn't exist yet.
+     * The base layer is registered in the build manifest, so the link step can link against it.
+     * If layers are not enabled or not supported, or the base layer can't be created,
+     * the application is compiled as a regular image.
+     */
+    private List<String> getLayerArgs(String processedClasspath) throws IOException, InterruptedException {
+        BuildManifest manifest = getBuildManifest();
+        manifest.remove(BuildManifest.BASE_LAYER);
+        manifest.save();
+        if (!projectConfiguration.isUseLayers()) {
+            return List.of();
+        }
+        if (!canUseLayers()) {
+            Logger.logInfo("Layered images are only available for Linux x86_64 hosts with GraalVM for JDK 25 " +
+                    "or later, the application will be compiled as a regular image");
+            return List.of();
+        }
+
+        List<String> javafxJars = new ClassPath(processedClasspath)
+                .filter(s -> Path.of(s).getFileName().toString().startsWith("javafx-") && s.endsWith(".jar"));
+        List<String> layerArgs = getBaseLayerArgs();
+        // layers can only be combined if they are built with the same options
+        String key = FileOps.calculateCheckSum(List.of(), layerArgs.toArray(new String[0])).substring(0, 12);
+        Path layerDir = Constants.USER_SUBSTRATE_PATH.resolve(Constants.LAYERS_PATH).resolve(
+                projectConfiguration.getGraalVersion() + "-" + projectConfiguration.getJavaVersion() + "-" +
+                (javafxJars.isEmpty() ? "nofx" : projectConfiguration.getJavafxStaticSdkVersion()) + "-" +
+                projectConfiguration.getTargetTriplet() + "-" + key);
+        Path layerFile = layerDir.resolve(Constants.BASE_LAYER_FILE);
+        if (!Files.exists(layerFile) && !createBaseLayer(layerDir, layerArgs, javafxJars)) {
+            Logger.logSevere("Creating the base layer failed, the application will be compiled as a regular image");
+            return List.of();
+        }
+        Logger.logInfo("Compiling the application on top of the base layer " + layerDir);
+        manifest.putPath(BuildManifest.BASE_LAYER, layerDir);
+        manifest.save();
+        return List.of("-H:+UnlockExperimentalVMOptions", "-H:LayerUse=" + layerFile);
+    }
+
+    private boolean canUseLayers() {
+        Triplet target = projectConfiguration.getTargetTriplet();
+        return !crossCompile && !projectConfiguration.isSharedLibrary() && !projectConfiguration.isStaticLibrary() &&
+                Constants.OS_LINUX.equals(target.getOs()) && Constants.ARCH_AMD64.equals(target.getArch()) &&
+                projectConfiguration.getJavaVersion().getMajor() >= 25;
+    }
+
+    private List<String> getBaseLayerArgs() throws IOException {
+        List<String> args = new ArrayList<>();
+        getBaseNativeImageArguments().stream()
+                .filter(arg -> !"-H:+SharedLibrary".equals(arg))
+                .forEach(args::add);
+        if (projectConfiguration.isDevBuild()) {
+            args.addAll(getDevBuildArgs());
+        }
+        args.addAll(getNativeImageArguments());
+        args.addAll(getTargetSpecificAOTCompileFlags());
+        args.addAll(getMemoryArgs());
+        return args;
+    }
+
+    /**
+     * Builds the base layer with the java.base module and the JavaFX jars, as
+     * a shared library in the given directory. It is built in a new temporary directory,
+     * that is moved once finished, so an interrupted build doesn't leave a broken layer,
+     * and concurrent builds don't use the same directory.
+     */
+    boolean createBaseLayer(Path layerDir, List<String> layerArgs, List<String> javafxJars)
+            throws IOException, InterruptedException {
+        Logger.logInfo("Creating base layer, this is only done once per GraalVM, JavaFX version and target");
+        Path tmpDir = Files.createTempDirectory(Files.createDirectories(layerDir.getParent()),
+                layerDir.getFileName() + "-");
+
+        ProcessRunner layerRunner = new ProcessRunner(getNativeImagePath());
+        layerRunner.addArgs(layerArgs);
+        layerRunner.addArg("-H:+UnlockExperimentalVMOptions");
+        StringBuilder layerCreate = new StringBuilder("-H:LayerCreate=" + Constants.BASE_LAYER_FILE + ",module=java.base");
+        javafxJars.forEach(jar -> layerCreate.append(",path=").append(jar));
+        layerRunner.addArg(layerCreate.toString());
+        if (!javafxJars.isEmpty()) {
+            layerRunner.addArg(Constants.NATIVE_IMAGE_ARG_CLASSPATH);
+            layerRunner.addArg(String.join(File.pathSeparator, javafxJars));
+        }
+        layerRunner.addArg("-o");
+        layerRunner.addArg("lib" + Constants.BASE_LAYER_LIB);
+        layerRunner.setInfo(true);
+        layerRunner.setLogToFile(true);
+        if (layerRunner.runProcess("base-layer", tmpDir.toFile()) != 0 ||
+                !Files.exists(tmpDir.resolve(Constants.BASE_LAYER_FILE))) {
+            FileOps.deleteDirectory(tmpDir);
+            return false;
+        }
+        if (Files.exists(layerDir) && !Files.exists(layerDir.resolve(Constants.BASE_LAYER_FILE))) {
+            FileOps.deleteDirectory(layerDir);
+        }
+        try {
+            Files.move(tmpDir, layerDir, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            // created in the meantime by another build, with the same options
+            FileOps.deleteDirectory(tmpDir);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the link flags required when the image was compiled on top of a base layer:
+     * the base layer shared library, which is found at runtime in the directory of the
+     * executable, where it is copied after linking
+     */
+    List<String> getBaseLayerLinkFlags() throws IOException {
+        Optional<Path> layerDir = getBuildManifest().getPath(BuildManifest.BASE_LAYER);
+        if (layerDir.isEmpty()) {
+            return List.of();
+        }
+        return List.of("-L" + layerDir.get(), "-l" + Constants.BASE_LAYER_LIB, "-Wl,-rpath,$ORIGIN");
+    }
+
+    /**
+     * Copies the base layer shared library next to the executable, when the image
+     * was compiled on top of a base layer, so the application directory can be moved,
+     * packaged or installed without depending on the cache of the user that built it
+     *
+     * @param linkOutput the path of the executable, or null if it is unknown
+     */
+    void copyBaseLayerLibrary(Path linkOutput) throws IOException {
+        Optional<Path> layerDir = getBuildManifest().getPath(BuildManifest.BASE_LAYER);
+        if (layerDir.isEmpty() || linkOutput == null) {
+            return;
+        }
+        String libraryName = getBaseLayerLibraryName();
+        Files.copy(layerDir.get().resolve(libraryName), linkOutput.resolveSibling(libraryName),
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static String getBaseLayerLibraryName() {
+        return "lib" + Constants.BASE_LAYER_LIB + ".so";
+    }
+
+    /**
+     * Finds the static Java and JavaFX libraries of the link command that resolve none
+     * of the symbols needed by the object files, directly or through other libraries.
+     * Only the link arguments that point to an archive that can be found in the linker
+     * library paths are candidates, while other libraries, like the JVM ones,
+     * and the system libraries are always kept. Archives linked as a whole, with
+     * {@code --whole-archive}, {@code -force_load} or {@code /WHOLEARCHIVE:}, are
+     * never left out, and their undefined symbols have to be resolved too.
+     * On Linux, ld already drops the unreferenced archive members, so leaving
+     * out an archive only saves the time the linker spends scanning it.
+     *
+     * @param objectFiles the object files of the link command
+     * @param javaLinkLibraries the link arguments of the static Java libraries
+     * @param linkFlags the target specific link arguments, including the JavaFX libraries
+     * @return the link arguments of the libraries that can be left out
+     */
+    private Set<String> findUnusedStaticLibs(List<String> objectFiles, List<String> javaLinkLibraries,
+                                             List<String> linkFlags) throws IOException, InterruptedException {
+        if (crossCompile) {
+            Logger.logInfo("Pruning static libraries is not supported when cross-compiling, all of them will be linked");
+            return Set.of();
+        }
+        List<Path> libraryPaths = getLinkerLibraryPaths();
+        List<String> otherLibs = getOtherStaticLibs().stream()
+                .map(this::getLinkLibraryOption)
+                .collect(Collectors.toList());
+
+        List<NativeSymbols> objects = new ArrayList<>();
+        for (String objectFile : objectFiles) {
+            objects.add(NativeSymbols.read(Path.of(objectFile)));
+        }
+        Map<String, NativeSymbols> archives = new LinkedHashMap<>();
+        boolean wholeArchive = false;
+        for (String arg : Stream.concat(javaLinkLibraries.stream(), linkFlags.stream()).collect(Collectors.toList())) {
+            if (WL_NO_WHOLE_ARCHIVE.equals(arg)) {
+                wholeArchive = false;
+                continue;
+            }
+            if (WL_WHOLE_ARCHIVE.equals(arg)) {
+                wholeArchive = true;
+                continue;
+            }
+            Optional<String> forcedArchive = getWholeArchive(arg);
+            Optional<Path> archive = findStaticArchive(forcedArchive.orElse(arg), libraryPaths);
+            if (archive.isPresent()) {
+                NativeSymbols symbols = NativeSymbols.read(archive.get());
+                if (wholeArchive || forcedArchive.isPresent() || otherLibs.contains(arg)) {
+                    // always linked, so its undefined symbols have to be resolved
+                    objects.add(symbols);
+                } else {
+                    archives.put(arg, symbols);
                 }
             }
+        }
+        List<String> required = NativeSymbols.findRequiredArchives(objects, archives);
+        Set<String> unused = new LinkedHashSet<>(archives.keySet());
+        unused.removeAll(required);
+        Logger.logInfo(unused.isEmpty() ? "All static libraries are used" :
+                "Unused static libraries left out of the link: " + unused);
+        return unused;
+    }
 
-            for (String line : configResolver.getUserReflectionList(suffix)) {
-                bw.write(line + "\n");
-            }
+    /**
+     * Returns the archive of a link argument that forces linking all of its members,
+     * like {@code -Wl,-force_load,<path>} or {@code /WHOLEARCHIVE:<library>}
+     *
+     * @param arg a link argument
+     * @return the path or name of the archive, or empty if the argument is not a whole archive
+     */
+    static Optional<String> getWholeArchive(String arg) {
+        if (arg.startsWith(WL_FORCE_LOAD)) {
+            return Optional.of(arg.substring(WL_FORCE_LOAD.length()));
+        }
+        if (arg.regionMatches(true, 0, WHOLEARCHIVE, 0, WHOLEARCHIVE.length())) {
+            return Optional.of(arg.substring(WHOLEARCHIVE.length()));
+        }
+        return Optional.empty();
+    }
 
-            for (String javaClass : projectConfiguration.getReflectionList()) {
-                writeEntry(bw, javaClass);
+    /**
+     * Returns the static archive that a link argument refers to, either as a path
+     * or as a library name, if it can be found in the linker library paths
+     */
+    private Optional<Path> findStaticArchive(String arg, List<Path> libraryPaths) {
+        String extension = "." + getStaticLibraryFileExtension();
+        String fileName;
+        if (arg.startsWith("-l")) {
+            fileName = "lib" + arg.substring(2) + extension;
+        } else if (arg.endsWith(extension) && !arg.startsWith("-") && !arg.startsWith("/LIBPATH")) {
+            Path path = Path.of(arg);
+            if (path.isAbsolute()) {
+                return Optional.of(path).filter(Files::exists);
             }
-            bw.write("]");
+            fileName = arg;
+        } else {
+            return Optional.empty();
         }
-        return reflectionPath;
+        return libraryPaths.stream()
+                .map(p -> p.resolve(fileName))
+                .filter(Files::exists)
+                .findFirst();
     }
 
-    private Path createJNIConfig(String suffix, ConfigResolver configResolver) throws IOException {
-        Path gvmPath = paths.getGvmPath();
-        Path jniPath = gvmPath.resolve(Strings.substitute(Constants.JNI_ARCH_FILE, Map.of("archOs", suffix)));
-        Files.deleteIfExists(jniPath);
-        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(jniPath.toFile())))) {
-            bw.write("[\n");
-            bw.write("  {\n    \"name\" : \"" + projectConfiguration.getMainClassName() + "\"\n  }\n");
-            for (String javaFile : getJNIClassList(suffix, projectConfiguration.isUseJavaFX(), projectConfiguration.isUsePrismSW())) {
-                InputStream inputStream = AbstractTargetConfiguration.class.getResourceAsStream(Constants.CONFIG_FILES + javaFile);
-                if (inputStream != null) {
-                    bw.write(",\n");
-                    List<String> lines = FileOps.readFileLines(inputStream,
-                            line -> !line.startsWith("[") && !line.startsWith("]"));
-                    for (String line : lines) {
-                        bw.write(line + "\n");
+    /**
+     * Returns the native-image arguments for the garbage collector and the default
+     * heap limits of the project, which are baked into the image as runtime options
+     *
+     * @throws IllegalArgumentException if an option is not valid or not supported by the target
+     */
+    List<String> getMemoryArgs() {
+        List<String> args = new ArrayList<>();
+        String gc = projectConfiguration.getGc();
+        if (gc != null && !gc.isEmpty()) {
+            switch (gc.toLowerCase(Locale.ROOT)) {
+                case "serial":
+                    args.add("--gc=serial");
+                    break;
+                case "epsilon":
+                    args.add("--gc=epsilon");
+                    break;
+                case "g1":
+                    if (!Constants.OS_LINUX.equals(projectConfiguration.getTargetTriplet().getOs())) {
+                        throw new IllegalArgumentException("The G1 garbage collector is not available for " +
+                                projectConfiguration.getTargetTriplet());
                     }
-                }
+                    args.add("--gc=G1");
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid garbage collector: " + gc + ", use serial, epsilon or g1");
+            }
+        }
+        long maxHeapSize = Strings.parseMemorySize("maxHeapSize", projectConfiguration.getMaxHeapSize());
+        long maxNewSize = Strings.parseMemorySize("maxNewSize", projectConfiguration.getMaxNewSize());
+        if (maxHeapSize > 0 && maxNewSize > 0 && maxNewSize >= maxHeapSize) {
+            throw new IllegalArgumentException("maxNewSize (" + projectConfiguration.getMaxNewSize() +
+                    ") must be smaller than maxHeapSize (" + projectConfiguration.getMaxHeapSize() + ")");
+        }
+        if (maxHeapSize > 0) {
+            args.add("-R:MaxHeapSize=" + maxHeapSize);
+        }
+        if (maxNewSize > 0) {
+            args.add("-R:MaxNewSize=" + maxNewSize);
+        }
+        return args;
+    }
+
+    /**
+     * Returns the base native-image arguments. All the charsets are added,
+     * unless the DEV profile is used, or the charsets are analyzed.
+     */
+    private List<String> getBaseNativeImageArguments() {
+        boolean addAllCharsets = !projectConfiguration.isDevBuild() && !projectConfiguration.isAnalyzeLocales();
+        return baseNativeImageArguments.stream()
+                .filter(arg -> addAllCharsets || !ADD_ALL_CHARSETS_ARG.equals(arg))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the charsets and locales used by the project, excluding the JavaFX jars,
+     * and returns the native-image arguments to include only those
+     */
+    private List<String> analyzeCharsetsAndLocales(String processedClasspath) throws IOException, InterruptedException {
+        Logger.logDebug("Analyzing charsets and locales of the project");
+        List<String> bundlesList = getBundlesList(processedClasspath);
+        try (ClassPathIndex index = new ClassPathIndex(processedClasspath, null)) {
+            CharsetLocaleAnalyzer analyzer = new CharsetLocaleAnalyzer(index,
+                    root -> !root.getFileName().toString().startsWith("javafx"));
+            analyzer.addCharsets(projectConfiguration.getCharsetsList());
+            analyzer.addLocales(projectConfiguration.getLocalesList());
+            analyzer.analyze(bundlesList);
+            Path reportPath = paths.getGvmPath().resolve(Constants.REPORTS_PATH).resolve(
+                    Strings.substitute(Constants.CHARSET_LOCALE_REPORT_FILE,
+                            Map.of("archOs", projectConfiguration.getTargetTriplet().getArchOs())));
+            analyzer.writeReport(reportPath);
+            Logger.logInfo("Including " + (analyzer.requiresAllCharsets() ? "all" : "the standard") +
+                    " charsets and the locales " + analyzer.getLocales() + ", see " + reportPath);
+            if (!analyzer.getUnresolved().isEmpty()) {
+                Logger.logInfo("Charset analysis found " + analyzer.getUnresolved().size() +
+                        " lookups with non-constant names, add the charsets they need to the charsets list");
             }
+            return analyzer.getNativeImageArgs();
+        }
+    }
+
+    /**
+     * Returns the native-image arguments for the DEV build profile: the quick-build
+     * optimization level, available since GraalVM 22.2
+     */
+    private List<String> getDevBuildArgs() {
+        if (projectConfiguration.getGraalVersion().compareTo(new Version(22, 2, 0)) < 0) {
+            Logger.logInfo("Quick-build mode requires GraalVM 22.2 or later, it will be skipped");
+            return List.of();
+        }
+        return List.of("-Ob");
+    }
+
+    /**
+     * Creates the index of the latest call tree report generated by native-image
+     * with {@code -H:+PrintAnalysisCallTree}, that can be queried with {@link CallTreeQuery}
+     */
+    private void indexCallTree(Path reportsPath) throws IOException {
+        if (!Files.isDirectory(reportsPath)) {
+            return;
+        }
+        Optional<Path> report;
+        try (Stream<Path> files = Files.list(reportsPath)) {
+            report = files.filter(p -> p.getFileName().toString().matches("call_tree_.*\\.txt"))
+                    .max(Comparator.comparing(p -> p.toFile().lastModified()));
+        }
+        if (report.isPresent()) {
+            CallTreeIndex index = CallTreeQuery.load(report.get());
+            Logger.logInfo("Call tree indexed with " + index.getMethodCount() + " methods. To query it, run: java -cp " +
+                    "<substrate.jar> " + CallTreeQuery.class.getName() + " " + report.get() + " why|entrypoints <class|package>");
+        }
+    }
+
+    private List<String> getSizeReportArgs() throws IOException {
+        Path reportsPath = Files.createDirectories(paths.getGvmPath().resolve(Constants.REPORTS_PATH));
+        Map<String, String> values = Map.of("archOs", projectConfiguration.getTargetTriplet().getArchOs());
+        Path dumpPath = reportsPath.resolve(Strings.substitute(Constants.DASHBOARD_DUMP_FILE, values));
+        Files.deleteIfExists(Path.of(dumpPath + ".dump"));
+        List<String> args = new ArrayList<>();
+        if (hasDashboard()) {
+            args.addAll(List.of("-H:+DashboardCode", "-H:+DashboardHeap",
+                    "-H:+DashboardJson", "-H:DashboardDump=" + dumpPath));
+        } else {
+            Logger.logInfo("The image size breakdown per jar and package requires the dashboard, that is not " +
+                    "available in GraalVM " + projectConfiguration.getGraalVersion() + ", only the totals are reported");
+        }
+        // the build output JSON file is available since GraalVM 22.3
+        if (projectConfiguration.getGraalVersion().compareTo(new Version(22, 3, 0)) >= 0) {
+            Path buildOutputPath = reportsPath.resolve(Strings.substitute(Constants.BUILD_OUTPUT_FILE, values));
+            Files.deleteIfExists(buildOutputPath);
+            args.add("-H:BuildOutputJSONFile=" + buildOutputPath);
+        }
+        return args;
+    }
 
-            for (String line : configResolver.getUserJNIList(suffix)) {
-                bw.write(line + "\n");
+    /*
+     * The dashboard was deprecated in GraalVM 22.3, and removed in 23.0
+     */
+    private boolean hasDashboard() {
+        return projectConfiguration.getGraalVersion().compareTo(new Version(23, 0, 0)) < 0;
+    }
+
+    /**
+     * Creates the size report of the image from the dashboard dump, or only from the
+     * build output with newer GraalVM versions, and logs the changes since the previous report
+     */
+    private void createSizeReport(String processedClasspath) throws IOException {
+        Path reportsPath = paths.getGvmPath().resolve(Constants.REPORTS_PATH);
+        Map<String, String> values = Map.of("archOs", projectConfiguration.getTargetTriplet().getArchOs());
+        Path dumpPath = reportsPath.resolve(Strings.substitute(Constants.DASHBOARD_DUMP_FILE, values) + ".dump");
+        Path buildOutputPath = reportsPath.resolve(Strings.substitute(Constants.BUILD_OUTPUT_FILE, values));
+        ImageSizeReport report;
+        if (hasDashboard()) {
+            if (!Files.exists(dumpPath)) {
+                Logger.logInfo("Image size report skipped, dashboard dump not found at " + dumpPath);
+                return;
+            }
+            try (ClassPathIndex index = new ClassPathIndex(processedClasspath, null)) {
+                report = ImageSizeReport.create(dumpPath, buildOutputPath, index);
             }
+        } else {
+            if (!Files.exists(buildOutputPath)) {
+                Logger.logInfo("Image size report skipped, build output not found at " + buildOutputPath);
+                return;
+            }
+            report = ImageSizeReport.create(null, buildOutputPath, null);
+        }
+        Path jsonPath = reportsPath.resolve(Strings.substitute(Constants.SIZE_REPORT_JSON_FILE, values));
+        if (Files.exists(jsonPath)) {
+            List<String> changes = report.diff(ImageSizeReport.read(jsonPath), SIZE_REPORT_MIN_CHANGE);
+            if (changes.isEmpty()) {
+                Logger.logInfo("Image size didn't change significantly since the previous build");
+            } else {
+                Logger.logInfo("Image size changes since the previous build:");
+                changes.forEach(change -> Logger.logInfo("  " + change));
+            }
+        }
+        report.write(jsonPath);
+        Path reportPath = reportsPath.resolve(Strings.substitute(Constants.SIZE_REPORT_FILE, values));
+        report.writeReport(reportPath);
+        Logger.logInfo("Image size report: " + reportPath);
+    }
 
-            for (String javaClass : projectConfiguration.getJniList()) {
-                writeEntry(bw, javaClass);
+    /**
+     * Analyzes the bytecode and FXML files of the project, excluding the JavaFX jars,
+     * to find the members that are accessed reflectively
+     *
+     * @return a merger with the entries found by the analysis
+     */
+    private ClassConfigMerger analyzeReflection(String suffix, String processedClasspath) throws IOException {
+        Logger.logDebug("Analyzing reflective accesses of the project");
+        try (ClassPathIndex index = new ClassPathIndex(processedClasspath, null)) {
+            ReflectionAnalyzer analyzer = new ReflectionAnalyzer(index,
+                    root -> !root.getFileName().toString().startsWith("javafx"));
+            ClassConfigMerger merger = analyzer.analyze(projectConfiguration.getMainClassName());
+            Path reportPath = paths.getGvmPath().resolve(Constants.REPORTS_PATH)
+                    .resolve(Strings.substitute(Constants.REFLECTION_REPORT_FILE, Map.of("archOs", suffix)));
+            analyzer.writeReport(reportPath);
+            if (!analyzer.getUnresolved().isEmpty()) {
+                Logger.logInfo("Reflection analysis found " + analyzer.getUnresolved().size() +
+                        " unresolved reflective lookups, see " + reportPath);
             }
-            bw.write("]");
+            return merger;
         }
+    }
+
+    private Path createJNIConfig(String suffix, ConfigResolver configResolver) throws IOException {
+        Path gvmPath = paths.getGvmPath();
+        Path jniPath = gvmPath.resolve(Strings.substitute(Constants.JNI_ARCH_FILE, Map.of("archOs", suffix)));
+        Files.deleteIfExists(jniPath);
+        ClassConfigMerger merger = new ClassConfigMerger();
+        merger.addClass(projectConfiguration.getMainClassName());
+        for (String javaFile : getJNIClassList(suffix, projectConfiguration.isUseJavaFX(), projectConfiguration.isUsePrismSW())) {
+            mergeConfigResource(merger, javaFile);
+        }
+        configResolver.mergeUserJNIConfig(suffix, merger);
+        mergeAgentConfig(merger, Constants.AGENT_JNI_FILE);
+        for (String javaClass : projectConfiguration.getJniList()) {
+            merger.addClassWithAllMembers(javaClass);
+        }
+        merger.write(jniPath);
         return jniPath;
     }
 
-    private Path createResourceConfig(String suffix, ConfigResolver configResolver) throws IOException {
+    private Path createResourceConfig(String suffix, ConfigResolver configResolver, String processedClasspath) throws IOException {
         Path gvmPath = paths.getGvmPath();
         Path resourcePath = gvmPath.resolve(
                 Strings.substitute(Constants.RESOURCE_ARCH_FILE, Map.of("archOs", suffix)));
         Files.deleteIfExists(resourcePath);
-        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(resourcePath.toFile())))) {
-            bw.write("{\n");
-            bw.write("  \"resources\": [\n");
-            boolean patternHasBeenWritten = false;
+        ResourceConfigMerger merger = new ResourceConfigMerger();
+        if (projectConfiguration.isResolveResources()) {
+            resolveResources(suffix, processedClasspath, merger);
+        } else {
             for (String extension : RESOURCES_BY_EXTENSION) {
-                if (patternHasBeenWritten) {
-                    bw.write(",\n");
-                } else {
-                    patternHasBeenWritten = true;
-                }
-                writePatternEntry(bw, ".*\\\\." + extension + "$");
+                merger.addPattern(".*\\." + extension + "$");
             }
-            for (String configurationResource : projectConfiguration.getResourcesList()) {
-                if (patternHasBeenWritten) {
-                    bw.write(",\n");
-                } else {
-                    patternHasBeenWritten = true;
-                }
-                writePatternEntry(bw, configurationResource);
-            }
-
-            List<String> userResourcesList = configResolver.getUserResourcesList(suffix);
-            if (!userResourcesList.isEmpty()) {
-                if (patternHasBeenWritten) {
-                    bw.write(",\n");
-                }
-                for (String line : userResourcesList) {
-                    bw.write(line + "\n");
-                }
-            } else if (patternHasBeenWritten) {
-                bw.write("\n");
-            }
-
-            bw.write("  ]\n");
-            bw.write("}");
         }
+        for (String configurationResource : projectConfiguration.getResourcesList()) {
+            merger.addPattern(unescapePattern(configurationResource));
+        }
+        configResolver.mergeUserResourceConfig(suffix, merger);
+        mergeAgentConfig(merger, Constants.AGENT_RESOURCE_FILE);
+        merger.write(resourcePath);
         return resourcePath;
     }
 
-    private static void writeEntry(BufferedWriter bw, String javaClass) throws IOException {
-        writeEntry(bw, javaClass, false);
+    /**
+     * Resolves the resources selected by extension and by the include and exclude
+     * rules of the project into explicit patterns, one for each resource name,
+     * and writes a report with the bytes each jar contributes to the image
+     */
+    private void resolveResources(String suffix, String processedClasspath, ResourceConfigMerger merger) throws IOException {
+        try (ClassPathIndex index = new ClassPathIndex(processedClasspath, null)) {
+            ResourceSelector selector = new ResourceSelector(index);
+            RESOURCES_BY_EXTENSION.forEach(selector::addExtension);
+            projectConfiguration.getResourcesIncludeRules().forEach(selector::addIncludeRule);
+            projectConfiguration.getResourcesExcludeRules().forEach(selector::addExcludeRule);
+            selector.select().forEach(merger::addPattern);
+            selector.getGlobalExcludePatterns().forEach(merger::addExcludePattern);
+            Path reportPath = paths.getGvmPath().resolve(Constants.REPORTS_PATH)
+                    .resolve(Strings.substitute(Constants.RESOURCE_REPORT_FILE, Map.of("archOs", suffix)));
+            selector.writeReport(reportPath);
+            Logger.logInfo("Resources from the classpath: " + selector.getSelectedBytes() + " bytes, see " + reportPath);
+        }
     }
 
-    private static void writeEntry(BufferedWriter bw, String javaClass, boolean exclude) throws IOException {
-        bw.write(",\n");
-        writeSingleEntry(bw, javaClass, exclude);
+    /**
+     * Merges the configuration captured by the tracing agent, if any
+     */
+    private void mergeAgentConfig(ConfigMerger merger, String fileName) throws IOException {
+        Path agentFile = paths.getAgentPath().resolve(fileName);
+        if (merger.merge(agentFile)) {
+            Logger.logDebug("Merged tracing agent configuration from " + agentFile);
+        }
     }
 
-    private static void writeSingleEntry(BufferedWriter bw, String javaClass, boolean exclude) throws IOException {
-        bw.write("  {\n");
-        bw.write("    \"name\" : \"" + javaClass + "\"");
-        if (!exclude) {
-            bw.write(",\n");
-            bw.write("    \"allDeclaredConstructors\" : true,\n");
-            bw.write("    \"allPublicConstructors\" : true,\n");
-            bw.write("    \"allDeclaredFields\" : true,\n");
-            bw.write("    \"allPublicFields\" : true,\n");
-            bw.write("    \"allDeclaredMethods\" : true,\n");
-            bw.write("    \"allPublicMethods\" : true\n");
-        } else {
-            bw.write("\n");
+    private static void mergeConfigResource(ConfigMerger merger, String javaFile) throws IOException {
+        InputStream inputStream = AbstractTargetConfiguration.class.getResourceAsStream(Constants.CONFIG_FILES + javaFile);
+        if (inputStream != null) {
+            merger.merge(inputStream, Constants.CONFIG_FILES + javaFile);
         }
-        bw.write("  }\n");
     }
 
-    private static void writePatternEntry(BufferedWriter bw, String pattern) throws IOException {
-        bw.write("    {\"pattern\": \"" + pattern + "\"}");
+    /**
+     * Resource patterns from the project configuration used to be written verbatim
+     * into the JSON file, so they are expected to be JSON-escaped (e.g. ".*\\.txt$").
+     * If the pattern is not a valid JSON string, it is used as is.
+     */
+    private static String unescapePattern(String pattern) {
+        try (JsonReader reader = new JsonReader(new StringReader("\"" + pattern + "\""))) {
+            String value = reader.nextString();
+            if (reader.peek() == JsonReader.Token.END_DOCUMENT) {
+                return value;
+            }
+        } catch (IOException e) {
+            // not JSON-escaped
+        }
+        return pattern;
     }
 
     /**
@@ -725,17 +1731,32 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
      */
     private void extractNativeLibs(String classPath) throws IOException {
         Path libPath = paths.getGvmPath().resolve(Constants.LIB_PATH);
-        if (Files.exists(libPath)) {
-            FileOps.deleteDirectory(libPath);
+        List<String> jars = new ClassPath(classPath).filter(s -> s.endsWith(".jar") && !s.contains("javafx-"));
+
+        // the stamp changes when any of the jars is added, removed or modified
+        List<String> jarStamps = new ArrayList<>();
+        for (String jar : jars) {
+            File file = new File(jar);
+            jarStamps.add(jar + ":" + file.length() + ":" + file.lastModified());
+        }
+        String stamp = FileOps.calculateCheckSum(List.of(), jarStamps.toArray(new String[0]));
+        BuildManifest manifest = getBuildManifest();
+        if (projectConfiguration.isDevBuild() && Files.isDirectory(libPath) &&
+                manifest.getValue(NATIVE_LIBS_STAMP).filter(stamp::equals).isPresent()) {
+            Logger.logDebug("Reusing native libs extracted to: " + libPath);
+            return;
         }
-        Logger.logDebug("Extracting native libs to: " + libPath);
 
-        List<String> jars = new ClassPath(classPath).filter(s -> s.endsWith(".jar") && !s.contains("javafx-"));
+        FileOps.moveToTrash(libPath, paths.getTrashPath());
+        Logger.logDebug("Extracting native libs to: " + libPath);
         for (String jar : jars) {
             Logger.logDebug("Extracting native libs from jar: " + jar);
             FileOps.extractFilesFromJar("." + getStaticLibraryFileExtension(), Path.of(jar),
                     libPath, getTargetSpecificNativeLibsFilter());
         }
+        Files.createDirectories(libPath);
+        manifest.putValue(NATIVE_LIBS_STAMP, stamp);
+        manifest.save();
     }
 
     /**
@@ -765,22 +1786,54 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
         return linkFlags;
     }
 
+    /**
+     * Checks that native-image produced the expected object file, and records its
+     * location (and the one of llvm.o, if the LLVM backend is used) in the build
+     * manifest, so the following steps don't need to search for them.
+     *
+     * @param result the exit code of the native-image process
+     * @return true if the compile step succeeded
+     * @throws IOException
+     */
     private boolean validateCompileResult(int result) throws IOException {
+        BuildManifest manifest = getBuildManifest();
+        manifest.remove(BuildManifest.OBJECT_FILE);
+        manifest.remove(BuildManifest.LLVM_OBJECT_FILE);
         boolean success = result == 0;
         if (success) {
             Path gvmPath = paths.getGvmPath();
 
             // we will print the output of the process only if we don't have the resulting objectfile
-            String nameSearch = projectConfiguration.getMainClassName().toLowerCase(Locale.ROOT) + "." + getObjectFileExtension();
-            if (FileOps.findFile(gvmPath, nameSearch).isEmpty()) {
+            String nameSearch = getProjectObjectFileName();
+            Optional<Path> objectFile = findCompileOutput(nameSearch);
+            if (objectFile.isEmpty()) {
                 Logger.logInfo("Additional information: Objectfile should be called " + nameSearch + " but we didn't find that under " + gvmPath.toString());
-                return false;
+                success = false;
+            } else {
+                manifest.putPath(BuildManifest.OBJECT_FILE, objectFile.get());
+                if (Constants.BACKEND_LLVM.equals(projectConfiguration.getBackend())) {
+                    findCompileOutput("llvm.o")
+                            .ifPresent(llvm -> manifest.putPath(BuildManifest.LLVM_OBJECT_FILE, llvm));
+                }
             }
         }
-
+        manifest.save();
         return success;
     }
 
+    /**
+     * Native-image writes its output to the temporary directory, so that is searched
+     * first, before falling back to the whole gvm directory.
+     */
+    private Optional<Path> findCompileOutput(String fileName) throws IOException {
+        Optional<Path> output = Files.isDirectory(paths.getTmpPath()) ?
+                FileOps.findFile(paths.getTmpPath(), fileName) : Optional.empty();
+        if (output.isEmpty()) {
+            output = FileOps.findFile(paths.getGvmPath(), fileName);
+        }
+        return output;
+    }
+
     /**
      * If we are not using JavaFX, we immediately return the provided classpath: no further processing
      * is needed. If we do use JavaFX, we will first {@link FileDeps#getJavaFXSDKLibsPath obtain
@@ -865,6 +1918,27 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
         return "o";
     }
 
+    /**
+     * Returns the flags that make the compiler write the preprocessed source
+     * to the standard output, without line markers.
+     * Implementations can override this for providing a different syntax.
+     *
+     * @return a list of flags understood by the compiler
+     */
+    List<String> getPreprocessorFlags() {
+        return List.of("-E", "-P");
+    }
+
+    /**
+     * Returns the flags that make the compiler print its version.
+     * Implementations can override this for providing a different syntax.
+     *
+     * @return a list of flags understood by the compiler
+     */
+    List<String> getCompilerVersionFlags() {
+        return List.of("--version");
+    }
+
     String getStaticLibraryFileExtension() {
         return "a";
     }
@@ -981,6 +2055,17 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
         return projectConfiguration.getAppName();
     }
 
+    /**
+     * Returns the objcopy executable that can split the debug information
+     * of the linked binary. Implementations can override this for targets
+     * that support it.
+     *
+     * @return an Optional with the objcopy executable, or empty if it is not supported
+     */
+    Optional<String> getObjcopy() {
+        return Optional.empty();
+    }
+
     protected List<String> getTargetNativeCodeExtensions() {
         return Arrays.asList(".c");
     }
@@ -1089,11 +2174,38 @@ public abstract class AbstractTargetConfiguration implements TargetConfiguration
      */
     final Path getProjectObjectFile() throws IOException {
         Path gvmPath = paths.getGvmPath();
-        String objectFilename = projectConfiguration.getMainClassName().toLowerCase(Locale.ROOT) + "." + getObjectFileExtension();
-        Path objectFile = FileOps.findFile(gvmPath, objectFilename).orElseThrow(()
+        String objectFilename = getProjectObjectFileName();
+        Path objectFile = getCompileOutput(BuildManifest.OBJECT_FILE, objectFilename).orElseThrow(()
                 -> new IllegalArgumentException(
                         "Linking failed, since there is no objectfile named " + objectFilename + " under " + gvmPath.toString())
         );
         return objectFile;
     }
+
+    /**
+     * Returns the location of a file generated by the compile step, as it was recorded
+     * in the build manifest. If the manifest doesn't have it (e.g. the compile step ran
+     * with a previous version), the gvm directory is searched for the given file name.
+     *
+     * @param key the key of the build output in the manifest
+     * @param fileName the name of the file to search for, if it is not in the manifest
+     * @return an Optional with the path of the file, or empty if it can't be found
+     * @throws IOException
+     */
+    final Optional<Path> getCompileOutput(String key, String fileName) throws IOException {
+        Optional<Path> output = getBuildManifest().getPath(key);
+        if (output.isEmpty()) {
+            Logger.logDebug("No " + key + " in build manifest, searching for " + fileName);
+            output = FileOps.findFile(paths.getGvmPath(), fileName);
+        }
+        return output;
+    }
+
+    final BuildManifest getBuildManifest() throws IOException {
+        return BuildManifest.load(paths.getGvmPath().resolve(Constants.BUILD_MANIFEST_FILE));
+    }
+
+    private String getProjectObjectFileName() {
+        return projectConfiguration.getMainClassName().toLowerCase(Locale.ROOT) + "." + getObjectFileExtension();
+    }
 }
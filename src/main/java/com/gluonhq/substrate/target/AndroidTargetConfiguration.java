@@ -29,6 +29,7 @@ package com.gluonhq.substrate.target;
 
 import com.gluonhq.substrate.Constants;
 import com.gluonhq.substrate.config.AndroidResolver;
+import com.gluonhq.substrate.model.BuildManifest;
 import com.gluonhq.substrate.model.ClassPath;
 import com.gluonhq.substrate.model.InternalProjectConfiguration;
 import com.gluonhq.substrate.model.ProcessPaths;
@@ -51,6 +52,7 @@ import java.util.Enumeration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -255,7 +257,7 @@ public class AndroidTargetConfiguration extends PosixTargetConfiguration {
     @Override
     List<String> getTargetSpecificObjectFiles() throws IOException {
         if (projectConfiguration.isUseLLVM()) {
-            return FileOps.findFile(paths.getGvmPath(), "llvm.o").map( objectFile ->
+            return getCompileOutput(BuildManifest.LLVM_OBJECT_FILE, "llvm.o").map( objectFile ->
                     Collections.singletonList(objectFile.toAbsolutePath().toString())
             ).orElseThrow();
         }
@@ -297,6 +299,13 @@ public class AndroidTargetConfiguration extends PosixTargetConfiguration {
         return answer;
     }
 
+    @Override
+    Optional<String> getObjcopy() {
+        return Optional.of(Paths.get(hostPlatformFolder, "bin", "llvm-objcopy"))
+                .filter(Files::exists)
+                .map(Path::toString);
+    }
+
     @Override
     String getLinkOutputName() {
         String appName = projectConfiguration.getAppName();
@@ -512,9 +521,7 @@ public class AndroidTargetConfiguration extends PosixTargetConfiguration {
      */
     private Path prepareAndroidProject() throws IOException {
         Path androidProject = getAndroidProjectPath();
-        if (Files.exists(androidProject)) {
-            FileOps.deleteDirectory(androidProject);
-        }
+        FileOps.moveToTrash(androidProject, paths.getTrashPath());
         FileOps.copyDirectoryFromResources(ANDROID_NATIVE_FOLDER + ANDROID_PROJECT_NAME, androidProject);
         if (!projectConfiguration.hasWeb()) {
             Files.deleteIfExists(Path.of(androidProject.toString(), "app", "src", "main", "java", "com", "gluonhq", "helloandroid", "NativeWebView.java"));
@@ -28,6 +28,7 @@
 package com.gluonhq.substrate.target;
 
 import com.gluonhq.substrate.Constants;
+import com.gluonhq.substrate.model.BuildManifest;
 import com.gluonhq.substrate.model.InternalProjectConfiguration;
 import com.gluonhq.substrate.model.ProcessPaths;
 import com.gluonhq.substrate.util.FileOps;
@@ -203,7 +204,7 @@ public class IosTargetConfiguration extends DarwinTargetConfiguration {
         if (isSimulator() || !projectConfiguration.isUseLLVM()) {
             return super.getTargetSpecificObjectFiles();
         }
-        return FileOps.findFile(paths.getGvmPath(), "llvm.o")
+        return getCompileOutput(BuildManifest.LLVM_OBJECT_FILE, "llvm.o")
                 .map(objectFile -> Collections.singletonList(objectFile.toAbsolutePath().toString()))
                 .orElseThrow();
     }
@@ -28,6 +28,7 @@
 package com.gluonhq.substrate.target;
 
 import com.gluonhq.substrate.Constants;
+import com.gluonhq.substrate.model.BuildManifest;
 import com.gluonhq.substrate.model.InternalProjectConfiguration;
 import com.gluonhq.substrate.model.ProcessPaths;
 import com.gluonhq.substrate.util.FileOps;
@@ -39,16 +40,20 @@ import com.gluonhq.substrate.util.VersionParser;
 import com.gluonhq.substrate.util.linux.LinuxLinkerFlags;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -110,9 +115,26 @@ public class LinuxTargetConfiguration extends PosixTargetConfiguration {
     private static final List<String> linuxfxSWlibs = Arrays.asList(
             "-lprism_sw");
 
+    // x86-64 microarchitecture levels supported by -march, from the highest, and the
+    // aliases accepted for them
+    private static final List<String> CPU_LEVELS = List.of("x86-64-v4", "x86-64-v3", "x86-64-v2", "x86-64-v1");
+    private static final Map<String, String> CPU_LEVEL_ALIASES = Map.of("x86-64", "x86-64-v1");
+
+    // linkers accepted by -fuse-ld, and the ones that are detected, from the fastest
+    private static final List<String> LINKERS = List.of("mold", "lld", "gold", "bfd");
+    private static final List<String> FAST_LINKERS = List.of("mold", "lld");
+    private static final String DEFAULT_LINKER = "default";
+
+    // musl toolchains, as named by musl-cross-make and by the musl-gcc wrapper
+    private static final List<String> MUSL_COMPILERS = List.of("x86_64-linux-musl-gcc", "musl-gcc");
+
     private final String sysroot;
 
     private final boolean isAarch64;
+    private String linkVariant;
+    private String fuseLinker;
+    private boolean fuseLinkerSelected;
+    private String muslCompiler;
 
     public LinuxTargetConfiguration(ProcessPaths paths, InternalProjectConfiguration configuration) throws IOException {
         super(paths, configuration);
@@ -125,14 +147,209 @@ public class LinuxTargetConfiguration extends PosixTargetConfiguration {
         if (isAarch64) {
             projectConfiguration.setUsePrismSW(true); // for now, when compiling for AArch64, we should not assume hw rendering
         }
-        return super.compile();
+        checkStaticMusl();
+        List<String> variants = getCpuVariants();
+        if (variants.isEmpty()) {
+            return super.compile();
+        }
+
+        Path variantsPath = Files.createDirectories(paths.getGvmPath().resolve(Constants.CPU_VARIANTS_PATH));
+        for (String variant : variants) {
+            Logger.logInfo("Compiling variant for " + variant);
+            if (!compileOptimized(List.of("-march=" + variant))) {
+                return false;
+            }
+            // keep the object file of each variant, as the next compilation replaces it
+            BuildManifest manifest = getBuildManifest();
+            Path objectFile = getProjectObjectFile();
+            Path variantObjectFile = variantsPath.resolve(variant + "-" + objectFile.getFileName());
+            Files.copy(objectFile, variantObjectFile, StandardCopyOption.REPLACE_EXISTING);
+            manifest.putPath(BuildManifest.OBJECT_FILE + "." + variant, variantObjectFile);
+            manifest.save();
+        }
+        return true;
     }
 
     @Override
     public boolean link() throws IOException, InterruptedException {
         checkCompiler();
         checkLinker();
-        return super.link();
+        checkStaticMusl();
+        List<String> variants = isCollectingProfile() ? List.of() : getCpuVariants();
+        if (variants.isEmpty()) {
+            return super.link() && verifyStaticExecutable();
+        }
+
+        BuildManifest manifest = getBuildManifest();
+        Optional<Path> objectFile = manifest.getPath(BuildManifest.OBJECT_FILE);
+        try {
+            for (String variant : variants) {
+                Path variantObjectFile = manifest.getPath(BuildManifest.OBJECT_FILE + "." + variant)
+                        .orElseThrow(() -> new IOException("Linking failed, there is no object file for variant " + variant));
+                Logger.logInfo("Linking variant for " + variant);
+                manifest.putPath(BuildManifest.OBJECT_FILE, variantObjectFile);
+                manifest.save();
+                linkVariant = variant;
+                if (!super.link()) {
+                    return false;
+                }
+            }
+        } finally {
+            linkVariant = null;
+            objectFile.ifPresent(path -> manifest.putPath(BuildManifest.OBJECT_FILE, path));
+            manifest.save();
+        }
+        if (!linkCpuDispatcher(variants)) {
+            return false;
+        }
+        // the launcher is the link output, instead of the last variant
+        BuildManifest linkManifest = getBuildManifest();
+        linkManifest.putPath(BuildManifest.LINK_OUTPUT, Path.of(getAppPath(getLinkOutputName())));
+        linkManifest.save();
+        return verifyStaticExecutable();
+    }
+
+    /**
+     * Checks that a static musl executable can be built for this project,
+     * and finds the musl compiler
+     *
+     * @throws IllegalArgumentException if the project doesn't support it
+     * @throws IOException if there is no musl toolchain on the host
+     */
+    private void checkStaticMusl() throws IOException {
+        checkStaticMusl(System.getenv("PATH"));
+    }
+
+    /**
+     * Checks that a static musl executable can be built for this project,
+     * and finds the musl compiler in the given search path
+     *
+     * @param searchPath the directories where the compiler is looked for, as in the PATH
+     * @throws IllegalArgumentException if the project doesn't support it
+     * @throws IOException if there is no musl toolchain in the search path
+     */
+    void checkStaticMusl(String searchPath) throws IOException {
+        if (!projectConfiguration.isStaticMusl() || muslCompiler != null) {
+            return;
+        }
+        if (isAarch64 || crossCompile) {
+            throw new IllegalArgumentException("Static musl executables are only supported for Linux x86_64 hosts and targets");
+        }
+        if (projectConfiguration.isUseJavaFX()) {
+            throw new IllegalArgumentException("Static musl executables are not supported for JavaFX applications");
+        }
+        if (projectConfiguration.isSharedLibrary() || projectConfiguration.isStaticLibrary()) {
+            throw new IllegalArgumentException("Static musl builds can only create executables");
+        }
+        if (projectConfiguration.isUseLayers()) {
+            throw new IllegalArgumentException("Static musl executables can't use a shared base layer");
+        }
+        List<Path> pathDirs = Stream.of(Optional.ofNullable(searchPath).orElse("").split(File.pathSeparator))
+                .filter(s -> !s.isEmpty())
+                .map(Path::of)
+                .collect(Collectors.toList());
+        muslCompiler = MUSL_COMPILERS.stream()
+                .flatMap(compiler -> pathDirs.stream().map(dir -> dir.resolve(compiler)))
+                .filter(Files::isExecutable)
+                .map(Path::toString)
+                .findFirst()
+                .orElseThrow(() -> new IOException("Static musl executables require a musl toolchain, but none of " +
+                        MUSL_COMPILERS + " was found in the PATH"));
+        Logger.logDebug("musl compiler: " + muslCompiler);
+    }
+
+    /**
+     * Checks that the executable built with musl has no program interpreter
+     * and no dynamic dependencies, so it can run in an empty root filesystem
+     */
+    private boolean verifyStaticExecutable() throws IOException, InterruptedException {
+        if (!projectConfiguration.isStaticMusl()) {
+            return true;
+        }
+        ProcessRunner readelf = new ProcessRunner(getReadelfArguments(getAppPath(getLinkOutputName())));
+        if (readelf.runProcess("readelf") != 0) {
+            return false;
+        }
+        List<String> dynamic = getDynamicDependencies(readelf.getResponses());
+        if (!dynamic.isEmpty()) {
+            Logger.logSevere("The executable is not fully static: " + dynamic);
+            return false;
+        }
+        Logger.logInfo("The executable is fully static and has no dynamic dependencies");
+        return true;
+    }
+
+    /**
+     * Returns the readelf command that prints the program headers and the
+     * dynamic section of the given executable
+     */
+    static String[] getReadelfArguments(String executable) {
+        return new String[] {"readelf", "-l", "-d", executable};
+    }
+
+    /**
+     * Returns the program interpreter and the shared libraries required by an
+     * executable, from the output of {@link #getReadelfArguments(String)}
+     */
+    static List<String> getDynamicDependencies(List<String> readelfOutput) {
+        return readelfOutput.stream()
+                .filter(line -> line.contains("program interpreter") || line.contains("(NEEDED)"))
+                .map(String::trim)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the x86-64 microarchitecture levels of the variants to build, from the
+     * highest to the lowest, or an empty list if variants are not enabled or not supported
+     */
+    List<String> getCpuVariants() {
+        List<String> variants = projectConfiguration.getCpuVariants();
+        if (variants.isEmpty() || projectConfiguration.isSharedLibrary() || projectConfiguration.isStaticLibrary()) {
+            return List.of();
+        }
+        if (isAarch64) {
+            Logger.logInfo("CPU variants are only available for x86_64 targets, they will be skipped");
+            return List.of();
+        }
+        // -march is available since GraalVM 23.0
+        if (projectConfiguration.getGraalVersion().compareTo(new Version(23, 0, 0)) < 0) {
+            Logger.logInfo("CPU variants require a GraalVM version that supports -march, they will be skipped");
+            return List.of();
+        }
+        List<String> levels = variants.stream().map(LinuxTargetConfiguration::getCpuLevel).collect(Collectors.toList());
+        for (int i = 0; i < levels.size(); i++) {
+            if (!CPU_LEVELS.contains(levels.get(i))) {
+                throw new IllegalArgumentException("Invalid CPU variant: " + variants.get(i) + ", use any of " + CPU_LEVELS);
+            }
+        }
+        return CPU_LEVELS.stream().filter(levels::contains).collect(Collectors.toList());
+    }
+
+    private static String getCpuLevel(String variant) {
+        return CPU_LEVEL_ALIASES.getOrDefault(variant, variant);
+    }
+
+    /**
+     * Builds the launcher with the name of the application, that runs the variant for
+     * the highest level that the CPU supports, named $appName-$level
+     */
+    private boolean linkCpuDispatcher(List<String> variants) throws IOException, InterruptedException {
+        Path workDir = paths.getGvmPath().resolve(projectConfiguration.getAppName());
+        ProcessRunner dispatcherRunner = new ProcessRunner(getCompiler());
+        dispatcherRunner.addArg("-O2");
+        if (projectConfiguration.isStaticMusl()) {
+            dispatcherRunner.addArg("-static");
+        }
+        dispatcherRunner.addArg("-DSUBSTRATE_CPU_DISPATCHER");
+        dispatcherRunner.addArg("-DSUBSTRATE_CPU_VARIANTS=" + variants.stream()
+                .map(v -> "\"" + v + "\"")
+                .collect(Collectors.joining(",")));
+        dispatcherRunner.addArg(workDir.resolve("launcher.c").toString());
+        dispatcherRunner.addArg("-o");
+        dispatcherRunner.addArg(getAppPath(getLinkOutputName()));
+        dispatcherRunner.setInfo(true);
+        dispatcherRunner.setLogToFile(true);
+        return dispatcherRunner.runProcess("link-cpu-dispatcher", workDir.toFile()) == 0;
     }
 
     @Override
@@ -173,13 +390,34 @@ public class LinuxTargetConfiguration extends PosixTargetConfiguration {
             }
         }
 
-        ProcessRunner scpRunner = new ProcessRunner("scp",
-                appPath.resolve(appName).toString(), remoteHostName + ":" + remoteDir);
+        ProcessRunner scpRunner = new ProcessRunner("scp");
+        getAppFiles(app).forEach(file -> scpRunner.addArg(file.toString()));
+        scpRunner.addArg(remoteHostName + ":" + remoteDir);
         scpRunner.setInfo(true);
         scpRunner.setInteractive(true);
         return scpRunner.runProcess("scp") == 0;
     }
 
+    /**
+     * Returns the executable and the files next to it that it needs at runtime,
+     * like the base layer shared library and the executables of the CPU variants
+     */
+    List<Path> getAppFiles(Path app) {
+        List<Path> files = new ArrayList<>();
+        files.add(app);
+        for (String variant : projectConfiguration.getCpuVariants()) {
+            Path variantApp = app.resolveSibling(app.getFileName() + "-" + getCpuLevel(variant));
+            if (Files.exists(variantApp)) {
+                files.add(variantApp);
+            }
+        }
+        Path baseLayerLibrary = app.resolveSibling(getBaseLayerLibraryName());
+        if (Files.exists(baseLayerLibrary)) {
+            files.add(baseLayerLibrary);
+        }
+        return files;
+    }
+
     @Override
     public boolean runUntilEnd() throws IOException, InterruptedException {
         if (!crossCompile) {
@@ -226,9 +464,23 @@ public class LinuxTargetConfiguration extends PosixTargetConfiguration {
         if (crossCompile) {
             return Arrays.asList(fileDeps.getJavaSDKLibsPath());
         }
+        if (projectConfiguration.isStaticMusl()) {
+            return super.getStaticJDKLibPaths().stream()
+                    .map(path -> "glibc".equals(path.getFileName().toString()) ? path.resolveSibling("musl") : path)
+                    .collect(Collectors.toList());
+        }
         return super.getStaticJDKLibPaths();
     }
 
+    @Override
+    protected Path getCLibPath() {
+        Path clibPath = super.getCLibPath();
+        if (projectConfiguration.isStaticMusl() && Files.isDirectory(clibPath.resolve("musl"))) {
+            return clibPath.resolve("musl");
+        }
+        return clibPath;
+    }
+
     @Override
     List<String> getStaticJavaLibs() {
         Path javaStaticLibPath;
@@ -246,6 +498,8 @@ public class LinuxTargetConfiguration extends PosixTargetConfiguration {
     @Override
     List<String> getOtherStaticLibs() {
         return Stream.concat(staticJvmLibs.stream().map(lib -> ":lib" + lib + ".a"), linuxLibs.stream())
+                // musl toolchains don't provide libstdc++
+                .filter(lib -> !projectConfiguration.isStaticMusl() || !"stdc++".equals(lib))
                 .collect(Collectors.toList());
     }
 
@@ -281,13 +535,17 @@ public class LinuxTargetConfiguration extends PosixTargetConfiguration {
     List<String> getTargetSpecificLinkFlags(boolean useJavaFX, boolean usePrismSW) throws IOException, InterruptedException {
         List<String> answer = new LinkedList<>();
         answer.add("-Wl,--wrap=pow");
-        answer.add("-rdynamic");
+        if (projectConfiguration.isStaticMusl()) {
+            answer.add("-static");
+        } else {
+            answer.add("-rdynamic");
+        }
         if (projectConfiguration.isSharedLibrary()) {
             answer.add("-shared");
             answer.add("-undefined");
         }
+        getFuseLinker().ifPresent(linker -> answer.add("-fuse-ld=" + linker));
         if (crossCompile) {
-            answer.add("-fuse-ld=gold");
             answer.add("--sysroot");
             answer.add(sysroot);
         }
@@ -337,6 +595,9 @@ public class LinuxTargetConfiguration extends PosixTargetConfiguration {
 
     @Override
     List<String> getTargetSpecificAOTCompileFlags() throws IOException {
+        if (projectConfiguration.isStaticMusl()) {
+            return List.of("--static", "--libc=musl", "-H:CCompilerPath=" + muslCompiler);
+        }
         if (!crossCompile) {
             return super.getTargetSpecificAOTCompileFlags();
         }
@@ -373,6 +634,9 @@ public class LinuxTargetConfiguration extends PosixTargetConfiguration {
         if (projectConfiguration.isSharedLibrary()) {
             return Arrays.asList("-o", getSharedLibPath().toString());
         }
+        if (linkVariant != null) {
+            return Arrays.asList("-o", getAppPath(getLinkOutputName() + "-" + linkVariant));
+        }
         return super.getTargetSpecificLinkOutputFlags();
     }
 
@@ -391,6 +655,62 @@ public class LinuxTargetConfiguration extends PosixTargetConfiguration {
         return capPath;
     }
 
+    /**
+     * Returns the linker to be passed to the compiler driver with -fuse-ld. When cross-compiling,
+     * gold is used. Otherwise, the linker set in the project is used, or if there is none, the
+     * fastest linker that the compiler can use on the host. The result is stored in the manifest.
+     *
+     * @return an Optional with the linker, or empty to use the default linker of the system
+     * @throws IllegalArgumentException if the linker set in the project is not valid
+     */
+    Optional<String> getFuseLinker() throws IOException, InterruptedException {
+        if (fuseLinkerSelected) {
+            return Optional.ofNullable(fuseLinker);
+        }
+        String linker = projectConfiguration.getLinker();
+        if (crossCompile) {
+            fuseLinker = "gold";
+        } else if (DEFAULT_LINKER.equals(linker)) {
+            fuseLinker = null;
+        } else if (linker != null && !linker.isEmpty()) {
+            if (!LINKERS.contains(linker)) {
+                throw new IllegalArgumentException("Invalid linker: " + linker + ", use any of " +
+                        LINKERS + " or " + DEFAULT_LINKER);
+            }
+            fuseLinker = linker;
+        } else {
+            fuseLinker = null;
+            for (String fastLinker : FAST_LINKERS) {
+                if (isLinkerAvailable(fastLinker)) {
+                    fuseLinker = fastLinker;
+                    break;
+                }
+            }
+        }
+        fuseLinkerSelected = true;
+        String selected = fuseLinker == null ? DEFAULT_LINKER : fuseLinker;
+        Logger.logDebug("Linker: " + selected);
+        BuildManifest manifest = getBuildManifest();
+        manifest.putValue(BuildManifest.LINKER, selected);
+        manifest.save();
+        return Optional.ofNullable(fuseLinker);
+    }
+
+    /*
+     * The linker has to be installed, and supported by the compiler driver
+     * (mold requires GCC 12.1 or later)
+     */
+    boolean isLinkerAvailable(String linker) throws IOException, InterruptedException {
+        ProcessRunner runner = new ProcessRunner(getCompiler(), "-fuse-ld=" + linker, "-Wl,--version");
+        runner.showSevereMessage(false);
+        try {
+            return runner.runProcess("check-linker-" + linker) == 0;
+        } catch (IOException e) {
+            Logger.logDebug("Error checking linker " + linker + ": " + e.getMessage());
+            return false;
+        }
+    }
+
     private void checkCompiler() throws IOException, InterruptedException {
         validateVersion(new String[]{"gcc", "--version"}, "compiler", COMPILER_MINIMAL_VERSION);
     }
@@ -436,14 +756,25 @@ public class LinuxTargetConfiguration extends PosixTargetConfiguration {
 
     @Override
     String getCompiler() {
+        if (muslCompiler != null) {
+            return muslCompiler;
+        }
         if (!crossCompile) {
             return super.getCompiler();
         }
         return "aarch64-linux-gnu-gcc";
     }
 
+    @Override
+    Optional<String> getObjcopy() {
+        return Optional.of(crossCompile ? "aarch64-linux-gnu-objcopy" : "objcopy");
+    }
+
     @Override
     String getLinker() {
+        if (muslCompiler != null) {
+            return muslCompiler;
+        }
         if (!crossCompile) {
             return super.getLinker();
         }
@@ -27,7 +27,10 @@
  */
 package com.gluonhq.substrate.target;
 
+import com.gluonhq.substrate.util.Benchmark;
+
 import java.io.IOException;
+import java.util.List;
 
 public interface TargetConfiguration {
 
@@ -89,6 +92,40 @@ public interface TargetConfiguration {
      */
     boolean runUntilEnd() throws IOException, InterruptedException;
 
+    /**
+     * Starts the application, without waiting for it to end
+     * @return the process of the application, or null if it can't run on the host
+     * @throws IOException
+     */
+    Process launch() throws IOException;
+
+    /**
+     * Runs the application on the JVM of GraalVM with the native-image tracing
+     * agent, to capture the reflection, JNI, resources, proxy and serialization
+     * configuration that the application requires. The configuration is merged
+     * with the one captured in previous runs.
+     *
+     * @param timeout the maximum time in seconds allowed to run the application,
+     *                or 0 to wait until it ends
+     * @return true if the process succeeded or false if the process failed
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    boolean runAgent(long timeout) throws IOException, InterruptedException;
+
+    /**
+     * Runs the generated native image several times with the runtime arguments,
+     * measuring its startup time, total runtime and memory footprint
+     * @param runs the number of measured runs
+     * @param warmupRuns the number of initial runs that are discarded
+     * @param coldRuns true to measure runs with the file system caches dropped too
+     * @param extraArgs runtime arguments added before the project ones, like -Xmx64m
+     * @return the result of the benchmark, or null if the image can't run on the host
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    Benchmark.Result benchmark(int runs, int warmupRuns, boolean coldRuns, List<String> extraArgs) throws IOException, InterruptedException;
+
     /**
      * Creates a native image that can be used as shared library
      * @return true if the process succeeded or false if the process failed
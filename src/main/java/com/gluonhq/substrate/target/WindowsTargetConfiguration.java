@@ -121,6 +121,17 @@ public class WindowsTargetConfiguration extends AbstractTargetConfiguration {
         return "obj";
     }
 
+    @Override
+    List<String> getPreprocessorFlags() {
+        return List.of("/EP");
+    }
+
+    @Override
+    List<String> getCompilerVersionFlags() {
+        // cl prints its version when it runs without arguments
+        return List.of();
+    }
+
     @Override
     String getStaticLibraryFileExtension() {
         return "lib";
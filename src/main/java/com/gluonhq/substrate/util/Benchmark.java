@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import com.gluonhq.substrate.util.json.JsonReader;
+import com.gluonhq.substrate.util.json.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs an executable several times, measuring the time until its first line
+ * of output (startup), its total runtime and, on Linux, its peak resident set size
+ * and page faults, read from /proc while the process runs.
+ *
+ * After some warm-up runs that are discarded, the executable is run with the
+ * file system caches in place (warm variant) and, optionally, after dropping
+ * the caches (cold variant), which requires write access to
+ * /proc/sys/vm/drop_caches. The median of each metric is kept.
+ *
+ * If the executable runs with -XX:+PrintGC, the garbage collection lines of its
+ * output are parsed too, and the number of collections and their pause times
+ * are added to the metrics.
+ */
+public class Benchmark {
+
+    public static final String WARM = "warm";
+    public static final String COLD = "cold";
+
+    public static final String STARTUP = "startupMillis";
+    public static final String TOTAL = "totalMillis";
+    public static final String PEAK_RSS = "peakRssKb";
+    public static final String MINOR_FAULTS = "minorFaults";
+    public static final String MAJOR_FAULTS = "majorFaults";
+    public static final String GC_COUNT = "gcCount";
+    public static final String GC_PAUSE_TOTAL = "gcPauseTotalMillis";
+    public static final String GC_PAUSE_MAX = "gcPauseMaxMillis";
+
+    /**
+     * The metrics that are checked for regressions
+     */
+    public static final List<String> CHECKED_METRICS = List.of(STARTUP, PEAK_RSS);
+
+    private static final Path PROC_PATH = Path.of("/proc");
+    private static final Path DROP_CACHES_PATH = PROC_PATH.resolve("sys/vm/drop_caches");
+    private static final long SAMPLING_INTERVAL = 2;
+    // [Incremental GC (CollectOnAllocation) 10240K->2048K, 0.0012345 secs]
+    private static final Pattern GC_PAUSE_PATTERN = Pattern.compile("^\\[.*GC.*, (\\d+\\.\\d+) secs\\]");
+
+    private final List<String> command;
+    private int runs = 10;
+    private int warmupRuns = 2;
+    private boolean coldRuns;
+
+    /**
+     * Creates a benchmark of the given command
+     *
+     * @param command the executable and its arguments
+     */
+    public Benchmark(List<String> command) {
+        if (command == null || command.isEmpty()) {
+            throw new IllegalArgumentException("Invalid empty command");
+        }
+        this.command = List.copyOf(command);
+    }
+
+    public void setRuns(int runs) {
+        if (runs < 1) {
+            throw new IllegalArgumentException("Invalid number of runs: " + runs);
+        }
+        this.runs = runs;
+    }
+
+    public void setWarmupRuns(int warmupRuns) {
+        if (warmupRuns < 0) {
+            throw new IllegalArgumentException("Invalid number of warm-up runs: " + warmupRuns);
+        }
+        this.warmupRuns = warmupRuns;
+    }
+
+    /**
+     * Sets whether the cold cache variant should be measured too
+     *
+     * @param coldRuns true to run the executable after dropping the file system caches
+     */
+    public void setColdRuns(boolean coldRuns) {
+        this.coldRuns = coldRuns;
+    }
+
+    /**
+     * Runs the benchmark
+     *
+     * @return the result with the median of each metric, for each variant
+     * @throws IOException if the executable can't be run, or it fails
+     * @throws InterruptedException
+     */
+    public Result run() throws IOException, InterruptedException {
+        Result result = new Result();
+        for (int i = 0; i < warmupRuns; i++) {
+            runOnce();
+        }
+        List<Map<String, Double>> samples = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            samples.add(runOnce());
+        }
+        result.variants.put(WARM, median(samples));
+
+        if (coldRuns) {
+            if (dropCaches()) {
+                samples.clear();
+                for (int i = 0; i < runs; i++) {
+                    dropCaches();
+                    samples.add(runOnce());
+                }
+                result.variants.put(COLD, median(samples));
+            } else {
+                Logger.logInfo("Cold cache runs require write access to " + DROP_CACHES_PATH + ", skipping them");
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Double> runOnce() throws IOException, InterruptedException {
+        ProcessBuilder pb = new ProcessBuilder(command).redirectErrorStream(true);
+        long start = System.nanoTime();
+        Process process = pb.start();
+        ProcSampler sampler = new ProcSampler(process);
+        sampler.start();
+        long firstLine = -1;
+        GcPauses gcPauses = new GcPauses(command.contains("-XX:+PrintGC"));
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (firstLine < 0) {
+                    firstLine = System.nanoTime();
+                }
+                gcPauses.accept(line);
+                Logger.logDebug("[benchmark] " + line);
+            }
+        }
+        int exitValue = process.waitFor();
+        long end = System.nanoTime();
+        sampler.join();
+        // a process that ends before the first poll can still be read until it is reaped
+        sampler.sample();
+        if (exitValue != 0) {
+            throw new IOException("Process " + command.get(0) + " failed with result: " + exitValue);
+        }
+
+        Map<String, Double> sample = new LinkedHashMap<>();
+        sample.put(STARTUP, toMillis((firstLine < 0 ? end : firstLine) - start));
+        sample.put(TOTAL, toMillis(end - start));
+        if (sampler.peakRss >= 0) {
+            sample.put(PEAK_RSS, (double) sampler.peakRss);
+            sample.put(MINOR_FAULTS, (double) sampler.minorFaults);
+            sample.put(MAJOR_FAULTS, (double) sampler.majorFaults);
+        }
+        gcPauses.addTo(sample);
+        return sample;
+    }
+
+    private static boolean dropCaches() {
+        if (!Files.isWritable(DROP_CACHES_PATH)) {
+            return false;
+        }
+        try {
+            new ProcessBuilder("sync").start().waitFor();
+            Files.writeString(DROP_CACHES_PATH, "3");
+            return true;
+        } catch (IOException | InterruptedException e) {
+            Logger.logDebug("Error dropping caches: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    /*
+     * Returns the median of each metric, over the samples that have it, as some metrics
+     * can be missing in some runs, like the peak RSS of a process that ended too soon
+     */
+    static Map<String, Double> median(List<Map<String, Double>> samples) {
+        Set<String> metrics = new LinkedHashSet<>();
+        samples.forEach(s -> metrics.addAll(s.keySet()));
+        Map<String, Double> median = new LinkedHashMap<>();
+        for (String metric : metrics) {
+            List<Double> values = new ArrayList<>();
+            samples.forEach(s -> Optional.ofNullable(s.get(metric)).ifPresent(values::add));
+            Collections.sort(values);
+            int n = values.size();
+            median.put(metric, n % 2 == 1 ? values.get(n / 2) : (values.get(n / 2 - 1) + values.get(n / 2)) / 2);
+        }
+        return median;
+    }
+
+    /*
+     * Collects the pause times of the garbage collection lines printed by an
+     * image that runs with -XX:+PrintGC
+     */
+    static class GcPauses {
+
+        private final boolean printGC;
+        private int count;
+        private double total;
+        private double max;
+
+        /*
+         * printGC is true if the image runs with -XX:+PrintGC, so a run without
+         * garbage collection lines is reported as a run without collections
+         */
+        GcPauses(boolean printGC) {
+            this.printGC = printGC;
+        }
+
+        void accept(String line) {
+            Matcher matcher = GC_PAUSE_PATTERN.matcher(line);
+            if (matcher.find()) {
+                double pause = Double.parseDouble(matcher.group(1)) * 1_000;
+                count++;
+                total += pause;
+                max = Math.max(max, pause);
+            }
+        }
+
+        void addTo(Map<String, Double> sample) {
+            if (printGC || count > 0) {
+                sample.put(GC_COUNT, (double) count);
+                sample.put(GC_PAUSE_TOTAL, Math.round(total * 1_000) / 1_000.0);
+                sample.put(GC_PAUSE_MAX, Math.round(max * 1_000) / 1_000.0);
+            }
+        }
+    }
+
+    /*
+     * Polls /proc/<pid>/status and /proc/<pid>/stat until the process ends. The
+     * peak RSS (VmHWM) and the fault counters only grow, so the last read is kept.
+     */
+    private static class ProcSampler extends Thread {
+
+        private final Process process;
+        private final Path statusPath;
+        private final Path statPath;
+        private long peakRss = -1;
+        private long minorFaults;
+        private long majorFaults;
+
+        ProcSampler(Process process) {
+            this.process = process;
+            Path pidPath = PROC_PATH.resolve(String.valueOf(process.pid()));
+            this.statusPath = pidPath.resolve("status");
+            this.statPath = pidPath.resolve("stat");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            if (!Files.isDirectory(PROC_PATH)) {
+                return;
+            }
+            do {
+                sample();
+                try {
+                    process.waitFor(SAMPLING_INTERVAL, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            } while (process.isAlive());
+        }
+
+        void sample() {
+            try {
+                for (String line : Files.readAllLines(statusPath)) {
+                    if (line.startsWith("VmHWM:")) {
+                        peakRss = Math.max(peakRss, Long.parseLong(line.replaceAll("[^0-9]", "")));
+                    }
+                }
+                String stat = Files.readString(statPath);
+                // fields after the command name, which is between parentheses
+                String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+                minorFaults = Math.max(minorFaults, Long.parseLong(fields[7]));
+                majorFaults = Math.max(majorFaults, Long.parseLong(fields[9]));
+            } catch (IOException | RuntimeException e) {
+                // the process ended between reads, or there is no /proc
+            }
+        }
+    }
+
+    /**
+     * The result of a benchmark: for each variant, the median of each metric
+     */
+    public static class Result {
+
+        private final Map<String, Map<String, Double>> variants = new LinkedHashMap<>();
+
+        public Map<String, Map<String, Double>> getVariants() {
+            return Collections.unmodifiableMap(variants);
+        }
+
+        public Optional<Double> getValue(String variant, String metric) {
+            return Optional.ofNullable(variants.get(variant)).map(m -> m.get(metric));
+        }
+
+        /**
+         * Compares this result with a baseline, and returns the checked metrics
+         * that are worse than the baseline by more than the given threshold.
+         * Metrics that are missing in any of the results are not compared.
+         *
+         * @param baseline the result to compare with
+         * @param threshold the allowed relative increase, like 0.1 for 10%
+         * @return a list of messages describing the regressions, empty if there are none
+         */
+        public List<String> compare(Result baseline, double threshold) {
+            List<String> regressions = new ArrayList<>();
+            for (String variant : variants.keySet()) {
+                for (String metric : CHECKED_METRICS) {
+                    Optional<Double> value = getValue(variant, metric);
+                    Optional<Double> base = baseline.getValue(variant, metric);
+                    if (value.isPresent() && base.isPresent() && value.get() > base.get() * (1 + threshold)) {
+                        regressions.add(String.format("%s %s: %.3f, baseline: %.3f (+%.1f%%)", variant, metric,
+                                value.get(), base.get(), 100 * (value.get() / base.get() - 1)));
+                    }
+                }
+            }
+            return regressions;
+        }
+
+        /**
+         * Writes the result as a JSON file
+         *
+         * @param path the path of the file
+         * @throws IOException if the file can't be written
+         */
+        public void write(Path path) throws IOException {
+            Files.createDirectories(path.getParent());
+            try (JsonWriter writer = new JsonWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+                writer.beginObject();
+                for (Map.Entry<String, Map<String, Double>> variant : variants.entrySet()) {
+                    writer.name(variant.getKey()).beginObject();
+                    for (Map.Entry<String, Double> metric : variant.getValue().entrySet()) {
+                        writer.name(metric.getKey()).value(metric.getValue());
+                    }
+                    writer.endObject();
+                }
+                writer.endObject();
+            }
+        }
+
+        /**
+         * Reads a result from a JSON file
+         *
+         * @param path the path of the file
+         * @return the result
+         * @throws IOException if the file can't be read or is not valid
+         */
+        public static Result read(Path path) throws IOException {
+            Result result = new Result();
+            try (JsonReader reader = new JsonReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String variant = reader.nextName();
+                    Map<String, Double> metrics = new LinkedHashMap<>();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String metric = reader.nextName();
+                        metrics.put(metric, reader.nextNumber().doubleValue());
+                    }
+                    reader.endObject();
+                    result.variants.put(variant, metrics);
+                }
+                reader.endObject();
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "Benchmark.Result" + variants;
+        }
+    }
+}
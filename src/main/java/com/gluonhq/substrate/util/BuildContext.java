@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Holds the logging state of a build: the console and file log handlers, the log
+ * directory, and where and how the processes are logged. Each build has its own
+ * context, so several builds can run in parallel in the same JVM, each one with
+ * its own log files.
+ *
+ * The {@link Logger} and the {@link ProcessRunner} use the context of the current
+ * thread, which is set with {@link #enter()} for the duration of a build step, and
+ * is inherited by the threads started from it, like the ones that read the output
+ * of processes. Outside of any build, a default context that logs to the console
+ * is used.
+ */
+public class BuildContext implements AutoCloseable {
+
+    private static final InheritableThreadLocal<BuildContext> CURRENT = new InheritableThreadLocal<>();
+    private static final BuildContext DEFAULT = new BuildContext();
+
+    /**
+     * Restores the previous context of the thread when closed
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final List<Handler> handlers = new CopyOnWriteArrayList<>();
+    private volatile Handler consoleHandler = new ConsoleHandler();
+    private volatile Handler fileHandler;
+    private volatile String logDirectory;
+    private volatile Path processLogPath;
+    private volatile boolean consoleProcessLog;
+
+    /**
+     * Returns the context of the build running in the current thread
+     *
+     * @return the build context, or the default context if there is no build running
+     */
+    public static BuildContext current() {
+        BuildContext context = CURRENT.get();
+        return context != null ? context : DEFAULT;
+    }
+
+    /**
+     * Makes this context the current one of the thread, and of the threads started
+     * from it, until the returned scope is closed
+     *
+     * @return the scope that restores the previous context when closed
+     */
+    public Scope enter() {
+        BuildContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Runs the given task with this context as the current one of the thread,
+     * and restores the previous context afterwards
+     *
+     * @param task the task to run
+     */
+    public void run(Runnable task) {
+        Scope scope = enter();
+        try {
+            task.run();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Sets up the console and file log handlers, replacing the previous ones.
+     * The file log is created in the given directory.
+     *
+     * @param logDirectory the directory of the log files
+     * @param verbose true to log debug messages to the console too
+     * @throws IOException if the log file can't be created
+     */
+    void initLog(String logDirectory, boolean verbose) throws IOException {
+        this.logDirectory = logDirectory;
+        ConsoleHandler console = new ConsoleHandler();
+        console.setLevel(verbose ? Level.FINE : Level.INFO);
+        console.setFormatter(new SimpleFormatter());
+        consoleHandler = console;
+
+        FileHandler file = new FileHandler(logDirectory + "/client-debug%g.log",
+                10_485_760L, 1, true);
+        file.setLevel(Level.ALL);
+        file.setFormatter(new SimpleFormatter());
+        Handler previous = fileHandler;
+        fileHandler = file;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    String getLogDirectory() {
+        return logDirectory;
+    }
+
+    void addHandler(Handler handler) {
+        handlers.add(Objects.requireNonNull(handler));
+    }
+
+    void removeHandler(Handler handler) {
+        handlers.remove(handler);
+    }
+
+    /**
+     * Publishes a log record to the handlers of this context
+     */
+    void publish(LogRecord record) {
+        consoleHandler.publish(record);
+        Handler file = fileHandler;
+        if (file != null) {
+            file.publish(record);
+        }
+        for (Handler handler : handlers) {
+            handler.publish(record);
+        }
+    }
+
+    Path getProcessLogPath() {
+        return processLogPath;
+    }
+
+    void setProcessLogPath(Path path) throws IOException {
+        processLogPath = Objects.requireNonNull(path);
+        if (!Files.exists(processLogPath)) {
+            Files.createDirectories(processLogPath);
+        }
+    }
+
+    boolean isConsoleProcessLog() {
+        return consoleProcessLog;
+    }
+
+    void setConsoleProcessLog(boolean value) {
+        consoleProcessLog = value;
+    }
+
+    /**
+     * Closes the log file of this context
+     */
+    @Override
+    public void close() {
+        Handler file = fileHandler;
+        fileHandler = null;
+        if (file != null) {
+            file.close();
+        }
+    }
+}
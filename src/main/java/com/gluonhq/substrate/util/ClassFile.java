@@ -0,0 +1,777 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Minimal reader of Java class files, with the information that the build
+ * analysis passes need: the class hierarchy, fields and methods with their
+ * annotations, and the instructions of the method bodies.
+ *
+ * All class names are returned in their fully qualified, dotted form.
+ */
+public class ClassFile {
+
+    public static final int ACC_PUBLIC = 0x0001;
+    public static final int ACC_STATIC = 0x0008;
+    public static final int ACC_NATIVE = 0x0100;
+    public static final int ACC_INTERFACE = 0x0200;
+    public static final int ACC_ABSTRACT = 0x0400;
+    public static final int ACC_ENUM = 0x4000;
+
+    public static final int LDC = 0x12;
+    public static final int LDC_W = 0x13;
+    public static final int LDC2_W = 0x14;
+    public static final int GETSTATIC = 0xb2;
+    public static final int PUTSTATIC = 0xb3;
+    public static final int GETFIELD = 0xb4;
+    public static final int PUTFIELD = 0xb5;
+    public static final int INVOKEVIRTUAL = 0xb6;
+    public static final int INVOKESPECIAL = 0xb7;
+    public static final int INVOKESTATIC = 0xb8;
+    public static final int INVOKEINTERFACE = 0xb9;
+    public static final int INVOKEDYNAMIC = 0xba;
+    public static final int NEW = 0xbb;
+    public static final int ANEWARRAY = 0xbd;
+    public static final int CHECKCAST = 0xc0;
+    public static final int INSTANCEOF = 0xc1;
+    public static final int MULTIANEWARRAY = 0xc5;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private static final int REF_GET_FIELD = 1;
+    private static final int REF_GET_STATIC = 2;
+    private static final int REF_PUT_FIELD = 3;
+    private static final int REF_PUT_STATIC = 4;
+    private static final int REF_INVOKE_VIRTUAL = 5;
+    private static final int REF_INVOKE_STATIC = 6;
+    private static final int REF_INVOKE_SPECIAL = 7;
+    private static final int REF_NEW_INVOKE_SPECIAL = 8;
+    private static final int REF_INVOKE_INTERFACE = 9;
+
+    private final int[] tags;
+    private final Object[] constants;
+    private final int access;
+    private final String name;
+    private final String superName;
+    private final List<String> interfaces;
+    private final List<Member> fields;
+    private final List<Member> methods;
+    private final Set<String> annotations;
+    private List<int[]> bootstrapMethods = List.of();
+
+    private ClassFile(DataInputStream in) throws IOException {
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        int count = in.readUnsignedShort();
+        tags = new int[count];
+        constants = new Object[count];
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            tags[i] = tag;
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    constants[i] = in.readUTF();
+                    break;
+                case CONSTANT_INTEGER:
+                    constants[i] = in.readInt();
+                    break;
+                case CONSTANT_FLOAT:
+                    constants[i] = in.readFloat();
+                    break;
+                case CONSTANT_LONG:
+                    constants[i++] = in.readLong();
+                    break;
+                case CONSTANT_DOUBLE:
+                    constants[i++] = in.readDouble();
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    constants[i] = new int[] {in.readUnsignedShort()};
+                    break;
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    constants[i] = new int[] {in.readUnsignedShort(), in.readUnsignedShort()};
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    constants[i] = new int[] {in.readUnsignedByte(), in.readUnsignedShort()};
+                    break;
+                default:
+                    throw new IOException("Invalid constant pool tag " + tag + " at index " + i);
+            }
+        }
+
+        access = in.readUnsignedShort();
+        name = className(in.readUnsignedShort());
+        int superIndex = in.readUnsignedShort();
+        superName = superIndex == 0 ? null : className(superIndex);
+        int interfaceCount = in.readUnsignedShort();
+        List<String> interfaceList = new ArrayList<>();
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaceList.add(className(in.readUnsignedShort()));
+        }
+        interfaces = Collections.unmodifiableList(interfaceList);
+        fields = readMembers(in);
+        methods = readMembers(in);
+        annotations = readAttributes(in, null);
+    }
+
+    /**
+     * Reads a class file from the given stream. The stream is not closed.
+     *
+     * @param inputStream the stream with the content of the class file
+     * @return the class file
+     * @throws IOException if the content can't be read or is not a valid class file
+     */
+    public static ClassFile read(InputStream inputStream) throws IOException {
+        try {
+            return new ClassFile(new DataInputStream(inputStream));
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid class file: " + e, e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the name of the super class, or null for java.lang.Object and module-info
+     */
+    public String getSuperName() {
+        return superName;
+    }
+
+    public List<String> getInterfaces() {
+        return interfaces;
+    }
+
+    public int getAccess() {
+        return access;
+    }
+
+    public boolean isInterface() {
+        return (access & ACC_INTERFACE) != 0;
+    }
+
+    public List<Member> getFields() {
+        return fields;
+    }
+
+    public List<Member> getMethods() {
+        return methods;
+    }
+
+    /**
+     * @return the names of the runtime visible annotations of this class
+     */
+    public Set<String> getAnnotations() {
+        return annotations;
+    }
+
+    public Optional<Member> getMethod(String name, String descriptor) {
+        return methods.stream()
+                .filter(m -> m.getName().equals(name) && m.getDescriptor().equals(descriptor))
+                .findFirst();
+    }
+
+    /**
+     * @return the static initializer of this class, if any
+     */
+    public Optional<Member> getStaticInitializer() {
+        return getMethod("<clinit>", "()V");
+    }
+
+    /**
+     * Returns all the string constants of the constant pool
+     *
+     * @return a list of strings
+     */
+    public List<String> getStringConstants() {
+        List<String> strings = new ArrayList<>();
+        for (int i = 1; i < tags.length; i++) {
+            if (tags[i] == CONSTANT_STRING) {
+                strings.add(utf8(((int[]) constants[i])[0]));
+            }
+        }
+        return strings;
+    }
+
+    /**
+     * Decodes the instructions of the given method, and passes them in
+     * order to the visitor. Methods without code (abstract or native) are ignored.
+     *
+     * @param method a method of this class
+     * @param visitor the visitor of the instructions
+     * @throws IOException if the code of the method is not valid
+     */
+    public void visitInstructions(Member method, InstructionVisitor visitor) throws IOException {
+        byte[] code = method.getCode();
+        if (code == null) {
+            return;
+        }
+        int pc = 0;
+        try {
+            while (pc < code.length) {
+                int opcode = code[pc] & 0xff;
+                int length = instructionLength(code, pc);
+                Instruction instruction = new Instruction(pc, opcode);
+                switch (opcode) {
+                    case LDC:
+                        resolveConstant(instruction, code[pc + 1] & 0xff);
+                        break;
+                    case LDC_W:
+                    case LDC2_W:
+                        resolveConstant(instruction, u2(code, pc + 1));
+                        break;
+                    case GETSTATIC:
+                    case PUTSTATIC:
+                    case GETFIELD:
+                    case PUTFIELD:
+                    case INVOKEVIRTUAL:
+                    case INVOKESPECIAL:
+                    case INVOKESTATIC:
+                    case INVOKEINTERFACE:
+                        instruction.ref = memberRef(u2(code, pc + 1));
+                        break;
+                    case INVOKEDYNAMIC:
+                        int[] indy = (int[]) constants[u2(code, pc + 1)];
+                        int[] nameAndType = (int[]) constants[indy[1]];
+                        instruction.ref = new MemberRef(null, utf8(nameAndType[0]), utf8(nameAndType[1]));
+                        resolveLambda(instruction, indy[0]);
+                        break;
+                    case NEW:
+                    case ANEWARRAY:
+                    case CHECKCAST:
+                    case INSTANCEOF:
+                    case MULTIANEWARRAY:
+                        instruction.type = className(u2(code, pc + 1));
+                        break;
+                    default:
+                        break;
+                }
+                visitor.visit(instruction);
+                pc += length;
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid code in " + name + "." + method.getName() + " at " + pc + ": " + e, e);
+        }
+    }
+
+    /**
+     * Converts a method descriptor into the list of its parameter types, using
+     * the Java source names, like "int" or "java.lang.String[]"
+     *
+     * @param descriptor a method descriptor like "(I[Ljava/lang/String;)V"
+     * @return the list of parameter types
+     */
+    public static List<String> getParameterTypes(String descriptor) {
+        List<String> types = new ArrayList<>();
+        int i = descriptor.indexOf('(') + 1;
+        while (descriptor.charAt(i) != ')') {
+            int start = i;
+            while (descriptor.charAt(i) == '[') {
+                i++;
+            }
+            if (descriptor.charAt(i) == 'L') {
+                i = descriptor.indexOf(';', i);
+            }
+            i++;
+            types.add(toTypeName(descriptor.substring(start, i)));
+        }
+        return types;
+    }
+
+    /**
+     * Converts a field descriptor into the Java source name of the type
+     *
+     * @param descriptor a field descriptor like "[Ljava/lang/String;"
+     * @return the type name, like "java.lang.String[]"
+     */
+    public static String toTypeName(String descriptor) {
+        int dimensions = 0;
+        while (descriptor.charAt(dimensions) == '[') {
+            dimensions++;
+        }
+        String type;
+        char c = descriptor.charAt(dimensions);
+        switch (c) {
+            case 'B': type = "byte"; break;
+            case 'C': type = "char"; break;
+            case 'D': type = "double"; break;
+            case 'F': type = "float"; break;
+            case 'I': type = "int"; break;
+            case 'J': type = "long"; break;
+            case 'S': type = "short"; break;
+            case 'Z': type = "boolean"; break;
+            case 'V': type = "void"; break;
+            case 'L':
+                type = descriptor.substring(dimensions + 1, descriptor.length() - 1).replace('/', '.');
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid descriptor " + descriptor);
+        }
+        return type + "[]".repeat(dimensions);
+    }
+
+    private List<Member> readMembers(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Member member = new Member(in.readUnsignedShort(), utf8(in.readUnsignedShort()), utf8(in.readUnsignedShort()));
+            member.annotations = readAttributes(in, member);
+            members.add(member);
+        }
+        return Collections.unmodifiableList(members);
+    }
+
+    /*
+     * Reads the attributes of a class or member, returning the names of the runtime
+     * visible annotations. The code of methods is kept in the member.
+     */
+    private Set<String> readAttributes(DataInputStream in, Member member) throws IOException {
+        Set<String> annotationSet = new LinkedHashSet<>();
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            String attributeName = utf8(in.readUnsignedShort());
+            int length = in.readInt();
+            if (member != null && "Code".equals(attributeName)) {
+                in.readUnsignedShort(); // max stack
+                in.readUnsignedShort(); // max locals
+                byte[] code = new byte[in.readInt()];
+                in.readFully(code);
+                member.code = code;
+                skip(in, length - 8 - code.length);
+            } else if (member == null && "BootstrapMethods".equals(attributeName)) {
+                int methodCount = in.readUnsignedShort();
+                List<int[]> methodList = new ArrayList<>(methodCount);
+                for (int j = 0; j < methodCount; j++) {
+                    // the method handle of the bootstrap method, followed by its static arguments
+                    int methodHandle = in.readUnsignedShort();
+                    int[] bootstrapMethod = new int[1 + in.readUnsignedShort()];
+                    bootstrapMethod[0] = methodHandle;
+                    for (int k = 1; k < bootstrapMethod.length; k++) {
+                        bootstrapMethod[k] = in.readUnsignedShort();
+                    }
+                    methodList.add(bootstrapMethod);
+                }
+                bootstrapMethods = methodList;
+            } else if ("RuntimeVisibleAnnotations".equals(attributeName)) {
+                int annotationCount = in.readUnsignedShort();
+                for (int j = 0; j < annotationCount; j++) {
+                    annotationSet.add(readAnnotation(in));
+                }
+            } else {
+                skip(in, length);
+            }
+        }
+        return Collections.unmodifiableSet(annotationSet);
+    }
+
+    private static void skip(DataInputStream in, int length) throws IOException {
+        int skipped = 0;
+        while (skipped < length) {
+            int n = in.skipBytes(length - skipped);
+            if (n <= 0) {
+                throw new IOException("Unexpected end of class file");
+            }
+            skipped += n;
+        }
+    }
+
+    private String readAnnotation(DataInputStream in) throws IOException {
+        String type = toTypeName(utf8(in.readUnsignedShort()));
+        int pairs = in.readUnsignedShort();
+        for (int i = 0; i < pairs; i++) {
+            in.readUnsignedShort(); // element name
+            skipElementValue(in);
+        }
+        return type;
+    }
+
+    private void skipElementValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                in.readUnsignedShort();
+                in.readUnsignedShort();
+                break;
+            case '@':
+                readAnnotation(in);
+                break;
+            case '[':
+                int count = in.readUnsignedShort();
+                for (int i = 0; i < count; i++) {
+                    skipElementValue(in);
+                }
+                break;
+            default:
+                in.readUnsignedShort();
+        }
+    }
+
+    private void resolveConstant(Instruction instruction, int index) {
+        switch (tags[index]) {
+            case CONSTANT_STRING:
+                instruction.constant = utf8(((int[]) constants[index])[0]);
+                break;
+            case CONSTANT_CLASS:
+                instruction.type = className(index);
+                break;
+            case CONSTANT_INTEGER:
+            case CONSTANT_FLOAT:
+            case CONSTANT_LONG:
+            case CONSTANT_DOUBLE:
+                instruction.constant = constants[index];
+                break;
+            default:
+                break;
+        }
+    }
+
+    /*
+     * For call sites created by the LambdaMetafactory, resolves the method handle
+     * of the implementation method of the lambda or method reference, which is the
+     * second static argument of the bootstrap method
+     */
+    private void resolveLambda(Instruction instruction, int bootstrapIndex) {
+        if (bootstrapIndex >= bootstrapMethods.size()) {
+            return;
+        }
+        int[] bootstrapMethod = bootstrapMethods.get(bootstrapIndex);
+        MemberRef factory = memberRef(((int[]) constants[bootstrapMethod[0]])[1]);
+        if (!"java.lang.invoke.LambdaMetafactory".equals(factory.getOwner()) || bootstrapMethod.length < 3 ||
+                tags[bootstrapMethod[2]] != CONSTANT_METHOD_HANDLE) {
+            return;
+        }
+        int[] handle = (int[]) constants[bootstrapMethod[2]];
+        switch (handle[0]) {
+            case REF_GET_FIELD:
+                instruction.implementationOpcode = GETFIELD;
+                break;
+            case REF_GET_STATIC:
+                instruction.implementationOpcode = GETSTATIC;
+                break;
+            case REF_PUT_FIELD:
+                instruction.implementationOpcode = PUTFIELD;
+                break;
+            case REF_PUT_STATIC:
+                instruction.implementationOpcode = PUTSTATIC;
+                break;
+            case REF_INVOKE_VIRTUAL:
+                instruction.implementationOpcode = INVOKEVIRTUAL;
+                break;
+            case REF_INVOKE_STATIC:
+                instruction.implementationOpcode = INVOKESTATIC;
+                break;
+            case REF_INVOKE_SPECIAL:
+                instruction.implementationOpcode = INVOKESPECIAL;
+                break;
+            case REF_NEW_INVOKE_SPECIAL:
+                instruction.implementationOpcode = NEW;
+                break;
+            case REF_INVOKE_INTERFACE:
+                instruction.implementationOpcode = INVOKEINTERFACE;
+                break;
+            default:
+                return;
+        }
+        instruction.implementation = memberRef(handle[1]);
+    }
+
+    private MemberRef memberRef(int index) {
+        int[] ref = (int[]) constants[index];
+        int[] nameAndType = (int[]) constants[ref[1]];
+        return new MemberRef(className(ref[0]), utf8(nameAndType[0]), utf8(nameAndType[1]));
+    }
+
+    private String className(int index) {
+        String internalName = utf8(((int[]) constants[index])[0]);
+        return internalName.startsWith("[") ? toTypeName(internalName) : internalName.replace('/', '.');
+    }
+
+    private String utf8(int index) {
+        return (String) constants[index];
+    }
+
+    private static int u2(byte[] code, int offset) {
+        return ((code[offset] & 0xff) << 8) | (code[offset + 1] & 0xff);
+    }
+
+    private static int s4(byte[] code, int offset) {
+        return ((code[offset] & 0xff) << 24) | ((code[offset + 1] & 0xff) << 16) |
+                ((code[offset + 2] & 0xff) << 8) | (code[offset + 3] & 0xff);
+    }
+
+    private static int instructionLength(byte[] code, int pc) {
+        int opcode = code[pc] & 0xff;
+        if (opcode == 0xaa) { // tableswitch
+            int base = pc + 1 + ((4 - ((pc + 1) % 4)) % 4);
+            int low = s4(code, base + 4);
+            int high = s4(code, base + 8);
+            return base - pc + 12 + (high - low + 1) * 4;
+        } else if (opcode == 0xab) { // lookupswitch
+            int base = pc + 1 + ((4 - ((pc + 1) % 4)) % 4);
+            int pairs = s4(code, base + 4);
+            return base - pc + 8 + pairs * 8;
+        } else if (opcode == 0xc4) { // wide
+            return (code[pc + 1] & 0xff) == 0x84 ? 6 : 4;
+        }
+        if (opcode == 0x10 || opcode == 0x12 || (opcode >= 0x15 && opcode <= 0x19) ||
+                (opcode >= 0x36 && opcode <= 0x3a) || opcode == 0xa9 || opcode == 0xbc) {
+            return 2;
+        }
+        if (opcode == 0x11 || opcode == 0x13 || opcode == 0x14 || opcode == 0x84 ||
+                (opcode >= 0x99 && opcode <= 0xa8) || (opcode >= 0xb2 && opcode <= 0xb8) ||
+                opcode == 0xbb || opcode == 0xbd || opcode == 0xc0 || opcode == 0xc1 ||
+                opcode == 0xc6 || opcode == 0xc7) {
+            return 3;
+        }
+        if (opcode == 0xc5) {
+            return 4;
+        }
+        if (opcode == 0xb9 || opcode == 0xba || opcode == 0xc8 || opcode == 0xc9) {
+            return 5;
+        }
+        if (opcode > 0xc9) {
+            throw new IllegalArgumentException("Invalid opcode " + opcode);
+        }
+        return 1;
+    }
+
+    /**
+     * A field or a method of a class
+     */
+    public static class Member {
+
+        private final int access;
+        private final String name;
+        private final String descriptor;
+        private Set<String> annotations = Set.of();
+        private byte[] code;
+
+        Member(int access, String name, String descriptor) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+
+        public int getAccess() {
+            return access;
+        }
+
+        public boolean isStatic() {
+            return (access & ACC_STATIC) != 0;
+        }
+
+        public boolean isPublic() {
+            return (access & ACC_PUBLIC) != 0;
+        }
+
+        public boolean isNative() {
+            return (access & ACC_NATIVE) != 0;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        /**
+         * @return the names of the runtime visible annotations of this member
+         */
+        public Set<String> getAnnotations() {
+            return annotations;
+        }
+
+        /**
+         * @return the length in bytes of the code of the method, or 0 if it has no code
+         */
+        public int getCodeLength() {
+            return code == null ? 0 : code.length;
+        }
+
+        byte[] getCode() {
+            return code;
+        }
+
+        @Override
+        public String toString() {
+            return name + descriptor;
+        }
+    }
+
+    /**
+     * A reference to a field or method of a class
+     */
+    public static class MemberRef {
+
+        private final String owner;
+        private final String name;
+        private final String descriptor;
+
+        MemberRef(String owner, String name, String descriptor) {
+            this.owner = owner;
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+
+        /**
+         * @return the class that declares the member, or null for invokedynamic call sites
+         */
+        public String getOwner() {
+            return owner;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        public boolean matches(String owner, String name) {
+            return owner.equals(this.owner) && name.equals(this.name);
+        }
+
+        @Override
+        public String toString() {
+            return owner + "." + name + descriptor;
+        }
+    }
+
+    /**
+     * A decoded instruction
+     */
+    public static class Instruction {
+
+        private final int offset;
+        private final int opcode;
+        private Object constant;
+        private String type;
+        private MemberRef ref;
+        private MemberRef implementation;
+        private int implementationOpcode;
+
+        Instruction(int offset, int opcode) {
+            this.offset = offset;
+            this.opcode = opcode;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public int getOpcode() {
+            return opcode;
+        }
+
+        /**
+         * @return the loaded constant of ldc instructions, as a String or a Number, or null
+         */
+        public Object getConstant() {
+            return constant;
+        }
+
+        /**
+         * @return the class operand of new, anewarray, checkcast, instanceof or ldc instructions, or null
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * @return the referenced member of field, invoke and invokedynamic instructions, or null
+         */
+        public MemberRef getRef() {
+            return ref;
+        }
+
+        /**
+         * @return the implementation method of invokedynamic instructions that create
+         * a lambda or a method reference, or null
+         */
+        public MemberRef getImplementation() {
+            return implementation;
+        }
+
+        /**
+         * @return the opcode of the instruction equivalent to the implementation method
+         * handle, like invokestatic, or new for constructor references, or 0 if there is
+         * no implementation method
+         */
+        public int getImplementationOpcode() {
+            return implementationOpcode;
+        }
+    }
+
+    @FunctionalInterface
+    public interface InstructionVisitor {
+        void visit(Instruction instruction) throws IOException;
+    }
+}
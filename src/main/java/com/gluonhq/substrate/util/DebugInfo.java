@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Splits the debug information of an ELF binary into a separate file with objcopy,
+ * strips the binary and links it to that file with a .gnu_debuglink section.
+ * The debug file is stored compressed in a symbols folder, under the build-id
+ * of the binary, so crashes of the shipped binary can be symbolicated offline:
+ *
+ * <pre>
+ * |-- symbols
+ *     |-- $buildId
+ *         |-- $binary.debug.gz
+ * </pre>
+ */
+public class DebugInfo {
+
+    private static final String BUILD_ID_SECTION = ".note.gnu.build-id";
+    private static final int NT_GNU_BUILD_ID = 3;
+
+    private final String objcopy;
+
+    /**
+     * Creates a debug info splitter
+     *
+     * @param objcopy the objcopy executable for the target, like objcopy or llvm-objcopy
+     */
+    public DebugInfo(String objcopy) {
+        this.objcopy = objcopy;
+    }
+
+    /**
+     * Splits the debug information of the binary, and stores it compressed
+     * under its build-id in the given folder
+     *
+     * @param binary the path of the linked executable or shared library
+     * @param symbolsPath the folder where symbol archives are stored
+     * @return the path of the compressed debug file
+     * @throws IOException if objcopy fails, or the binary has no build-id
+     * @throws InterruptedException
+     */
+    public Path split(Path binary, Path symbolsPath) throws IOException, InterruptedException {
+        Path workDir = binary.getParent();
+        String fileName = binary.getFileName().toString();
+        Path noteFile = workDir.resolve(fileName + ".build-id");
+        Path debugFile = workDir.resolve(fileName + ".debug");
+        try {
+            objcopy(workDir, "dump build-id", "--dump-section", BUILD_ID_SECTION + "=" + noteFile.getFileName(), fileName);
+            String buildId = parseBuildId(Files.readAllBytes(noteFile));
+
+            objcopy(workDir, "keep debug", "--only-keep-debug", fileName, debugFile.getFileName().toString());
+            objcopy(workDir, "strip", "--strip-all", "--add-gnu-debuglink=" + debugFile.getFileName(), fileName);
+
+            Path archive = Files.createDirectories(symbolsPath.resolve(buildId)).resolve(debugFile.getFileName() + ".gz");
+            try (InputStream is = Files.newInputStream(debugFile);
+                 OutputStream os = new GZIPOutputStream(Files.newOutputStream(archive))) {
+                is.transferTo(os);
+            }
+            Logger.logInfo("Debug info of " + fileName + " (build-id " + buildId + ") stored at " + archive);
+            return archive;
+        } finally {
+            Files.deleteIfExists(noteFile);
+            Files.deleteIfExists(debugFile);
+        }
+    }
+
+    private void objcopy(Path workDir, String name, String... args) throws IOException, InterruptedException {
+        ProcessRunner runner = new ProcessRunner(objcopy);
+        runner.addArgs(args);
+        if (runner.runProcess("objcopy " + name, workDir.toFile()) != 0) {
+            throw new IOException("Error running " + objcopy + " to " + name + ": " + runner.getResponse());
+        }
+    }
+
+    /**
+     * Parses the contents of a .note.gnu.build-id section: the name size, the
+     * descriptor size and the type of the note, the name "GNU" padded to 4 bytes,
+     * and the descriptor, which is the build-id
+     *
+     * @param note the bytes of the note section, in little endian order
+     * @return the build-id as a hex string
+     * @throws IOException if the section doesn't contain a GNU build-id note
+     */
+    static String parseBuildId(byte[] note) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(note).order(ByteOrder.LITTLE_ENDIAN);
+        if (note.length < 16) {
+            throw new IOException("Invalid build-id note of " + note.length + " bytes");
+        }
+        int nameSize = buffer.getInt();
+        int descSize = buffer.getInt();
+        int type = buffer.getInt();
+        int descOffset = 12 + ((nameSize + 3) & ~3);
+        if (type != NT_GNU_BUILD_ID || descSize <= 0 || descOffset + descSize > note.length) {
+            throw new IOException("Invalid build-id note of type " + type);
+        }
+        StringBuilder buildId = new StringBuilder();
+        for (int i = descOffset; i < descOffset + descSize; i++) {
+            buildId.append(String.format("%02x", note[i] & 0xff));
+        }
+        return buildId.toString();
+    }
+}
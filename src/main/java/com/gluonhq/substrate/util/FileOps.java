@@ -55,6 +55,7 @@ import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.FileSystems;
@@ -65,6 +66,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
@@ -80,6 +82,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.jar.Attributes;
 import java.util.jar.JarOutputStream;
@@ -94,6 +100,8 @@ import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 public class FileOps {
 
+    private static ExecutorService trashExecutor;
+
     /**
      * Find the file with the provided name in the provided directory.
      * @param workDir
@@ -300,6 +308,73 @@ public class FileOps {
         });
     }
 
+    /**
+     * Moves a file or directory into the trash directory, and schedules its
+     * deletion in a low-priority background thread. The trash directory has to
+     * be on the same file store as the path, so the move is a single rename and
+     * the caller doesn't wait for the actual deletion.
+     * If the path can't be renamed, it is deleted right away.
+     *
+     * @param path the file or directory to remove, ignored if it doesn't exist
+     * @param trashPath the trash directory
+     * @throws IOException if the path can't be removed
+     */
+    public static void moveToTrash(Path path, Path trashPath) throws IOException {
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        Path target;
+        try {
+            Files.createDirectories(trashPath);
+            target = trashPath.resolve(path.getFileName() + "-" + UUID.randomUUID());
+            Files.move(path, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UnsupportedOperationException e) {
+            Logger.logDebug("Can't move " + path + " to trash, deleting it instead: " + e.getMessage());
+            rmdir(path);
+            return;
+        }
+        Logger.logDebug("Moved " + path + " to " + target);
+        deleteInBackground(target);
+    }
+
+    /**
+     * Schedules the deletion of every entry in the trash directory, for
+     * instance the ones left by a previous build that ended before the
+     * background thread could remove them.
+     *
+     * @param trashPath the trash directory
+     */
+    public static void emptyTrash(Path trashPath) {
+        if (trashPath == null || !Files.isDirectory(trashPath)) {
+            return;
+        }
+        try (Stream<Path> entries = Files.list(trashPath)) {
+            entries.forEach(FileOps::deleteInBackground);
+        } catch (IOException e) {
+            Logger.logDebug("Error listing trash at " + trashPath + ": " + e.getMessage());
+        }
+    }
+
+    private static synchronized void deleteInBackground(Path path) {
+        if (trashExecutor == null) {
+            trashExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "substrate-trash");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        // the thread is shared by all the builds, so it logs to the one that scheduled the deletion
+        BuildContext context = BuildContext.current();
+        trashExecutor.execute(() -> context.run(() -> {
+            try {
+                rmdir(path);
+            } catch (IOException | RuntimeException e) {
+                Logger.logDebug("Error deleting " + path + ", it will be retried in the next build: " + e.getMessage());
+            }
+        }));
+    }
+
     /**
      * Copies recursively a directory and all its content
      * @param source path of the directory to be copied
@@ -500,6 +575,72 @@ public class FileOps {
         }
     }
 
+    /**
+     * Calculates a SHA-256 checksum of the content of the given files and directories,
+     * and of the given values. Directories are walked in a stable order, and the
+     * relative names of their files are part of the checksum, so renaming, adding or
+     * removing files changes it. Paths that don't exist only contribute their name.
+     *
+     * @param paths a list of files and directories, like the elements of a classpath
+     * @param values additional values, like options, that are part of the checksum
+     * @return the checksum as an hexadecimal string
+     * @throws IOException if a file can't be read
+     */
+    public static String calculateCheckSum(List<Path> paths, String... values) throws IOException {
+        return calculateCheckSum(paths, Path::toString, values);
+    }
+
+    /**
+     * Calculates a SHA-256 checksum of the content of the given files and directories,
+     * and of the given values, as {@link #calculateCheckSum(List, String...)}, where
+     * each file or directory contributes the given name instead of its path, so the
+     * checksum can be the same for copies of the files in different locations.
+     *
+     * @param paths a list of files and directories, like the elements of a classpath
+     * @param name the function that returns the name of each file or directory
+     * @param values additional values, like options, that are part of the checksum
+     * @return the checksum as an hexadecimal string
+     * @throws IOException if a file can't be read
+     */
+    public static String calculateCheckSum(List<Path> paths, Function<Path, String> name, String... values) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 is not available", e);
+        }
+        byte[] buffer = new byte[8192];
+        for (Path path : paths) {
+            digest.update(name.apply(path).getBytes(StandardCharsets.UTF_8));
+            List<Path> files;
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> walk = Files.walk(path)) {
+                    files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+                }
+            } else {
+                files = Files.isRegularFile(path) ? List.of(path) : List.of();
+            }
+            for (Path file : files) {
+                digest.update(path.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                try (InputStream is = Files.newInputStream(file)) {
+                    int n;
+                    while ((n = is.read(buffer)) != -1) {
+                        digest.update(buffer, 0, n);
+                    }
+                }
+            }
+        }
+        for (String value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
     /**
      * Extracts the files that match a given extension found in a jar to a target patch,
      * providing that the file passes a given filter, and it doesn't exist yet in the target path
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Watches a set of directory trees for changes, using the {@link WatchService}
+ * of the file system. Directories created inside the trees are watched as well,
+ * and so are roots that don't exist yet, once they are created in their parent.
+ *
+ * Changes come in bursts (an IDE saving several files, a compiler writing its
+ * classes), so {@link #awaitChanges(long)} waits until the trees are quiet for
+ * a while before returning all the changed paths at once.
+ */
+public class FileWatcher implements Closeable {
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Map<WatchKey, Path> parents = new HashMap<>();
+    private final Set<Path> roots = new LinkedHashSet<>();
+    private final Set<Path> pendingRoots = new LinkedHashSet<>();
+
+    /**
+     * Creates a watcher for the given directories and all their subdirectories.
+     * Directories that don't exist are watched once they are created, as long as
+     * their parent exists, and are ignored otherwise.
+     *
+     * @param roots the directories to watch
+     * @throws IOException if the directories can't be registered
+     */
+    public FileWatcher(Collection<Path> roots) throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path root : roots) {
+            if (Files.isDirectory(root)) {
+                registerTree(root);
+                this.roots.add(root);
+            }
+        }
+        for (Path root : roots) {
+            Path parent = root.getParent();
+            // a root inside a watched tree is registered when it is created
+            if (Files.isDirectory(root) || parent == null || !Files.isDirectory(parent) ||
+                    directories.containsValue(parent)) {
+                continue;
+            }
+            pendingRoots.add(root);
+            parents.put(parent.register(watchService, StandardWatchEventKinds.ENTRY_CREATE), parent);
+        }
+    }
+
+    /**
+     * @return the directories that are watched
+     */
+    public Set<Path> getRoots() {
+        return Collections.unmodifiableSet(roots);
+    }
+
+    /**
+     * @return the directories that will be watched once they are created
+     */
+    public Set<Path> getPendingRoots() {
+        return Collections.unmodifiableSet(pendingRoots);
+    }
+
+    /**
+     * Waits until there are changes in the watched directories, and then until no
+     * more changes happen for the given quiet period.
+     *
+     * @param quietPeriod the time in milliseconds without changes that ends a burst
+     * @return the set of created, modified or deleted paths. When events were lost,
+     * the affected watched directory is included instead
+     * @throws IOException if a new directory can't be registered
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Set<Path> awaitChanges(long quietPeriod) throws IOException, InterruptedException {
+        Set<Path> changes = new LinkedHashSet<>();
+        // events in the parents of pending roots might not be changes
+        while (changes.isEmpty()) {
+            WatchKey key = watchService.take();
+            while (key != null) {
+                processEvents(key, changes);
+                key = watchService.poll(quietPeriod, TimeUnit.MILLISECONDS);
+            }
+        }
+        return changes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void processEvents(WatchKey key, Set<Path> changes) throws IOException {
+        Path directory = directories.get(key);
+        Path parent = parents.get(key);
+        if (directory != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    changes.add(directory);
+                    continue;
+                }
+                Path path = directory.resolve((Path) event.context());
+                changes.add(path);
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                    addTree(path, changes);
+                }
+            }
+        } else if (parent != null) {
+            key.pollEvents();
+            for (Path root : List.copyOf(pendingRoots)) {
+                if (parent.equals(root.getParent()) && Files.isDirectory(root)) {
+                    pendingRoots.remove(root);
+                    addTree(root, changes);
+                    roots.add(root);
+                }
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+            parents.remove(key);
+        }
+    }
+
+    /*
+     * Registers a new directory, and adds all its content to the changes, as
+     * files might be created before the directory is registered
+     */
+    private void addTree(Path directory, Set<Path> changes) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            changes.addAll(files.collect(Collectors.toList()));
+        }
+        registerTree(directory);
+    }
+
+    private void registerTree(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path directory : paths.filter(Files::isDirectory).collect(Collectors.toList())) {
+                WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                directories.put(key, directory);
+            }
+        }
+    }
+}
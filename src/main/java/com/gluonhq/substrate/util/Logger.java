@@ -28,17 +28,35 @@
 package com.gluonhq.substrate.util;
 
 
-import java.util.logging.ConsoleHandler;
-import java.util.logging.FileHandler;
+import java.util.logging.Handler;
 import java.util.logging.Level;
-import java.util.logging.SimpleFormatter;
+import java.util.logging.LogRecord;
 
+/**
+ * Logs the messages of the build to the handlers of the {@link BuildContext}
+ * of the current thread
+ */
 public class Logger {
 
     private static final java.util.logging.Logger LOGGER = java.util.logging.Logger.getLogger(Logger.class.getName());
-    private static ConsoleHandler consoleHandler;
-    private static FileHandler fileHandler;
-    private static String logDirectory;
+    private static final Handler CONTEXT_HANDLER = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            BuildContext.current().publish(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    static {
+        installHandler();
+    }
 
     public static void logInfo(String s) {
         LOGGER.info(s);
@@ -54,7 +72,7 @@ public class Logger {
 
     public static void logSevere(String s) {
         LOGGER.severe(s + "\n" +
-                "Check the log files under "+logDirectory +
+                "Check the log files under "+BuildContext.current().getLogDirectory() +
                 "\nAnd please check https://docs.gluonhq.com/ for more information.");
     }
 
@@ -67,37 +85,47 @@ public class Logger {
     public static void logFatal(Throwable ex, String s) {
         logSevere(s);
         ex.printStackTrace();
-        throw new RuntimeException ("Fatal Error: " + ex);
+        throw new RuntimeException ("Fatal Error: " + ex, ex);
+    }
+
+    /**
+     * Adds a handler that receives all the messages logged from now on in the
+     * current build context, for instance to capture the diagnostics of a build step
+     * @param handler the handler to add
+     */
+    public static void addHandler(Handler handler) {
+        BuildContext.current().addHandler(handler);
     }
 
+    public static void removeHandler(Handler handler) {
+        BuildContext.current().removeHandler(handler);
+    }
 
+    /**
+     * Sets up the console and file logs of the current build context
+     * @param logPath the directory of the log files
+     * @param verbose true to log debug messages to the console too
+     */
     public static void logInit(String logPath, boolean verbose) {
         System.setProperty("java.util.logging.SimpleFormatter.format", "[%1$tc][%4$s] %5$s%n"); // [Date][Level] Message
-        logDirectory = logPath;
+        // the handlers might have been reset by the LogManager
+        installHandler();
+        try {
+            BuildContext.current().initLog(logPath, verbose);
+        } catch (Exception e) {
+            LOGGER.severe("Error: Logger couldn't be created");
+        }
+    }
 
+    private static synchronized void installHandler() {
         LOGGER.setLevel(Level.ALL);
         LOGGER.setUseParentHandlers(false);
-        try {
-            if (consoleHandler == null) {
-                consoleHandler = new ConsoleHandler();
-                consoleHandler.setLevel(verbose ? Level.FINE : Level.INFO);
-                consoleHandler.setFormatter(new SimpleFormatter());
-                LOGGER.addHandler(consoleHandler);
-            }
-
-            if (fileHandler != null) {
-                LOGGER.removeHandler(fileHandler);
+        for (Handler handler : LOGGER.getHandlers()) {
+            if (handler == CONTEXT_HANDLER) {
+                return;
             }
-
-            fileHandler = new FileHandler(logPath + "/client-debug%g.log",
-                    10_485_760L, 1,
-                    true);
-            fileHandler.setLevel(Level.ALL);
-            fileHandler.setFormatter(new SimpleFormatter());
-            LOGGER.addHandler(fileHandler);
-        } catch (Exception e) {
-            LOGGER.severe("Error: Logger couldn't be created");
         }
+        LOGGER.addHandler(CONTEXT_HANDLER);
     }
 
 }
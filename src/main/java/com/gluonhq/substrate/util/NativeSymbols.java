@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import com.gluonhq.substrate.model.Triplet;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The external symbols that an object file or a static archive defines, and the
+ * ones it references but leaves undefined. They are read with {@code nm}, or with
+ * {@code dumpbin} on Windows.
+ */
+public class NativeSymbols {
+
+    private final Set<String> defined = new HashSet<>();
+    private final Set<String> undefined = new HashSet<>();
+
+    private NativeSymbols() {
+    }
+
+    /**
+     * Reads the external symbols of an object file or a static archive
+     *
+     * @param file the path of the object file or the archive
+     * @return the symbols of the file
+     * @throws IOException if the symbols can't be read
+     * @throws InterruptedException
+     */
+    public static NativeSymbols read(Path file) throws IOException, InterruptedException {
+        boolean windows = Triplet.isWindowsHost();
+        ProcessRunner runner = windows ?
+                new ProcessRunner("dumpbin", "/nologo", "/symbols", file.toString()) :
+                new ProcessRunner("nm", "-P", "-g", file.toString());
+        runner.showSevereMessage(false);
+        int result = runner.runProcess("symbols-" + file.getFileName());
+        List<String> lines = runner.getResponses();
+        if (result != 0) {
+            throw new IOException("Error reading symbols of " + file + ": " +
+                    lines.stream().limit(5).collect(Collectors.joining("\n")));
+        }
+        return windows ? parseDumpbin(lines) : parseNm(lines);
+    }
+
+    /**
+     * Parses the output of {@code nm -P -g}, where each line contains
+     * the name of a symbol and its type, and archive members start with
+     * a header line like {@code libfoo.a[foo.o]:}
+     */
+    static NativeSymbols parseNm(List<String> lines) {
+        NativeSymbols symbols = new NativeSymbols();
+        for (String line : lines) {
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens.length < 2 || tokens[1].length() != 1) {
+                continue;
+            }
+            char type = tokens[1].charAt(0);
+            if (type == 'U') {
+                symbols.undefined.add(tokens[0]);
+            } else if (Character.isUpperCase(type)) {
+                symbols.defined.add(tokens[0]);
+            }
+            // lowercase types are local symbols, or weak undefined ones (w, v) that don't need to be resolved
+        }
+        symbols.undefined.removeAll(symbols.defined);
+        return symbols;
+    }
+
+    /**
+     * Parses the output of {@code dumpbin /symbols}, where external symbols
+     * look like {@code 008 00000000 UNDEF  notype ()    External     | name}
+     */
+    static NativeSymbols parseDumpbin(List<String> lines) {
+        NativeSymbols symbols = new NativeSymbols();
+        for (String line : lines) {
+            int separator = line.indexOf('|');
+            if (separator < 0 || !line.substring(0, separator).contains("External")) {
+                continue;
+            }
+            String name = line.substring(separator + 1).trim();
+            int decoration = name.indexOf(' ');
+            if (decoration > 0) {
+                name = name.substring(0, decoration);
+            }
+            if (line.contains(" UNDEF ")) {
+                symbols.undefined.add(name);
+            } else {
+                symbols.defined.add(name);
+            }
+        }
+        symbols.undefined.removeAll(symbols.defined);
+        return symbols;
+    }
+
+    public Set<String> getDefined() {
+        return Collections.unmodifiableSet(defined);
+    }
+
+    public Set<String> getUndefined() {
+        return Collections.unmodifiableSet(undefined);
+    }
+
+    /**
+     * Finds the archives that the linker needs: starting from the symbols that the
+     * given object files leave undefined, an archive is required if it defines any of
+     * them, and then its own undefined symbols have to be resolved too, until no more
+     * archives are required.
+     *
+     * @param objects the symbols of the object files that are always linked
+     * @param archives the symbols of the candidate archives, by name
+     * @return the names of the required archives, in the order of the candidates
+     */
+    public static List<String> findRequiredArchives(Collection<NativeSymbols> objects, Map<String, NativeSymbols> archives) {
+        Set<String> resolved = new HashSet<>();
+        Set<String> unresolved = new HashSet<>();
+        objects.forEach(o -> resolved.addAll(o.defined));
+        objects.forEach(o -> unresolved.addAll(o.undefined));
+        unresolved.removeAll(resolved);
+
+        Map<String, NativeSymbols> candidates = new LinkedHashMap<>(archives);
+        Set<String> required = new HashSet<>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Map.Entry<String, NativeSymbols> candidate : new ArrayList<>(candidates.entrySet())) {
+                NativeSymbols symbols = candidate.getValue();
+                if (symbols.defined.stream().anyMatch(unresolved::contains)) {
+                    required.add(candidate.getKey());
+                    candidates.remove(candidate.getKey());
+                    resolved.addAll(symbols.defined);
+                    unresolved.removeAll(symbols.defined);
+                    symbols.undefined.stream()
+                            .filter(s -> !resolved.contains(s))
+                            .forEach(unresolved::add);
+                    changed = true;
+                }
+            }
+        }
+        return archives.keySet().stream()
+                .filter(required::contains)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A content-addressed cache of compiled object files, shared by all the projects
+ * of the machine. Like ccache, the key of an object file is the SHA-256 of its
+ * preprocessed source, the identity of the compiler and the compiler flags, so
+ * the same source compiled by different projects resolves to the same entry.
+ *
+ * <pre>
+ * |-- objcache
+ *     |-- 3f
+ *         |-- 3fa2...e1        <!-- object file -->
+ * </pre>
+ *
+ * Entries are written atomically, so concurrent builds can share the cache, and
+ * the least recently used entries are removed when the cache grows over its limit.
+ */
+public class ObjectCache {
+
+    /**
+     * The default maximum size of the cache, in bytes
+     */
+    public static final long DEFAULT_MAX_SIZE = 512L * 1024 * 1024;
+
+    private final Path cachePath;
+
+    /**
+     * Creates an object cache stored in the given folder
+     *
+     * @param cachePath the folder of the cache
+     */
+    public ObjectCache(Path cachePath) {
+        this.cachePath = cachePath;
+    }
+
+    /**
+     * Returns the cache key of an object file
+     *
+     * @param preprocessedSource the output of the preprocessor for the source file
+     * @param compilerIdentity the version information of the compiler
+     * @param flags the compiler flags that affect the object file
+     * @return the key, as a hex string
+     * @throws IOException if the key can't be calculated
+     */
+    public static String key(String preprocessedSource, String compilerIdentity, List<String> flags) throws IOException {
+        List<String> values = new ArrayList<>();
+        values.add(compilerIdentity);
+        values.addAll(flags);
+        values.add(preprocessedSource);
+        return FileOps.calculateCheckSum(List.of(), values.toArray(new String[0]));
+    }
+
+    /**
+     * Copies the cached object file for the given key to the target path
+     *
+     * @param key the key of the object file
+     * @param target the path where the object file is copied
+     * @return true if the object file was found in the cache, false otherwise
+     * @throws IOException if the object file can't be copied
+     */
+    public boolean restore(String key, Path target) throws IOException {
+        Path entry = getEntry(key);
+        if (!Files.isRegularFile(entry)) {
+            return false;
+        }
+        // the entry can be removed by a concurrent build that trims the cache
+        try {
+            Files.copy(entry, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (NoSuchFileException e) {
+            if (Files.exists(entry)) {
+                throw e;
+            }
+            return false;
+        }
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException e) {
+            Logger.logDebug("Object cache entry " + entry + " was removed after it was restored");
+        }
+        return true;
+    }
+
+    /**
+     * Stores an object file in the cache under the given key
+     *
+     * @param key the key of the object file
+     * @param object the path of the object file
+     * @throws IOException if the object file can't be stored
+     */
+    public void store(String key, Path object) throws IOException {
+        Path entry = getEntry(key);
+        Files.createDirectories(entry.getParent());
+        Path tmp = Files.createTempFile(entry.getParent(), key, ".tmp");
+        try {
+            Files.copy(object, tmp, StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(tmp, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Removes the least recently used entries until the cache is not larger than the given size
+     *
+     * @param maxSize the maximum size of the cache, in bytes
+     * @throws IOException if the cache can't be read
+     */
+    public void trim(long maxSize) throws IOException {
+        if (!Files.isDirectory(cachePath)) {
+            return;
+        }
+        List<Path> entries;
+        try (Stream<Path> files = Files.walk(cachePath)) {
+            entries = files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        // entries can be removed by concurrent builds, that trim the cache too
+        Map<Path, Long> sizes = new HashMap<>();
+        long size = 0;
+        for (Path entry : entries) {
+            try {
+                long entrySize = Files.size(entry);
+                sizes.put(entry, entrySize);
+                size += entrySize;
+            } catch (NoSuchFileException e) {
+                Logger.logDebug("Object cache entry " + entry + " was already removed");
+            }
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        entries.retainAll(sizes.keySet());
+        entries.sort(Comparator.comparing(ObjectCache::lastModified));
+        for (Path entry : entries) {
+            if (size <= maxSize) {
+                break;
+            }
+            size -= sizes.get(entry);
+            Files.deleteIfExists(entry);
+        }
+    }
+
+    private Path getEntry(String key) {
+        return cachePath.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
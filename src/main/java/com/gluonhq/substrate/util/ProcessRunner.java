@@ -40,7 +40,6 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.Callable;
@@ -62,9 +61,7 @@ public class ProcessRunner {
     private boolean showSevere = true;
     private boolean logToFile;
     private boolean interactive;
-
-    private static Path processLogPath;
-    private static boolean consoleProcessLog;
+    private boolean timedOut;
 
     /**
      * Constructor, allowing some command line arguments
@@ -78,19 +75,16 @@ public class ProcessRunner {
     }
 
     /**
-     * Sets the path where the process logs will be created. If the
-     * path doesn't exist, it will be created.
+     * Sets the path where the process logs of the current build context
+     * will be created. If the path doesn't exist, it will be created.
      *
-     * This should be called once. If not set, the process won't be
+     * This should be called once per build. If not set, the process won't be
      * logged.
      *
      * @param path the path where the process logs will be created
      */
     public static void setProcessLogPath(Path path) throws IOException {
-        processLogPath = Objects.requireNonNull(path);
-        if (!Files.exists(processLogPath)) {
-            Files.createDirectories(processLogPath);
-        }
+        BuildContext.current().setProcessLogPath(path);
     }
 
     /**
@@ -98,13 +92,14 @@ public class ProcessRunner {
      * file, but also to console. Useful, for instance, in CI
      * environments without access to log files.
      *
-     * This should be called once.
+     * This should be called once per build, it applies to the
+     * current build context.
      *
      * @param value true if process is logged to console, false
      *              by default
      */
     public static void setConsoleProcessLog(boolean value) {
-        consoleProcessLog = value;
+        BuildContext.current().setConsoleProcessLog(value);
     }
 
     /**
@@ -287,6 +282,68 @@ public class ProcessRunner {
         return result;
     }
 
+    /**
+     * Runs a process with a given set of command line arguments, in a given
+     * working directory. If the process doesn't end within the given time frame,
+     * it is requested to terminate (allowing its shutdown hooks to run), and
+     * if it is still alive after a grace period of 10 seconds, it is killed.
+     *
+     * @param processName the name of the process
+     * @param workingDirectory a file with the working directory of the process
+     * @param timeout the maximum time in seconds allowed to run the process, or 0 to wait until it ends
+     * @return the exit value of the process
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public int runProcess(String processName, File workingDirectory, long timeout) throws IOException, InterruptedException {
+        timedOut = false;
+        if (timeout <= 0) {
+            return runProcess(processName, workingDirectory);
+        }
+        Process p = setupProcess(processName, workingDirectory);
+        Thread logThread = mergeProcessOutput(p.getInputStream());
+        if (!p.waitFor(timeout, TimeUnit.SECONDS)) {
+            Logger.logInfo("Process " + processName + " is still running after " + timeout + " seconds, stopping it");
+            timedOut = true;
+            p.destroy();
+            if (!p.waitFor(10, TimeUnit.SECONDS)) {
+                p.destroyForcibly();
+            }
+        }
+        int result = p.waitFor();
+        logThread.join();
+        Logger.logDebug("Result for " + processName + ": " + result);
+        if (logToFile || result != 0) {
+            logProcess(processName, "result: " + result, result != 0);
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the last process started with
+     * {@link #runProcess(String, File, long)} was stopped because it
+     * didn't end within the given time frame
+     *
+     * @return true if the process was stopped after the timeout
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Starts a process with a given set of command line arguments, without
+     * waiting for it to end. Its output is logged while it runs.
+     *
+     * @param processName the name of the process
+     * @return the process that was started
+     * @throws IOException
+     */
+    public Process startProcess(String processName) throws IOException {
+        Process p = setupProcess(processName, null);
+        mergeProcessOutput(p.getInputStream());
+        return p;
+    }
+
     /**
      * Gets the response of the process as single string
      *
@@ -408,6 +465,8 @@ public class ProcessRunner {
      * @throws IOException
      */
     private void logProcess(String processName, String result, boolean failure) throws IOException {
+        BuildContext context = BuildContext.current();
+        Path processLogPath = context.getProcessLogPath();
         if (processLogPath == null) {
             Logger.logSevere("Can't log " + processName + " process, processLogPath was null");
             return;
@@ -421,7 +480,7 @@ public class ProcessRunner {
         }
         String message = toString(processName, result);
         Files.write(log, message.getBytes());
-        if (consoleProcessLog) {
+        if (context.isConsoleProcessLog()) {
             Logger.logInfo(message);
         }
     }
@@ -30,6 +30,7 @@ package com.gluonhq.substrate.util;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
@@ -40,6 +41,8 @@ import java.util.regex.Pattern;
 public final class Strings {
 
     private static final Pattern substitutionPattern = Pattern.compile("\\$\\{(.+?)}");
+    private static final Pattern memorySizePattern = Pattern.compile("(\\d+)([kKmMgG]?)");
+
     /**
      * Replaces keys within the template with values using context function
      * Throws IllegalArgumentException if the key found in the template has no corresponding value
@@ -107,6 +110,44 @@ public final class Strings {
         return aString == null || aString.isBlank();
     }
 
+    /**
+     * Parses a memory size like 512m or 2g
+     *
+     * @param name the name of the option, for the error message
+     * @param value the memory size
+     * @return the size in bytes, or -1 if not set
+     * @throws IllegalArgumentException if the size is not valid, or doesn't fit in a long
+     */
+    public static long parseMemorySize(String name, String value) {
+        if (value == null || value.isEmpty()) {
+            return -1;
+        }
+        Matcher matcher = memorySizePattern.matcher(value);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value + ", use a size like 512m or 2g");
+        }
+        long multiplier;
+        switch (matcher.group(2).toLowerCase(Locale.ROOT)) {
+            case "g":
+                multiplier = 1024L * 1024 * 1024;
+                break;
+            case "m":
+                multiplier = 1024L * 1024;
+                break;
+            case "k":
+                multiplier = 1024L;
+                break;
+            default:
+                multiplier = 1L;
+                break;
+        }
+        try {
+            return Math.multiplyExact(Long.parseLong(matcher.group(1)), multiplier);
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value + ", the size is too large", e);
+        }
+    }
+
     public static String randomString(int targetStringLength) {
         int leftLimit = 97; // letter 'a'
         int rightLimit = 122; // letter 'z'
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util.calltree;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compact index of the call tree that native-image prints with
+ * {@code -H:+PrintAnalysisCallTree}, in a {@code call_tree_*.txt} report.
+ *
+ * The report is a tree where each reachable method is expanded once, and
+ * referenced by id afterwards. The index keeps the distinct methods and the
+ * call edges between them (including the overriding methods of virtual calls)
+ * as a graph, that can be stored in a small binary file and queried to find
+ * why a class is reachable, or which entry points reach a package.
+ */
+public class CallTreeIndex {
+
+    private static final int MAGIC = 0x43544958; // CTIX
+    private static final int VERSION = 1;
+
+    private static final Pattern NODE_PATTERN = Pattern.compile(
+            "^(entry|directly calls|virtually calls|interfacially calls|is overridden by) (.+)$");
+    private static final Pattern SUFFIX_PATTERN = Pattern.compile(" (id=|id-ref=|@bci=).*$");
+
+    private final String[] methods;
+    private final int[] entryPoints;
+    // edges in compressed sparse row format: the callees of method i are
+    // calleeTargets[calleeOffsets[i] .. calleeOffsets[i + 1]]
+    private final int[] calleeOffsets;
+    private final int[] calleeTargets;
+
+    private CallTreeIndex(String[] methods, int[] entryPoints, int[] calleeOffsets, int[] calleeTargets) {
+        this.methods = methods;
+        this.entryPoints = entryPoints;
+        this.calleeOffsets = calleeOffsets;
+        this.calleeTargets = calleeTargets;
+    }
+
+    /**
+     * Parses a call tree report
+     *
+     * @param report the path of the call_tree_*.txt file
+     * @return the index of the call tree
+     * @throws IOException if the file can't be read
+     */
+    public static CallTreeIndex parse(Path report) throws IOException {
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        Set<Integer> entries = new LinkedHashSet<>();
+        List<Set<Integer>> callees = new ArrayList<>();
+        List<Integer> stack = new ArrayList<>();
+        int entryLevel = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(report, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int start = 0;
+                while (start < line.length() && !Character.isLetter(line.charAt(start))) {
+                    start++;
+                }
+                Matcher matcher = NODE_PATTERN.matcher(line.substring(start));
+                if (!matcher.matches()) {
+                    continue;
+                }
+                // each level of the tree is indented by 4 characters, relative to the entry points
+                if ("entry".equals(matcher.group(1))) {
+                    entryLevel = start / 4;
+                }
+                int depth = start / 4 - entryLevel;
+                String method = SUFFIX_PATTERN.matcher(matcher.group(2)).replaceFirst("");
+                Integer id = ids.get(method);
+                if (id == null) {
+                    id = ids.size();
+                    ids.put(method, id);
+                    callees.add(new LinkedHashSet<>());
+                }
+                if (depth == 0) {
+                    entries.add(id);
+                } else if (depth > 0 && depth <= stack.size()) {
+                    callees.get(stack.get(depth - 1)).add(id);
+                }
+                while (stack.size() > depth) {
+                    stack.remove(stack.size() - 1);
+                }
+                stack.add(id);
+            }
+        }
+
+        int[] offsets = new int[ids.size() + 1];
+        for (int i = 0; i < ids.size(); i++) {
+            offsets[i + 1] = offsets[i] + callees.get(i).size();
+        }
+        int[] targets = new int[offsets[ids.size()]];
+        for (int i = 0, k = 0; i < ids.size(); i++) {
+            for (int target : callees.get(i)) {
+                targets[k++] = target;
+            }
+        }
+        return new CallTreeIndex(ids.keySet().toArray(new String[0]),
+                entries.stream().mapToInt(Integer::intValue).toArray(), offsets, targets);
+    }
+
+    /**
+     * Writes the index to a binary file
+     *
+     * @param path the path of the index file
+     * @throws IOException if the file can't be written
+     */
+    public void write(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(methods.length);
+            for (String method : methods) {
+                out.writeUTF(method);
+            }
+            writeInts(out, entryPoints);
+            writeInts(out, calleeOffsets);
+            writeInts(out, calleeTargets);
+        }
+    }
+
+    /**
+     * Reads an index that was written with {@link #write(Path)}
+     *
+     * @param path the path of the index file
+     * @return the index of the call tree
+     * @throws IOException if the file can't be read or is not a valid index
+     */
+    public static CallTreeIndex read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Invalid call tree index file: " + path);
+            }
+            String[] methods = new String[in.readInt()];
+            for (int i = 0; i < methods.length; i++) {
+                methods[i] = in.readUTF();
+            }
+            int[] entryPoints = readInts(in);
+            int[] offsets = readInts(in);
+            int[] targets = readInts(in);
+            if (offsets.length != methods.length + 1) {
+                throw new IOException("Invalid call tree index file: " + path);
+            }
+            return new CallTreeIndex(methods, entryPoints, offsets, targets);
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    public int getMethodCount() {
+        return methods.length;
+    }
+
+    public List<String> getEntryPoints() {
+        List<String> list = new ArrayList<>();
+        Arrays.stream(entryPoints).forEach(e -> list.add(methods[e]));
+        return list;
+    }
+
+    /**
+     * Finds the shortest call path from an entry point to a method of the
+     * given class. The main method is tried first, and then the rest of
+     * the entry points.
+     *
+     * @param className the fully qualified name of the class
+     * @return the list of methods from the entry point to the first method of
+     * the class, or an empty list if the class is not reachable
+     */
+    public List<String> whyReachable(String className) {
+        BitSet targets = new BitSet(methods.length);
+        for (int i = 0; i < methods.length; i++) {
+            if (className.equals(getDeclaringClass(methods[i]))) {
+                targets.set(i);
+            }
+        }
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+
+        int[] mainEntryPoints = Arrays.stream(entryPoints)
+                .filter(e -> methods[e].contains(".main(") && methods[e].contains("String[])"))
+                .toArray();
+        List<String> path = findPath(mainEntryPoints, targets);
+        return path.isEmpty() ? findPath(entryPoints, targets) : path;
+    }
+
+    // breadth-first search from all the given entry points at once
+    private List<String> findPath(int[] sources, BitSet targets) {
+        int[] parents = new int[methods.length];
+        Arrays.fill(parents, -2);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int source : sources) {
+            if (parents[source] == -2) {
+                parents[source] = -1;
+                queue.add(source);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            if (targets.get(current)) {
+                List<String> path = new ArrayList<>();
+                for (int m = current; m >= 0; m = parents[m]) {
+                    path.add(methods[m]);
+                }
+                Collections.reverse(path);
+                return path;
+            }
+            for (int k = calleeOffsets[current]; k < calleeOffsets[current + 1]; k++) {
+                int callee = calleeTargets[k];
+                if (parents[callee] == -2) {
+                    parents[callee] = current;
+                    queue.add(callee);
+                }
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Finds the entry points that reach methods of the given package or
+     * any of its subpackages
+     *
+     * @param packageName the name of the package
+     * @return a map of entry points and the number of methods of the package
+     * that each one reaches, sorted by that number
+     */
+    public Map<String, Integer> getEntryPointsFor(String packageName) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int entry : entryPoints) {
+            BitSet visited = new BitSet(methods.length);
+            Deque<Integer> queue = new ArrayDeque<>();
+            visited.set(entry);
+            queue.add(entry);
+            int count = 0;
+            while (!queue.isEmpty()) {
+                int current = queue.poll();
+                if (inPackage(getDeclaringClass(methods[current]), packageName)) {
+                    count++;
+                }
+                for (int k = calleeOffsets[current]; k < calleeOffsets[current + 1]; k++) {
+                    int callee = calleeTargets[k];
+                    if (!visited.get(callee)) {
+                        visited.set(callee);
+                        queue.add(callee);
+                    }
+                }
+            }
+            if (count > 0) {
+                counts.merge(methods[entry], count, Integer::sum);
+            }
+        }
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    private static boolean inPackage(String className, String packageName) {
+        return className.startsWith(packageName) &&
+                className.lastIndexOf('.') >= packageName.length() &&
+                (className.length() == packageName.length() || className.charAt(packageName.length()) == '.');
+    }
+
+    // com.example.Main.main(java.lang.String[]):void -> com.example.Main
+    static String getDeclaringClass(String method) {
+        int paren = method.indexOf('(');
+        String name = paren < 0 ? method : method.substring(0, paren);
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util.calltree;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line tool to query a call tree index:
+ *
+ * <pre>
+ * java -cp substrate.jar com.gluonhq.substrate.util.calltree.CallTreeQuery &lt;file&gt; why &lt;class&gt;
+ * java -cp substrate.jar com.gluonhq.substrate.util.calltree.CallTreeQuery &lt;file&gt; entrypoints &lt;package&gt;
+ * </pre>
+ *
+ * where the file is either an index, or a {@code call_tree_*.txt} report. In the latter
+ * case, the index is created next to the report, and reused while the report doesn't change.
+ */
+public class CallTreeQuery {
+
+    public static final String INDEX_EXTENSION = ".idx";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            printUsage();
+            System.exit(1);
+        }
+        CallTreeIndex index = load(Path.of(args[0]));
+        switch (args[1]) {
+            case "why":
+                List<String> path = index.whyReachable(args[2]);
+                if (path.isEmpty()) {
+                    System.out.println(args[2] + " is not reachable");
+                    System.exit(1);
+                }
+                for (int i = 0; i < path.size(); i++) {
+                    System.out.println("  ".repeat(i) + (i == 0 ? "entry " : "calls ") + path.get(i));
+                }
+                break;
+            case "entrypoints":
+                Map<String, Integer> entryPoints = index.getEntryPointsFor(args[2]);
+                if (entryPoints.isEmpty()) {
+                    System.out.println("No entry point reaches " + args[2]);
+                    System.exit(1);
+                }
+                entryPoints.forEach((entry, count) -> System.out.println(count + " methods: " + entry));
+                break;
+            default:
+                printUsage();
+                System.exit(1);
+        }
+    }
+
+    /**
+     * Loads the call tree index from an index file, or from a report. The index
+     * of a report is stored next to it, and only recreated when the report is newer.
+     *
+     * @param path the path of the index file or of the call_tree_*.txt report
+     * @return the call tree index
+     * @throws IOException if the files can't be read or written
+     */
+    public static CallTreeIndex load(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            throw new IOException("File not found: " + path);
+        }
+        String fileName = path.getFileName().toString();
+        if (fileName.endsWith(INDEX_EXTENSION)) {
+            return CallTreeIndex.read(path);
+        }
+        Path indexPath = path.resolveSibling(fileName.replaceFirst("\\.txt$", "") + INDEX_EXTENSION);
+        if (Files.exists(indexPath) &&
+                Files.getLastModifiedTime(indexPath).compareTo(Files.getLastModifiedTime(path)) >= 0) {
+            return CallTreeIndex.read(indexPath);
+        }
+        CallTreeIndex index = CallTreeIndex.parse(path);
+        index.write(indexPath);
+        return index;
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: CallTreeQuery <call_tree.txt|index" + INDEX_EXTENSION + "> why <class>");
+        System.out.println("       CallTreeQuery <call_tree.txt|index" + INDEX_EXTENSION + "> entrypoints <package>");
+    }
+}
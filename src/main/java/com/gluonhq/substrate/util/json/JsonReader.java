@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util.json;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pull parser for JSON documents. Tokens are read one by one from the
+ * underlying reader, so large documents, like arrays with many entries,
+ * can be processed element by element without loading the whole content.
+ *
+ * Values are returned as {@link String}, {@link Boolean}, {@link Long},
+ * {@link Double}, {@code null}, or, when reading a full value with
+ * {@link #readValue()}, as {@link List} and {@link LinkedHashMap}.
+ */
+public class JsonReader implements Closeable {
+
+    public enum Token {
+        BEGIN_ARRAY, END_ARRAY, BEGIN_OBJECT, END_OBJECT,
+        NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private enum Scope {
+        EMPTY_ARRAY, ARRAY, EMPTY_OBJECT, OBJECT, DANGLING_NAME, EMPTY_DOCUMENT, DOCUMENT
+    }
+
+    private final Reader in;
+    private final Deque<Scope> stack = new ArrayDeque<>();
+    private int pushedBack = -2;
+    private int line = 1;
+
+    private Token peeked;
+    private String peekedValue;
+
+    public JsonReader(Reader reader) {
+        this.in = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        stack.push(Scope.EMPTY_DOCUMENT);
+    }
+
+    /**
+     * Returns the type of the next token, without consuming it
+     *
+     * @return the next token
+     * @throws IOException if the content is not valid JSON
+     */
+    public Token peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+        Scope scope = stack.peek();
+        int c;
+        switch (scope) {
+            case EMPTY_ARRAY:
+                replaceTop(Scope.ARRAY);
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return setPeeked(Token.END_ARRAY, null);
+                }
+                pushBack(c);
+                break;
+            case ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return setPeeked(Token.END_ARRAY, null);
+                } else if (c != ',') {
+                    throw syntaxError("Expected ',' or ']'");
+                }
+                break;
+            case EMPTY_OBJECT:
+            case OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    return setPeeked(Token.END_OBJECT, null);
+                }
+                if (scope == Scope.OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("Expected ',' or '}'");
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Expected name");
+                }
+                replaceTop(Scope.DANGLING_NAME);
+                return setPeeked(Token.NAME, readString());
+            case DANGLING_NAME:
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("Expected ':'");
+                }
+                replaceTop(Scope.OBJECT);
+                break;
+            case EMPTY_DOCUMENT:
+                replaceTop(Scope.DOCUMENT);
+                break;
+            case DOCUMENT:
+                if (nextNonWhitespace() != -1) {
+                    throw syntaxError("Expected end of document");
+                }
+                return setPeeked(Token.END_DOCUMENT, null);
+            default:
+                throw new IllegalStateException("Unexpected scope " + scope);
+        }
+        return readValueToken();
+    }
+
+    /**
+     * Returns true if the current array or object has more elements
+     */
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_ARRAY && token != Token.END_OBJECT && token != Token.END_DOCUMENT;
+    }
+
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        stack.push(Scope.EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        stack.pop();
+    }
+
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        stack.push(Scope.EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        stack.pop();
+    }
+
+    public String nextName() throws IOException {
+        return expect(Token.NAME);
+    }
+
+    public String nextString() throws IOException {
+        return expect(Token.STRING);
+    }
+
+    public boolean nextBoolean() throws IOException {
+        return Boolean.parseBoolean(expect(Token.BOOLEAN));
+    }
+
+    public Number nextNumber() throws IOException {
+        String value = expect(Token.NUMBER);
+        try {
+            if (value.indexOf('.') < 0 && value.indexOf('e') < 0 && value.indexOf('E') < 0) {
+                return Long.parseLong(value);
+            }
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Invalid number " + value);
+        }
+    }
+
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+    }
+
+    /**
+     * Reads the next value, including all its nested content
+     *
+     * @return the value, where objects are returned as maps, and arrays as lists
+     * @throws IOException if the content is not valid JSON
+     */
+    public Object readValue() throws IOException {
+        switch (peek()) {
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                beginArray();
+                while (hasNext()) {
+                    list.add(readValue());
+                }
+                endArray();
+                return list;
+            case BEGIN_OBJECT:
+                Map<String, Object> map = new LinkedHashMap<>();
+                beginObject();
+                while (hasNext()) {
+                    String name = nextName();
+                    map.put(name, readValue());
+                }
+                endObject();
+                return map;
+            case STRING:
+                return nextString();
+            case NUMBER:
+                return nextNumber();
+            case BOOLEAN:
+                return nextBoolean();
+            case NULL:
+                nextNull();
+                return null;
+            default:
+                throw syntaxError("Expected a value but was " + peek());
+        }
+    }
+
+    /**
+     * Skips the next value, including all its nested content
+     */
+    public void skipValue() throws IOException {
+        readValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private Token readValueToken() throws IOException {
+        int c = nextNonWhitespace();
+        switch (c) {
+            case '[':
+                return setPeeked(Token.BEGIN_ARRAY, null);
+            case '{':
+                return setPeeked(Token.BEGIN_OBJECT, null);
+            case '"':
+                return setPeeked(Token.STRING, readString());
+            case 't':
+                readLiteral("rue");
+                return setPeeked(Token.BOOLEAN, "true");
+            case 'f':
+                readLiteral("alse");
+                return setPeeked(Token.BOOLEAN, "false");
+            case 'n':
+                readLiteral("ull");
+                return setPeeked(Token.NULL, null);
+            case -1:
+                throw syntaxError("Unexpected end of document");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    StringBuilder sb = new StringBuilder();
+                    while (c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+                        sb.append((char) c);
+                        c = read();
+                    }
+                    pushBack(c);
+                    return setPeeked(Token.NUMBER, sb.toString());
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private String expect(Token token) throws IOException {
+        Token next = peek();
+        if (next != token) {
+            throw syntaxError("Expected " + token + " but was " + next);
+        }
+        String value = peekedValue;
+        peeked = null;
+        peekedValue = null;
+        return value;
+    }
+
+    private Token setPeeked(Token token, String value) {
+        peeked = token;
+        peekedValue = value;
+        return token;
+    }
+
+    private void replaceTop(Scope scope) {
+        stack.pop();
+        stack.push(scope);
+    }
+
+    private String readString() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int c = read();
+            switch (c) {
+                case -1:
+                    throw syntaxError("Unterminated string");
+                case '"':
+                    return sb.toString();
+                case '\\':
+                    int escaped = read();
+                    switch (escaped) {
+                        case '"':
+                        case '\\':
+                        case '/':
+                            sb.append((char) escaped);
+                            break;
+                        case 'b': sb.append('\b'); break;
+                        case 'f': sb.append('\f'); break;
+                        case 'n': sb.append('\n'); break;
+                        case 'r': sb.append('\r'); break;
+                        case 't': sb.append('\t'); break;
+                        case 'u':
+                            char[] hex = new char[4];
+                            for (int i = 0; i < 4; i++) {
+                                int h = read();
+                                if (h == -1) {
+                                    throw syntaxError("Unterminated escape sequence");
+                                }
+                                hex[i] = (char) h;
+                            }
+                            try {
+                                sb.append((char) Integer.parseInt(new String(hex), 16));
+                            } catch (NumberFormatException e) {
+                                throw syntaxError("Invalid escape sequence \\u" + new String(hex));
+                            }
+                            break;
+                        default:
+                            throw syntaxError("Invalid escape sequence");
+                    }
+                    break;
+                default:
+                    sb.append((char) c);
+            }
+        }
+    }
+
+    private void readLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) {
+                throw syntaxError("Invalid literal");
+            }
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int c = read();
+        while (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+            c = read();
+        }
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        int c = in.read();
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void pushBack(int c) {
+        pushedBack = c;
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException(message + " at line " + line);
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util.json;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming writer for JSON documents. Values are written to the underlying
+ * writer as soon as they are added, using an indentation of two spaces.
+ */
+public class JsonWriter implements Closeable, Flushable {
+
+    private static final String INDENT = "  ";
+
+    private enum Scope {
+        EMPTY_ARRAY, ARRAY, EMPTY_OBJECT, OBJECT, DANGLING_NAME, EMPTY_DOCUMENT, DOCUMENT
+    }
+
+    private final Writer out;
+    private final Deque<Scope> stack = new ArrayDeque<>();
+
+    public JsonWriter(Writer writer) {
+        this.out = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        stack.push(Scope.EMPTY_DOCUMENT);
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        return open(Scope.EMPTY_ARRAY, '[');
+    }
+
+    public JsonWriter endArray() throws IOException {
+        return close(Scope.EMPTY_ARRAY, Scope.ARRAY, ']');
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        return open(Scope.EMPTY_OBJECT, '{');
+    }
+
+    public JsonWriter endObject() throws IOException {
+        return close(Scope.EMPTY_OBJECT, Scope.OBJECT, '}');
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        Scope scope = stack.peek();
+        if (scope == Scope.OBJECT) {
+            out.write(',');
+        } else if (scope != Scope.EMPTY_OBJECT) {
+            throw new IllegalStateException("Name not allowed in " + scope);
+        }
+        newLine();
+        writeString(name);
+        out.write(": ");
+        replaceTop(Scope.DANGLING_NAME);
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        out.write(value.toString());
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        out.write("null");
+        return this;
+    }
+
+    /**
+     * Writes a value and all its nested content. Supported types are the ones
+     * returned by {@link JsonReader#readValue()}: maps, lists, strings, numbers,
+     * booleans and null.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException if the value can't be written
+     */
+    public JsonWriter value(Object value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        } else if (value instanceof String) {
+            return value((String) value);
+        } else if (value instanceof Boolean) {
+            return value(((Boolean) value).booleanValue());
+        } else if (value instanceof Number) {
+            return value((Number) value);
+        } else if (value instanceof Map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                name(String.valueOf(entry.getKey()));
+                value(entry.getValue());
+            }
+            return endObject();
+        } else if (value instanceof List) {
+            beginArray();
+            for (Object element : (List<?>) value) {
+                value(element);
+            }
+            return endArray();
+        }
+        throw new IllegalArgumentException("Unsupported JSON value type " + value.getClass());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (stack.size() > 1 || stack.peek() != Scope.DOCUMENT) {
+            out.close();
+            throw new IOException("Incomplete document");
+        }
+        out.write('\n');
+        out.close();
+    }
+
+    private JsonWriter open(Scope scope, char bracket) throws IOException {
+        beforeValue();
+        stack.push(scope);
+        out.write(bracket);
+        return this;
+    }
+
+    private JsonWriter close(Scope empty, Scope nonEmpty, char bracket) throws IOException {
+        Scope scope = stack.peek();
+        if (scope != empty && scope != nonEmpty) {
+            throw new IllegalStateException("Nesting problem, can't close " + scope);
+        }
+        stack.pop();
+        if (scope == nonEmpty) {
+            newLine();
+        }
+        out.write(bracket);
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+        Scope scope = stack.peek();
+        switch (scope) {
+            case EMPTY_DOCUMENT:
+                replaceTop(Scope.DOCUMENT);
+                break;
+            case EMPTY_ARRAY:
+                replaceTop(Scope.ARRAY);
+                newLine();
+                break;
+            case ARRAY:
+                out.write(',');
+                newLine();
+                break;
+            case DANGLING_NAME:
+                replaceTop(Scope.OBJECT);
+                break;
+            default:
+                throw new IllegalStateException("Value not allowed in " + scope);
+        }
+    }
+
+    private void replaceTop(Scope scope) {
+        stack.pop();
+        stack.push(scope);
+    }
+
+    private void newLine() throws IOException {
+        out.write('\n');
+        for (int i = 1; i < stack.size(); i++) {
+            out.write(INDENT);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\b': out.write("\\b"); break;
+                case '\f': out.write("\\f"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
@@ -28,6 +28,82 @@
 #include <stdio.h>
 #include <math.h>
 
+#ifdef SUBSTRATE_CPU_DISPATCHER
+
+// Launcher for applications built with CPU variants: it runs the variant
+// for the highest x86-64 level that the CPU supports, named $appName-$level
+
+#include <limits.h>
+#include <string.h>
+#include <unistd.h>
+#ifdef __x86_64__
+#include <cpuid.h>
+#endif
+
+#ifdef __x86_64__
+// lzcnt, movbe and f16c are part of x86-64-v3, but older compilers don't
+// accept them in __builtin_cpu_supports, so they are read with cpuid
+static int supports_v3_extensions(void) {
+    unsigned int eax, ebx, ecx, edx;
+    if (!__get_cpuid(1, &eax, &ebx, &ecx, &edx) ||
+            !(ecx & (1u << 22)) || !(ecx & (1u << 29))) { // movbe, f16c
+        return 0;
+    }
+    return __get_cpuid(0x80000001, &eax, &ebx, &ecx, &edx) && (ecx & (1u << 5)); // lzcnt
+}
+#endif
+
+static int supports_level(const char* level) {
+#ifdef __x86_64__
+    if (strcmp(level, "x86-64-v4") == 0) {
+        return __builtin_cpu_supports("avx512f") && __builtin_cpu_supports("avx512bw") &&
+               __builtin_cpu_supports("avx512cd") && __builtin_cpu_supports("avx512dq") &&
+               __builtin_cpu_supports("avx512vl") && supports_level("x86-64-v3");
+    }
+    if (strcmp(level, "x86-64-v3") == 0) {
+        return __builtin_cpu_supports("avx") && __builtin_cpu_supports("avx2") &&
+               __builtin_cpu_supports("bmi") && __builtin_cpu_supports("bmi2") &&
+               __builtin_cpu_supports("fma") && supports_v3_extensions() &&
+               supports_level("x86-64-v2");
+    }
+    if (strcmp(level, "x86-64-v2") == 0) {
+        return __builtin_cpu_supports("sse3") && __builtin_cpu_supports("ssse3") &&
+               __builtin_cpu_supports("sse4.1") && __builtin_cpu_supports("sse4.2") &&
+               __builtin_cpu_supports("popcnt");
+    }
+#endif
+    return strcmp(level, "x86-64-v1") == 0 || strcmp(level, "x86-64") == 0;
+}
+
+int main(int argc, char* argv[]) {
+    static const char* variants[] = { SUBSTRATE_CPU_VARIANTS };
+    char self[PATH_MAX];
+    char path[PATH_MAX + 32];
+    ssize_t length = readlink("/proc/self/exe", self, sizeof(self) - 1);
+    if (length < 0) {
+        perror("readlink");
+        return 1;
+    }
+    self[length] = '\0';
+#ifdef __x86_64__
+    __builtin_cpu_init();
+#endif
+    for (size_t i = 0; i < sizeof(variants) / sizeof(variants[0]); i++) {
+        if (supports_level(variants[i])) {
+            snprintf(path, sizeof(path), "%s-%s", self, variants[i]);
+            #ifdef GVM_VERBOSE
+              fprintf(stderr, "Running %s\n", path);
+            #endif
+            execv(path, argv);
+            perror(path);
+        }
+    }
+    fprintf(stderr, "No variant of this application can run on this CPU\n");
+    return 1;
+}
+
+#else
+
 double pow_old(double x, double y) {
 #ifdef __amd64__
     __asm__(".symver pow_old,pow@GLIBC_2.2.5");
@@ -124,3 +200,4 @@ void Java_java_net_PlainDatagramSocketImpl_send0() {}
 
 #endif // AARCH64
 
+#endif // SUBSTRATE_CPU_DISPATCHER
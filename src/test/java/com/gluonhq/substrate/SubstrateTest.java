@@ -30,6 +30,7 @@ package com.gluonhq.substrate;
 import com.gluonhq.substrate.model.InternalProjectConfiguration;
 import com.gluonhq.substrate.model.Triplet;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -130,4 +131,21 @@ class SubstrateTest {
         config = new InternalProjectConfiguration(publicConfig);
         assertFalse(config.isUseJavaFX());
     }
+
+    @Test
+    void testExecuteFailedStep(@TempDir Path tempDir) throws IOException {
+        ProjectConfiguration publicConfig = new ProjectConfiguration("a.b.Foo", "");
+        publicConfig.setGraalPath(Path.of(System.getenv("GRAALVM_HOME")));
+        publicConfig.setTarget(Triplet.fromCurrentOS());
+        publicConfig.setAppName("Foo");
+        SubstrateDispatcher dispatcher = new SubstrateDispatcher(tempDir.resolve("build").resolve("client"), publicConfig);
+
+        // there is no object file to link: the step fails, but the JVM doesn't exit
+        BuildResult result = dispatcher.execute(SubstrateDispatcher.Step.LINK);
+        assertEquals(SubstrateDispatcher.Step.LINK, result.getStep());
+        assertFalse(result.isSuccess());
+        assertTrue(result.getArtifacts().isEmpty());
+        assertFalse(result.getDiagnostics().isEmpty());
+        assertTrue(result.getDiagnostics().stream().allMatch(d -> d.startsWith("SEVERE") || d.startsWith("WARNING")));
+    }
 }
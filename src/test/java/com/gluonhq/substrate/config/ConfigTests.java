@@ -27,20 +27,33 @@
  */
 package com.gluonhq.substrate.config;
 
+import com.gluonhq.substrate.model.ClassPathIndex;
 import com.gluonhq.substrate.util.FileOps;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ConfigTests {
 
@@ -143,4 +156,569 @@ class ConfigTests {
         assertFalse(userResourcesList.get(userResourcesList.size() - 1).endsWith(","));
     }
 
+    @Test
+    void testMergeReflection() throws IOException {
+        ClassConfigMerger merger = new ClassConfigMerger();
+        merger.addClassWithAllMembers("this.is.a.test");
+        resolver.mergeUserReflectionConfig("test", merger);
+        assertEquals(2, merger.size());
+        Map<String, Object> entry = merger.getEntry("this.is.a.test").orElseThrow();
+        assertEquals(true, entry.get("allDeclaredMethods"));
+        assertEquals(1, ((List<?>) entry.get("methods")).size());
+        assertTrue(merger.getEntry("this.is.a.target.test").isPresent());
+    }
+
+    @Test
+    void testMergeJNIFromDuplicatedJars() throws IOException, InterruptedException {
+        ConfigResolver resolver = new ConfigResolver(copyTestJar("substrate-tests1") + File.pathSeparator + copyTestJar("substrate-tests2"));
+        ClassConfigMerger merger = new ClassConfigMerger();
+        resolver.mergeUserJNIConfig("test", merger);
+        assertEquals(2, merger.size());
+        Map<String, Object> entry = merger.getEntry("this.is.a.test").orElseThrow();
+        assertEquals(1, ((List<?>) entry.get("methods")).size());
+
+        Path jniPath = Files.createTempDirectory("substrate-tests").resolve("jniconfig.json");
+        merger.write(jniPath);
+        ClassConfigMerger reloaded = new ClassConfigMerger();
+        reloaded.merge(Files.newInputStream(jniPath), jniPath.toString());
+        assertEquals(2, reloaded.size());
+    }
+
+    @Test
+    void testMergeResources() throws IOException, InterruptedException {
+        ConfigResolver resolver = new ConfigResolver(copyTestJar("substrate-tests1") + File.pathSeparator + copyTestJar("substrate-tests2"));
+        ResourceConfigMerger merger = new ResourceConfigMerger();
+        merger.addPattern(".*\\.ptn$");
+        resolver.mergeUserResourceConfig(null, merger);
+        assertEquals(List.of(".*\\.ptn$", "*.\\.tst$"), merger.getPatterns());
+        assertTrue(merger.getExcludePatterns().isEmpty());
+    }
+
+    @Test
+    void testMergeAgentConfig() throws IOException {
+        Path agentPath = Files.createTempDirectory("substrate-agent");
+        ClassConfigMerger merger = new ClassConfigMerger();
+        merger.addClass("com.example.Captured");
+        assertFalse(merger.merge(agentPath.resolve("reflect-config.json")));
+
+        Files.writeString(agentPath.resolve("reflect-config.json"), "[\n" +
+                "{\n  \"name\":\"com.example.Captured\",\n  \"methods\":[{\"name\":\"<init>\",\"parameterTypes\":[] }]\n},\n" +
+                "{\n  \"name\":\"com.example.Other\",\n  \"queryAllPublicMethods\":true\n}\n]\n");
+        assertTrue(merger.merge(agentPath.resolve("reflect-config.json")));
+        assertTrue(merger.merge(agentPath.resolve("reflect-config.json")));
+        assertEquals(2, merger.size());
+        assertEquals(1, ((List<?>) merger.getEntry("com.example.Captured").orElseThrow().get("methods")).size());
+        assertEquals(true, merger.getEntry("com.example.Other").orElseThrow().get("queryAllPublicMethods"));
+    }
+
+    @Test
+    void testReflectionAnalyzer() throws IOException {
+        Path classesPath = Files.createTempDirectory("substrate-tests");
+        copyClass(classesPath, AnalyzedMain.class);
+        copyClass(classesPath, AnalyzedController.class);
+        copyClass(classesPath, AnalyzedBaseController.class);
+        copyClass(classesPath, AnalyzedService.class);
+        Files.writeString(classesPath.resolve("main.fxml"),
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<?import javafx.scene.layout.VBox?>\n" +
+                "<VBox xmlns:fx=\"http://javafx.com/fxml\" fx:controller=\"" + AnalyzedController.class.getName() + "\">\n" +
+                "    <children>\n" +
+                "        <Button fx:id=\"button\" onAction=\"#onAction\"/>\n" +
+                "        <Label fx:id=\"label\"/>\n" +
+                "        <Label fx:id=\"missing\"/>\n" +
+                "    </children>\n" +
+                "</VBox>\n");
+
+        ClassConfigMerger merger;
+        ReflectionAnalyzer analyzer;
+        try (ClassPathIndex index = new ClassPathIndex(List.of(classesPath))) {
+            analyzer = new ReflectionAnalyzer(index, root -> true);
+            merger = analyzer.analyze(AnalyzedMain.class.getName());
+            analyzer.writeReport(classesPath.resolve("reports").resolve("report.txt"));
+        }
+
+        Map<String, Object> main = merger.getEntry(AnalyzedMain.class.getName()).orElseThrow();
+        assertFalse(main.containsKey("allDeclaredMethods"));
+        assertEquals(List.of(Map.of("name", "main", "parameterTypes", List.of("java.lang.String[]"))), main.get("methods"));
+
+        Map<String, Object> controller = merger.getEntry(AnalyzedController.class.getName()).orElseThrow();
+        assertEquals(List.of(Map.of("name", "button")), controller.get("fields"));
+        // an inherited field is registered on the class that declares it
+        Map<String, Object> baseController = merger.getEntry(AnalyzedBaseController.class.getName()).orElseThrow();
+        assertEquals(List.of(Map.of("name", "label")), baseController.get("fields"));
+        assertTrue(analyzer.getUnresolved().stream()
+                .anyMatch(s -> s.startsWith(AnalyzedController.class.getName() + ".missing (fx:id in ")));
+        String methods = controller.get("methods").toString();
+        assertTrue(methods.contains("<init>"));
+        assertTrue(methods.contains("initialize"));
+        assertTrue(methods.contains("onAction"));
+        assertFalse(methods.contains("unused"));
+
+        Map<String, Object> service = merger.getEntry(AnalyzedService.class.getName()).orElseThrow();
+        assertEquals(List.of(Map.of("name", "<init>", "parameterTypes", List.of())), service.get("methods"));
+        assertTrue(merger.getEntry("java.util.ArrayList").isPresent());
+
+        assertTrue(analyzer.getUnresolved().stream().anyMatch(s -> s.startsWith("FXML element Button")));
+        String report = Files.readString(classesPath.resolve("reports").resolve("report.txt"));
+        assertTrue(report.contains(AnalyzedController.class.getName() + " (controller of "));
+        assertTrue(report.contains("Total: "));
+    }
+
+    @Test
+    void testReflectionAnalyzerParameterTypes() throws IOException {
+        Path classesPath = Files.createTempDirectory("substrate-tests");
+        copyClass(classesPath, AnalyzedLookups.class);
+        copyClass(classesPath, AnalyzedController.class);
+        copyClass(classesPath, AnalyzedService.class);
+
+        ClassConfigMerger merger;
+        try (ClassPathIndex index = new ClassPathIndex(List.of(classesPath))) {
+            merger = new ReflectionAnalyzer(index, root -> true).analyze(AnalyzedLookups.class.getName());
+        }
+
+        // the class constants of the parameter types are not taken as the receiver of the lookup
+        assertFalse(merger.getEntry("java.lang.String").isPresent());
+        assertFalse(merger.getEntry("java.lang.Object").isPresent());
+        Map<String, Object> service = merger.getEntry(AnalyzedService.class.getName()).orElseThrow();
+        assertEquals(List.of(Map.of("name", "<init>", "parameterTypes", List.of("java.lang.String"))),
+                service.get("methods"));
+        Map<String, Object> controller = merger.getEntry(AnalyzedController.class.getName()).orElseThrow();
+        assertTrue(controller.get("methods").toString().contains("onAction"));
+    }
+
+    @Test
+    void testResourceSelector() throws IOException {
+        Path jarPath = Path.of(copyTestJar("substrate-tests"));
+        Path dirPath = Files.createTempDirectory("substrate-tests");
+        Files.createDirectories(dirPath.resolve("images"));
+        Files.writeString(dirPath.resolve("images").resolve("logo.png"), "png");
+        Files.writeString(dirPath.resolve("images").resolve("fixture.png"), "fixture");
+        Files.writeString(dirPath.resolve("data.bin"), "data");
+
+        try (ClassPathIndex index = new ClassPathIndex(List.of(dirPath, jarPath))) {
+            ResourceSelector selector = new ResourceSelector(index);
+            selector.addExtension("png");
+            selector.addExtension("txt");
+            selector.addIncludeRule(dirPath.getFileName() + "!.*\\.bin");
+            selector.addExcludeRule(".*fixture.*");
+            selector.addExcludeRule("substrate-test.jar!.*\\.txt");
+            List<String> patterns = selector.select();
+            assertEquals(List.of("\\Qdata.bin\\E", "\\Qimages/logo.png\\E"), patterns);
+            assertEquals(7, selector.getSelectedBytes());
+            assertEquals(List.of(".*fixture.*"), selector.getGlobalExcludePatterns());
+
+            Path reportPath = dirPath.resolve("reports").resolve("resources.txt");
+            selector.writeReport(reportPath);
+            assertTrue(Files.readString(reportPath).contains("Total: 2 resources, 7 bytes"));
+        }
+    }
+
+    @Test
+    void testResourceSelectorExcludeByName() throws IOException {
+        Path classpath = Files.createTempDirectory("substrate-tests");
+        for (String lib : List.of("liba", "libb")) {
+            Path images = Files.createDirectories(classpath.resolve(lib).resolve("images"));
+            Files.writeString(images.resolve("shared.png"), "shared");
+            Files.writeString(images.resolve(lib + ".png"), lib);
+        }
+        Files.writeString(classpath.resolve("libb").resolve("keep.bin"), "keep");
+        Files.writeString(classpath.resolve("libb").resolve("skip.bin"), "skip");
+
+        try (ClassPathIndex index = new ClassPathIndex(List.of(classpath.resolve("liba"), classpath.resolve("libb")))) {
+            ResourceSelector selector = new ResourceSelector(index);
+            selector.addExtension("png");
+            selector.addIncludeRule("(?!skip).*\\.bin");
+            // native-image would include the resource from libb too
+            selector.addExcludeRule("liba!images/shared\\.png");
+            assertEquals(List.of("\\Qimages/liba.png\\E", "\\Qimages/libb.png\\E", "\\Qkeep.bin\\E"),
+                    selector.select());
+            assertEquals(12, selector.getSelectedBytes());
+            assertTrue(selector.getGlobalExcludePatterns().isEmpty());
+        }
+    }
+
+    @Test
+    void testInitBuildTimeAdvisor() throws IOException {
+        Path classesPath = Files.createTempDirectory("substrate-tests");
+        for (Class<?> c : List.of(SafeInit.class, SafeInit.Helper.class, ThreadInit.class, TimeInit.class,
+                DependentInit.class, NativeInit.class)) {
+            copyClass(classesPath, c);
+        }
+        InitBuildTimeAdvisor advisor;
+        List<String> safe;
+        try (ClassPathIndex index = new ClassPathIndex(List.of(classesPath))) {
+            advisor = new InitBuildTimeAdvisor(index, root -> true);
+            safe = advisor.analyze();
+        }
+        assertEquals(List.of(SafeInit.class.getName()), safe);
+
+        Path initBuildTimePath = classesPath.resolve("gensrc").resolve("initbuildtime-test");
+        advisor.writeInitBuildTimeFile(initBuildTimePath);
+        assertEquals(List.of(SafeInit.class.getName()), Files.readAllLines(initBuildTimePath));
+
+        Path reportPath = classesPath.resolve("reports").resolve("initbuildtime-test.txt");
+        advisor.writeReport(reportPath);
+        String report = Files.readString(reportPath);
+        assertTrue(report.contains(ThreadInit.class.getName() + ": starts threads"));
+        assertTrue(report.contains(TimeInit.class.getName() + ": uses System.currentTimeMillis"));
+        assertTrue(report.contains(DependentInit.class.getName() + ": uses System.currentTimeMillis"));
+        assertTrue(report.contains(NativeInit.class.getName() + ": calls native method"));
+    }
+
+    @Test
+    void testInitBuildTimeAdvisorLambdas() throws IOException {
+        Path classesPath = Files.createTempDirectory("substrate-tests");
+        for (Class<?> c : List.of(SafeLambdaInit.class, LambdaFileInit.class, LambdaThreadInit.class,
+                ThreadStarter.class, CycleInit.class, CycleTimeInit.class)) {
+            copyClass(classesPath, c);
+        }
+        InitBuildTimeAdvisor advisor;
+        List<String> safe;
+        try (ClassPathIndex index = new ClassPathIndex(List.of(classesPath))) {
+            advisor = new InitBuildTimeAdvisor(index, root -> true);
+            safe = advisor.analyze();
+        }
+        assertEquals(List.of(SafeLambdaInit.class.getName()), safe);
+
+        Path reportPath = classesPath.resolve("reports").resolve("initbuildtime-test.txt");
+        advisor.writeReport(reportPath);
+        String report = Files.readString(reportPath);
+        assertTrue(report.contains(LambdaFileInit.class.getName() + ": uses java.nio.file.Path"));
+        assertTrue(report.contains(LambdaThreadInit.class.getName() + ": starts threads"));
+        assertTrue(report.contains(ThreadStarter.class.getName() + ": starts threads"));
+        assertTrue(report.contains(CycleInit.class.getName() + ": uses System.currentTimeMillis"));
+        assertTrue(report.contains(CycleTimeInit.class.getName() + ": uses System.currentTimeMillis"));
+    }
+
+    @Test
+    void testInitBuildTimeAdvisorVirtualCalls() throws IOException {
+        Path classesPath = Files.createTempDirectory("substrate-tests");
+        for (Class<?> c : List.of(SafeLambdaInit.class, BaseValue.class, TimeValue.class, OverrideInit.class,
+                Clock.class, SystemClock.class, InterfaceInit.class, ThreadTask.class, RunnableInit.class)) {
+            copyClass(classesPath, c);
+        }
+        InitBuildTimeAdvisor advisor;
+        List<String> safe;
+        try (ClassPathIndex index = new ClassPathIndex(List.of(classesPath))) {
+            advisor = new InitBuildTimeAdvisor(index, root -> true);
+            safe = advisor.analyze();
+        }
+        assertEquals(List.of(SafeLambdaInit.class.getName()), safe);
+
+        Path reportPath = classesPath.resolve("reports").resolve("initbuildtime-test.txt");
+        advisor.writeReport(reportPath);
+        String report = Files.readString(reportPath);
+        // the override of a subclass, the implementation of an interface, and a
+        // Runnable called through the JDK interface are checked
+        assertTrue(report.contains(OverrideInit.class.getName() + ": uses System.currentTimeMillis"));
+        assertTrue(report.contains(InterfaceInit.class.getName() + ": uses System.nanoTime"));
+        assertTrue(report.contains(RunnableInit.class.getName() + ": starts threads"));
+    }
+
+    @Test
+    void testImageSizeReport() throws IOException {
+        Path classesPath = Files.createTempDirectory("substrate-tests");
+        copyClass(classesPath, SafeInit.class);
+        Path dumpPath = classesPath.resolve("dashboard.dump");
+        String className = SafeInit.class.getName();
+        Files.writeString(dumpPath, "{\"code-breakdown\": {\"code-size\": [" +
+                "{\"name\": \"" + className + ".<clinit>()\", \"size\": 300000}," +
+                "{\"name\": \"java.lang.String.indexOf(int, int)\", \"size\": 1000}]}," +
+                "\"heap-breakdown\": {\"heap-size\": [" +
+                "{\"name\": \"java.lang.String[]\", \"size\": 2000, \"count\": 4}," +
+                "{\"name\": \"byte[]\", \"size\": 500, \"count\": 2}]}}");
+        Path buildOutputPath = classesPath.resolve("build-output.json");
+        Files.writeString(buildOutputPath, "{\"image_details\": {\"total_bytes\": 400000}}");
+
+        ImageSizeReport report;
+        try (ClassPathIndex index = new ClassPathIndex(List.of(classesPath))) {
+            report = ImageSizeReport.create(dumpPath, buildOutputPath, index);
+        }
+        assertEquals(400000, report.getTotalBytes());
+        assertEquals(301000, report.getCodeBytes());
+        assertEquals(2500, report.getHeapBytes());
+        String root = classesPath.getFileName().toString();
+        assertEquals(List.of(root, ImageSizeReport.JDK), List.copyOf(report.getJars().keySet()));
+        assertEquals(3000, report.getPackages().get("java.lang")[0] + report.getPackages().get("java.lang")[1]);
+        assertEquals(500, report.getPackages().get("")[1]);
+
+        Path jsonPath = classesPath.resolve("reports").resolve("size.json");
+        report.write(jsonPath);
+        ImageSizeReport previous = ImageSizeReport.read(jsonPath);
+        assertEquals(report.getTotalBytes(), previous.getTotalBytes());
+        assertTrue(report.diff(previous, 1).isEmpty());
+
+        Files.writeString(jsonPath, "{\"totalBytes\": 100000, \"jars\": {\"<jdk>\": [1000, 2500]}, " +
+                "\"packages\": {\"java.lang\": [1000, 2000], \"\": [0, 500]}}");
+        List<String> changes = report.diff(ImageSizeReport.read(jsonPath), 100 * 1024);
+        assertEquals(List.of("image grew by 0.3 MB (0.1 MB -> 0.4 MB)",
+                "jar " + root + " added 0.3 MB (code +0.3 MB, heap +0.0 MB)",
+                "package com.gluonhq.substrate.config added 0.3 MB (code +0.3 MB, heap +0.0 MB)"), changes);
+
+        Path reportPath = classesPath.resolve("reports").resolve("size.txt");
+        report.writeReport(reportPath);
+        assertTrue(Files.readString(reportPath).contains(root));
+
+        // without the dashboard, only the totals are reported and compared
+        ImageSizeReport totals = ImageSizeReport.create(null, buildOutputPath, null);
+        assertEquals(400000, totals.getTotalBytes());
+        assertFalse(totals.hasBreakdown());
+        assertTrue(totals.diff(report, 1).isEmpty());
+        Files.writeString(buildOutputPath, "{\"image_details\": {\"total_bytes\": 600000}}");
+        assertEquals(List.of("image grew by 0.2 MB (0.4 MB -> 0.6 MB)"),
+                ImageSizeReport.create(null, buildOutputPath, null).diff(report, 100 * 1024));
+    }
+
+    @Test
+    void testCharsetLocaleAnalyzer() throws IOException {
+        Path classesPath = Files.createTempDirectory("substrate-tests");
+        copyClass(classesPath, LocaleUser.class);
+        Path bundlePath = classesPath.resolve("com/example/messages_de_CH.properties");
+        Files.createDirectories(bundlePath.getParent());
+        Files.writeString(bundlePath, "hello=Hallo");
+
+        CharsetLocaleAnalyzer analyzer;
+        try (ClassPathIndex index = new ClassPathIndex(List.of(classesPath))) {
+            analyzer = new CharsetLocaleAnalyzer(index, root -> true);
+            analyzer.addLocales(List.of("pt_BR"));
+            analyzer.analyze(List.of("com.example.messages"));
+        }
+        assertEquals(Set.of("UTF-8", "ISO-8859-1"), analyzer.getCharsets());
+        assertFalse(analyzer.requiresAllCharsets());
+        assertEquals(Set.of("en", "fr-FR", "ja", "es-MX", "de-CH", "pt-BR"), analyzer.getLocales());
+        assertEquals(4, analyzer.getUnresolved().size());
+        assertEquals(List.of("-H:IncludeLocales=de-CH,en,es-MX,fr-FR,ja,pt-BR"), analyzer.getNativeImageArgs());
+
+        analyzer.addCharsets(List.of("cp1252"));
+        assertTrue(analyzer.requiresAllCharsets());
+        assertEquals("-H:+AddAllCharsets", analyzer.getNativeImageArgs().get(0));
+        assertThrows(IllegalArgumentException.class, () -> analyzer.addCharsets(List.of("no-such-charset")));
+
+        Path reportPath = classesPath.resolve("reports").resolve("charsets-locales-test.txt");
+        analyzer.writeReport(reportPath);
+        String report = Files.readString(reportPath);
+        assertTrue(report.contains("windows-1252 (charsets list)"));
+        assertTrue(report.contains("Charset.forName with non-constant name in " + LocaleUser.class.getName() + ".lookup"));
+        assertTrue(report.contains("String.getBytes with non-constant name in " + LocaleUser.class.getName() + ".encodeWith"));
+        assertTrue(report.contains("new String with non-constant name in " + LocaleUser.class.getName() + ".decodeWith"));
+        assertTrue(report.contains("new InputStreamReader with non-constant name in " + LocaleUser.class.getName() + ".reader"));
+        assertTrue(analyzer.getUnresolved().stream().noneMatch(u -> u.endsWith(".decodeLatin") || u.endsWith(".copy")));
+    }
+
+    static class LocaleUser {
+        static byte[] encode(String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+
+        static Charset latin() {
+            return Charset.forName("ISO-8859-1");
+        }
+
+        static Charset lookup(String name) {
+            return Charset.forName(name);
+        }
+
+        static byte[] encodeWith(String name) throws UnsupportedEncodingException {
+            return "text".getBytes(name);
+        }
+
+        static String decodeWith(byte[] bytes, String name) throws UnsupportedEncodingException {
+            return new String(bytes, name);
+        }
+
+        static String decodeLatin(byte[] bytes) throws UnsupportedEncodingException {
+            return new String(bytes, "ISO-8859-1");
+        }
+
+        static String copy(String text) {
+            return new String(text);
+        }
+
+        static Reader reader(InputStream is, String name) throws UnsupportedEncodingException {
+            return new InputStreamReader(is, name);
+        }
+
+        static List<Locale> locales() {
+            return List.of(Locale.FRANCE, Locale.forLanguageTag("ja"), new Locale("es", "MX"));
+        }
+    }
+
+    static class SafeInit {
+        static final Map<String, Integer> VALUES = new java.util.HashMap<>();
+        static final String NAME = "safe" + VALUES.size();
+
+        static {
+            VALUES.put("one", Helper.compute(1));
+        }
+
+        static class Helper {
+            static int compute(int value) {
+                return Math.max(value, 0) * 2;
+            }
+        }
+    }
+
+    static class ThreadInit {
+        static {
+            new Thread(() -> { }).start();
+        }
+    }
+
+    static class TimeInit {
+        static final long START = System.currentTimeMillis();
+    }
+
+    static class DependentInit {
+        static final long START = TimeInit.START + 1;
+    }
+
+    static class SafeLambdaInit {
+        static final Function<Integer, Integer> TWICE = value -> value * 2;
+        static final int VALUE = TWICE.apply(21);
+    }
+
+    static class LambdaFileInit {
+        static final Supplier<Boolean> HOSTNAME = () -> Files.exists(Path.of("/etc/hostname"));
+        static final boolean HAS_HOSTNAME = HOSTNAME.get();
+    }
+
+    static class LambdaThreadInit {
+        static {
+            Runnable starter = () -> new Thread(() -> { }).start();
+            starter.run();
+        }
+    }
+
+    static class ThreadStarter {
+        static final Runnable STARTER = ThreadStarter::start;
+
+        static {
+            STARTER.run();
+        }
+
+        private static void start() {
+            new Thread(() -> { }).start();
+        }
+    }
+
+    static class BaseValue {
+        int value() {
+            return 1;
+        }
+    }
+
+    static class TimeValue extends BaseValue {
+        @Override
+        int value() {
+            return (int) System.currentTimeMillis();
+        }
+    }
+
+    static class OverrideInit {
+        static final BaseValue SOURCE = new TimeValue();
+        static final int VALUE = SOURCE.value();
+    }
+
+    interface Clock {
+        long now();
+    }
+
+    static class SystemClock implements Clock {
+        @Override
+        public long now() {
+            return System.nanoTime();
+        }
+    }
+
+    static class InterfaceInit {
+        static final Clock CLOCK = new SystemClock();
+        static final long START = CLOCK.now();
+    }
+
+    static class ThreadTask implements Runnable {
+        @Override
+        public void run() {
+            new Thread(() -> { }).start();
+        }
+    }
+
+    static class RunnableInit {
+        static {
+            Runnable task = new ThreadTask();
+            task.run();
+        }
+    }
+
+    static class CycleInit {
+        static int value = CycleTimeInit.value + 1;
+    }
+
+    static class CycleTimeInit {
+        static int value = CycleInit.value + 1;
+        static final long START = System.currentTimeMillis();
+    }
+
+    static class NativeInit {
+        static final int VALUE = nativeValue();
+
+        private static native int nativeValue();
+    }
+
+    private static void copyClass(Path classesPath, Class<?> c) throws IOException {
+        String name = c.getName().replace('.', '/') + ".class";
+        Path path = classesPath.resolve(name);
+        Files.createDirectories(path.getParent());
+        try (InputStream is = ConfigTests.class.getResourceAsStream("/" + name)) {
+            assertNotNull(is);
+            Files.copy(is, path);
+        }
+    }
+
+    static class AnalyzedMain {
+        public static void main(String[] args) throws ReflectiveOperationException {
+            Class.forName("com.gluonhq.substrate.config.ConfigTests$AnalyzedService").getDeclaredConstructor().newInstance();
+            Class.forName("java.util.ArrayList");
+        }
+
+        public void notUsed() {
+        }
+    }
+
+    static class AnalyzedLookups {
+        public static void main(String[] args) throws ReflectiveOperationException {
+            AnalyzedService.class.getDeclaredConstructor(String.class).newInstance("name");
+            AnalyzedController.class.getDeclaredMethod("onAction", Object.class);
+        }
+    }
+
+    static class AnalyzedBaseController {
+        protected Object label;
+    }
+
+    static class AnalyzedController extends AnalyzedBaseController {
+        private Object button;
+        private Object other;
+
+        public void initialize() {
+        }
+
+        void onAction(Object event) {
+        }
+
+        void unused() {
+        }
+    }
+
+    static class AnalyzedService {
+        AnalyzedService() {
+        }
+
+        AnalyzedService(String name) {
+        }
+    }
+
+    private static String copyTestJar(String dir) throws IOException {
+        Path jarPath = Files.createTempDirectory(dir).resolve("substrate-test.jar");
+        return FileOps.copyResource("/substrate-test.jar", jarPath).toString();
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BuildManifestTests {
+
+    @Test
+    public void testEmptyManifest() throws IOException {
+        Path dir = Files.createTempDirectory("substrate-tests");
+        BuildManifest manifest = BuildManifest.load(dir.resolve("build-manifest.properties"));
+        assertTrue(manifest.getPath(BuildManifest.OBJECT_FILE).isEmpty());
+        assertTrue(manifest.getValue("any").isEmpty());
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        Path dir = Files.createTempDirectory("substrate-tests");
+        Path objectFile = Files.createFile(dir.resolve("main.o"));
+        Path manifestPath = dir.resolve("gvm").resolve("build-manifest.properties");
+
+        BuildManifest manifest = BuildManifest.load(manifestPath);
+        manifest.putPath(BuildManifest.OBJECT_FILE, objectFile);
+        manifest.putValue("linkTime", "1234");
+        manifest.save();
+
+        BuildManifest loaded = BuildManifest.load(manifestPath);
+        assertEquals(objectFile.toAbsolutePath(), loaded.getPath(BuildManifest.OBJECT_FILE).orElseThrow());
+        assertEquals("1234", loaded.getValue("linkTime").orElseThrow());
+
+        loaded.remove("linkTime");
+        assertTrue(loaded.getValue("linkTime").isEmpty());
+    }
+
+    @Test
+    public void testMissingFile() throws IOException {
+        Path dir = Files.createTempDirectory("substrate-tests");
+        BuildManifest manifest = BuildManifest.load(dir.resolve("build-manifest.properties"));
+        manifest.putPath(BuildManifest.LLVM_OBJECT_FILE, dir.resolve("llvm.o"));
+        assertFalse(manifest.getPath(BuildManifest.LLVM_OBJECT_FILE).isPresent());
+    }
+}
@@ -122,4 +122,25 @@ public class ClassPathTests {
         assertEquals(3, jars.size());
     }
 
+    @Test
+    public void testClassPathIndex() throws IOException {
+        Path jarPath = FileOps.copyResource("/substrate-test.jar",
+                Files.createTempDirectory("substrate-tests").resolve("substrate-test.jar"));
+        Path dirPath = Files.createTempDirectory("substrate-tests");
+        Files.writeString(dirPath.resolve("test-resource.txt"), "from directory");
+        var cp = dirPath + PS + jarPath + PS + "notfound.jar";
+        try (ClassPathIndex index = new ClassPathIndex(cp, null)) {
+            assertEquals(3, index.getRoots().size());
+            assertEquals(2, index.getEntries(name -> name.equals("test-resource.txt")).size());
+            var entry = index.find("test-resource.txt").orElseThrow();
+            assertEquals(dirPath, entry.getRoot());
+            assertEquals(14, entry.getSize());
+            var jarEntry = index.find("META-INF/substrate/config/initbuildtime").orElseThrow();
+            assertEquals(jarPath, jarEntry.getRoot());
+            try (var is = index.open(jarEntry)) {
+                assertEquals(14, is.readAllBytes().length);
+            }
+            assertFalse(index.findClass("com.example.Missing").isPresent());
+        }
+    }
 }
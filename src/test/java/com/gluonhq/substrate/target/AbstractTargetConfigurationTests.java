@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.target;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AbstractTargetConfigurationTests {
+
+    @Test
+    void testWholeArchive() {
+        assertEquals(Optional.of("glass.lib"), AbstractTargetConfiguration.getWholeArchive("/WHOLEARCHIVE:glass.lib"));
+        assertEquals(Optional.of("glass.lib"), AbstractTargetConfiguration.getWholeArchive("/wholearchive:glass.lib"));
+        assertEquals(Optional.of("/opt/javafx/lib/libglass.a"),
+                AbstractTargetConfiguration.getWholeArchive("-Wl,-force_load,/opt/javafx/lib/libglass.a"));
+        assertEquals(Optional.empty(), AbstractTargetConfiguration.getWholeArchive("glass.lib"));
+        assertEquals(Optional.empty(), AbstractTargetConfiguration.getWholeArchive("-lglass"));
+        assertEquals(Optional.empty(), AbstractTargetConfiguration.getWholeArchive("/LIBPATH:C:\\javafx\\lib"));
+    }
+
+    @Test
+    void testConfigurationFiles() {
+        List<String> command = List.of("native-image",
+                "-H:ReflectionConfigurationFiles=/build/gvm/reflectionconfig-x86_64-linux.json",
+                "-H:JNIConfigurationFiles=/build/gvm/jniconfig-x86_64-linux.json",
+                "-H:ResourceConfigurationFiles=/build/gvm/resourceconfig-x86_64-linux.json",
+                "-H:DynamicProxyConfigurationFiles=/app/proxy-config.json,/agent/proxy-config.json",
+                "-H:SerializationConfigurationFiles=/agent/serialization-config.json",
+                "-H:+SharedLibrary", "-H:IncludeResourceBundles=a.b.Bundle", "a.b.Foo");
+        assertEquals(List.of(Path.of("/build/gvm/reflectionconfig-x86_64-linux.json"),
+                Path.of("/build/gvm/jniconfig-x86_64-linux.json"),
+                Path.of("/build/gvm/resourceconfig-x86_64-linux.json"),
+                Path.of("/app/proxy-config.json"), Path.of("/agent/proxy-config.json"),
+                Path.of("/agent/serialization-config.json")),
+                AbstractTargetConfiguration.getConfigurationFiles(command));
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.target;
+
+import com.gluonhq.substrate.Constants;
+import com.gluonhq.substrate.ProjectConfiguration;
+import com.gluonhq.substrate.model.BuildManifest;
+import com.gluonhq.substrate.model.InternalProjectConfiguration;
+import com.gluonhq.substrate.model.ProcessPaths;
+import com.gluonhq.substrate.model.Triplet;
+import com.gluonhq.substrate.util.Version;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class LinuxTargetConfigurationTests {
+
+    private static ProjectConfiguration createProjectConfiguration() {
+        ProjectConfiguration publicConfig = new ProjectConfiguration("a.b.Foo", "");
+        publicConfig.setGraalPath(Path.of(System.getenv("GRAALVM_HOME")));
+        publicConfig.setTarget(Triplet.fromCurrentOS());
+        publicConfig.setAppName("Foo");
+        return publicConfig;
+    }
+
+    private static LinuxTargetConfiguration createConfiguration(Path tempDir) throws IOException {
+        return createConfiguration(tempDir, createProjectConfiguration());
+    }
+
+    private static LinuxTargetConfiguration createConfiguration(Path tempDir, ProjectConfiguration publicConfig)
+            throws IOException {
+        return createConfiguration(tempDir, publicConfig, null, null);
+    }
+
+    /*
+     * Creates a configuration where only the given linkers are available, recording the probed
+     * linkers, or a configuration that probes the compiler of the host if availableLinkers is null
+     */
+    private static LinuxTargetConfiguration createConfiguration(Path tempDir, ProjectConfiguration publicConfig,
+            Set<String> availableLinkers, List<String> probedLinkers) throws IOException {
+        assumeTrue(Constants.OS_LINUX.equals(Triplet.fromCurrentOS().getOs()));
+        InternalProjectConfiguration config = new InternalProjectConfiguration(publicConfig);
+        ProcessPaths paths = new ProcessPaths(tempDir.resolve("build").resolve("client"),
+                Triplet.fromCurrentOS().getArchOs());
+        if (availableLinkers == null) {
+            return new LinuxTargetConfiguration(paths, config);
+        }
+        return new LinuxTargetConfiguration(paths, config) {
+            @Override
+            boolean isLinkerAvailable(String linker) {
+                probedLinkers.add(linker);
+                return availableLinkers.contains(linker);
+            }
+        };
+    }
+
+    @Test
+    void testBaseLayerLibraryNextToExecutable(@TempDir Path tempDir) throws IOException {
+        LinuxTargetConfiguration configuration = createConfiguration(tempDir);
+        assertTrue(configuration.getBaseLayerLinkFlags().isEmpty());
+
+        Path layerDir = Files.createDirectories(tempDir.resolve("layers").resolve("base"));
+        Files.writeString(layerDir.resolve(AbstractTargetConfiguration.getBaseLayerLibraryName()), "layer");
+        BuildManifest manifest = configuration.getBuildManifest();
+        manifest.putPath(BuildManifest.BASE_LAYER, layerDir);
+        manifest.save();
+
+        // the executable finds the library in its own directory, not in the cache of the user
+        List<String> flags = configuration.getBaseLayerLinkFlags();
+        assertEquals(List.of("-L" + layerDir, "-l" + Constants.BASE_LAYER_LIB, "-Wl,-rpath,$ORIGIN"), flags);
+
+        Path app = Files.writeString(configuration.paths.getAppPath().resolve("Foo"), "app");
+        assertEquals(List.of(app), configuration.getAppFiles(app));
+        configuration.copyBaseLayerLibrary(app);
+        Path library = app.resolveSibling(AbstractTargetConfiguration.getBaseLayerLibraryName());
+        assertEquals("layer", Files.readString(library));
+        assertEquals(List.of(app, library), configuration.getAppFiles(app));
+    }
+
+    @Test
+    void testFailedBaseLayerLeavesNoDirectories(@TempDir Path tempDir) throws IOException, InterruptedException {
+        LinuxTargetConfiguration configuration = createConfiguration(tempDir);
+        Path layersPath = tempDir.resolve("layers");
+        Path layerDir = layersPath.resolve("base");
+        assertFalse(configuration.createBaseLayer(layerDir, List.of("--invalid-substrate-option"), List.of()));
+        assertFalse(Files.exists(layerDir));
+        try (Stream<Path> files = Files.list(layersPath)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testCpuVariants(@TempDir Path tempDir) throws IOException {
+        assumeTrue(Constants.ARCH_AMD64.equals(Triplet.fromCurrentOS().getArch()));
+        assertTrue(createConfiguration(tempDir).getCpuVariants().isEmpty());
+
+        ProjectConfiguration publicConfig = createProjectConfiguration();
+        publicConfig.setCpuVariants(List.of("x86-64", "x86-64-v3"));
+        LinuxTargetConfiguration configuration = createConfiguration(tempDir, publicConfig);
+        // x86-64 is the alias of the baseline level
+        Path app = Files.writeString(configuration.paths.getAppPath().resolve("Foo"), "launcher");
+        Path v3 = Files.writeString(app.resolveSibling("Foo-x86-64-v3"), "v3");
+        Path baseline = Files.writeString(app.resolveSibling("Foo-x86-64-v1"), "baseline");
+        Files.writeString(app.resolveSibling("Foo-x86-64-v4"), "stale");
+        assertEquals(List.of(app, baseline, v3), configuration.getAppFiles(app));
+
+        // -march is only available since GraalVM 23.0
+        if (configuration.projectConfiguration.getGraalVersion().compareTo(new Version(23, 0, 0)) < 0) {
+            assertTrue(configuration.getCpuVariants().isEmpty());
+            return;
+        }
+        // the launcher tries the variants from the highest level
+        assertEquals(List.of("x86-64-v3", "x86-64-v1"), configuration.getCpuVariants());
+        publicConfig.setCpuVariants(List.of("x86-64-v1", "x86-64-v2"));
+        assertEquals(List.of("x86-64-v2", "x86-64-v1"), createConfiguration(tempDir, publicConfig).getCpuVariants());
+
+        publicConfig.setCpuVariants(List.of("haswell"));
+        LinuxTargetConfiguration invalid = createConfiguration(tempDir, publicConfig);
+        assertThrows(IllegalArgumentException.class, invalid::getCpuVariants);
+    }
+
+    @Test
+    void testFuseLinkerSelection(@TempDir Path tempDir) throws IOException, InterruptedException {
+        // the fastest available linker is selected, and the compiler is only probed once
+        List<String> probed = new ArrayList<>();
+        LinuxTargetConfiguration configuration = createConfiguration(tempDir, createProjectConfiguration(),
+                Set.of("lld", "gold"), probed);
+        assertEquals(Optional.of("lld"), configuration.getFuseLinker());
+        assertEquals(Optional.of("lld"), configuration.getFuseLinker());
+        assertEquals(List.of("mold", "lld"), probed);
+        assertEquals(Optional.of("lld"), configuration.getBuildManifest().getValue(BuildManifest.LINKER));
+
+        // without a fast linker, the default linker of the system is used, and the result is kept too
+        probed.clear();
+        configuration = createConfiguration(tempDir, createProjectConfiguration(), Set.of("gold"), probed);
+        assertEquals(Optional.empty(), configuration.getFuseLinker());
+        assertEquals(Optional.empty(), configuration.getFuseLinker());
+        assertEquals(List.of("mold", "lld"), probed);
+        assertEquals(Optional.of("default"), configuration.getBuildManifest().getValue(BuildManifest.LINKER));
+
+        // a linker set in the project is used without probing
+        probed.clear();
+        ProjectConfiguration publicConfig = createProjectConfiguration();
+        publicConfig.setLinker("gold");
+        configuration = createConfiguration(tempDir, publicConfig, Set.of(), probed);
+        assertEquals(Optional.of("gold"), configuration.getFuseLinker());
+        publicConfig.setLinker("default");
+        configuration = createConfiguration(tempDir, publicConfig, Set.of("mold"), probed);
+        assertEquals(Optional.empty(), configuration.getFuseLinker());
+        assertTrue(probed.isEmpty());
+
+        publicConfig.setLinker("ld.fast");
+        LinuxTargetConfiguration invalid = createConfiguration(tempDir, publicConfig, Set.of(), probed);
+        assertThrows(IllegalArgumentException.class, invalid::getFuseLinker);
+    }
+
+    @Test
+    void testStaticMuslFlags(@TempDir Path tempDir) throws IOException, InterruptedException {
+        assumeTrue(Constants.ARCH_AMD64.equals(Triplet.fromCurrentOS().getArch()));
+        ProjectConfiguration publicConfig = createProjectConfiguration();
+        publicConfig.setStaticMusl(true);
+        LinuxTargetConfiguration configuration = createConfiguration(tempDir, publicConfig, Set.of(), new ArrayList<>());
+
+        Path toolchain = Files.createDirectories(tempDir.resolve("musl").resolve("bin"));
+        assertThrows(IOException.class, () -> configuration.checkStaticMusl(toolchain.toString()));
+
+        Path compiler = Files.writeString(toolchain.resolve("musl-gcc"), "#!/bin/sh");
+        assertTrue(compiler.toFile().setExecutable(true));
+        configuration.checkStaticMusl(tempDir.resolve("missing") + File.pathSeparator + toolchain);
+        assertEquals(compiler.toString(), configuration.getCompiler());
+        assertEquals(compiler.toString(), configuration.getLinker());
+        assertEquals(List.of("--static", "--libc=musl", "-H:CCompilerPath=" + compiler),
+                configuration.getTargetSpecificAOTCompileFlags());
+
+        List<String> linkFlags = configuration.getTargetSpecificLinkFlags(false, false);
+        assertTrue(linkFlags.contains("-static"));
+        assertFalse(linkFlags.contains("-rdynamic"));
+        assertFalse(configuration.getOtherStaticLibs().contains("stdc++"));
+
+        // a dynamic build is not affected
+        LinuxTargetConfiguration dynamic = createConfiguration(tempDir, createProjectConfiguration(), Set.of(), new ArrayList<>());
+        List<String> dynamicFlags = dynamic.getTargetSpecificLinkFlags(false, false);
+        assertTrue(dynamicFlags.contains("-rdynamic"));
+        assertFalse(dynamicFlags.contains("-static"));
+        assertTrue(dynamic.getOtherStaticLibs().contains("stdc++"));
+    }
+
+    @Test
+    void testStaticMuslUnsupportedProjects(@TempDir Path tempDir) throws IOException {
+        ProjectConfiguration publicConfig = createProjectConfiguration();
+        publicConfig.setStaticMusl(true);
+        // the project is rejected before looking for the toolchain
+        LinuxTargetConfiguration javafx = createConfiguration(tempDir, publicConfig);
+        javafx.projectConfiguration.setUseJavaFX(true);
+        assertThrows(IllegalArgumentException.class, () -> javafx.checkStaticMusl(""));
+
+        LinuxTargetConfiguration sharedLibrary = createConfiguration(tempDir, publicConfig);
+        sharedLibrary.projectConfiguration.setSharedLibrary(true);
+        assertThrows(IllegalArgumentException.class, () -> sharedLibrary.checkStaticMusl(""));
+
+        publicConfig.setUseLayers(true);
+        LinuxTargetConfiguration layers = createConfiguration(tempDir, publicConfig);
+        assertThrows(IllegalArgumentException.class, () -> layers.checkStaticMusl(""));
+    }
+
+    @Test
+    void testStaticExecutableCheck() {
+        assertEquals(List.of("readelf", "-l", "-d", "/tmp/app/Foo"),
+                List.of(LinuxTargetConfiguration.getReadelfArguments("/tmp/app/Foo")));
+
+        List<String> staticOutput = List.of(
+                "Elf file type is EXEC (Executable file)",
+                "Program Headers:",
+                "  LOAD           0x0000000000000000 0x0000000000400000 0x0000000000400000",
+                "There is no dynamic section in this file.");
+        assertTrue(LinuxTargetConfiguration.getDynamicDependencies(staticOutput).isEmpty());
+
+        List<String> dynamicOutput = List.of(
+                "Elf file type is DYN (Position-Independent Executable file)",
+                "  INTERP         0x0000000000000318 0x0000000000000318 0x0000000000000318",
+                "      [Requesting program interpreter: /lib64/ld-linux-x86-64.so.2]",
+                "Dynamic section at offset 0x2dc8 contains 27 entries:",
+                " 0x0000000000000001 (NEEDED)             Shared library: [libc.so.6]",
+                " 0x000000000000000c (INIT)               0x1000");
+        assertEquals(List.of("[Requesting program interpreter: /lib64/ld-linux-x86-64.so.2]",
+                "0x0000000000000001 (NEEDED)             Shared library: [libc.so.6]"),
+                LinuxTargetConfiguration.getDynamicDependencies(dynamicOutput));
+    }
+}
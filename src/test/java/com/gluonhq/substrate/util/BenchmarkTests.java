@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import com.gluonhq.substrate.model.Triplet;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BenchmarkTests {
+
+    private static List<String> command(String... args) {
+        return Triplet.isWindowsHost() ? List.of("cmd", "/c", "echo", "hello") : List.of(args);
+    }
+
+    @Test
+    void testRun() throws IOException, InterruptedException {
+        Benchmark benchmark = new Benchmark(command("sh", "-c", "echo hello; sleep 0.2"));
+        benchmark.setRuns(3);
+        benchmark.setWarmupRuns(1);
+        Benchmark.Result result = benchmark.run();
+
+        assertEquals(1, result.getVariants().size());
+        double startup = result.getValue(Benchmark.WARM, Benchmark.STARTUP).orElseThrow();
+        double total = result.getValue(Benchmark.WARM, Benchmark.TOTAL).orElseThrow();
+        assertTrue(startup > 0);
+        assertTrue(startup <= total);
+        if (Files.isDirectory(Path.of("/proc/self"))) {
+            assertTrue(result.getValue(Benchmark.WARM, Benchmark.PEAK_RSS).orElseThrow() > 0);
+        }
+    }
+
+    @Test
+    void testFailedRun() {
+        Benchmark benchmark = new Benchmark(command("false"));
+        benchmark.setRuns(1);
+        benchmark.setWarmupRuns(0);
+        if (!Triplet.isWindowsHost()) {
+            assertThrows(IOException.class, benchmark::run);
+        }
+        assertThrows(IllegalArgumentException.class, () -> benchmark.setRuns(0));
+        assertThrows(IllegalArgumentException.class, () -> new Benchmark(List.of()));
+    }
+
+    @Test
+    void testGcPauses() {
+        Benchmark.GcPauses gcPauses = new Benchmark.GcPauses(true);
+        gcPauses.accept("[Incremental GC (CollectOnAllocation) 10240K->2048K, 0.0012000 secs]");
+        gcPauses.accept("hello");
+        gcPauses.accept("[Full GC (CollectOnAllocation) 20480K->4096K, 0.0050000 secs]");
+        Map<String, Double> sample = new HashMap<>();
+        gcPauses.addTo(sample);
+        assertEquals(2.0, sample.get(Benchmark.GC_COUNT));
+        assertEquals(6.2, sample.get(Benchmark.GC_PAUSE_TOTAL));
+        assertEquals(5.0, sample.get(Benchmark.GC_PAUSE_MAX));
+
+        Map<String, Double> empty = new HashMap<>();
+        new Benchmark.GcPauses(false).addTo(empty);
+        assertTrue(empty.isEmpty());
+
+        // with -XX:+PrintGC, a run without collections reports none
+        Map<String, Double> noCollections = new HashMap<>();
+        new Benchmark.GcPauses(true).addTo(noCollections);
+        assertEquals(0.0, noCollections.get(Benchmark.GC_COUNT));
+        assertEquals(0.0, noCollections.get(Benchmark.GC_PAUSE_MAX));
+    }
+
+    @Test
+    void testMedian() {
+        Map<String, Double> median = Benchmark.median(List.of(
+                Map.of(Benchmark.STARTUP, 3.0), Map.of(Benchmark.STARTUP, 1.0),
+                Map.of(Benchmark.STARTUP, 2.0), Map.of(Benchmark.STARTUP, 10.0)));
+        assertEquals(2.5, median.get(Benchmark.STARTUP));
+
+        // a metric missing in the first sample is kept, with the median of the samples that have it
+        median = Benchmark.median(List.of(
+                Map.of(Benchmark.STARTUP, 1.0),
+                Map.of(Benchmark.STARTUP, 2.0, Benchmark.PEAK_RSS, 300.0),
+                Map.of(Benchmark.STARTUP, 3.0, Benchmark.PEAK_RSS, 100.0, Benchmark.GC_COUNT, 1.0)));
+        assertEquals(2.0, median.get(Benchmark.STARTUP));
+        assertEquals(200.0, median.get(Benchmark.PEAK_RSS));
+        assertEquals(1.0, median.get(Benchmark.GC_COUNT));
+    }
+
+    @Test
+    void testResultCompare() throws IOException, InterruptedException {
+        Benchmark.Result result = new Benchmark(command("echo", "hello")).run();
+        Path path = Files.createTempDirectory("substrate-benchmark").resolve("baseline.json");
+        result.write(path);
+
+        Benchmark.Result baseline = Benchmark.Result.read(path);
+        assertEquals(result.getVariants(), baseline.getVariants());
+        assertTrue(result.compare(baseline, 0.1).isEmpty());
+
+        Path slower = path.resolveSibling("slower.json");
+        Files.writeString(slower, "{\"warm\": {\"startupMillis\": 100000, \"totalMillis\": 1}}");
+        assertTrue(result.compare(Benchmark.Result.read(slower), 0.1).isEmpty());
+        List<String> regressions = Benchmark.Result.read(slower).compare(result, 0.1);
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).startsWith("warm startupMillis"));
+        assertFalse(regressions.get(0).contains("totalMillis"));
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BuildContextTests {
+
+    @Test
+    void testEnter() throws InterruptedException {
+        BuildContext outer = new BuildContext();
+        BuildContext inner = new BuildContext();
+        BuildContext defaultContext = BuildContext.current();
+        try (outer; BuildContext.Scope outerScope = outer.enter()) {
+            assertSame(outer, BuildContext.current());
+            try (inner; BuildContext.Scope innerScope = inner.enter()) {
+                assertSame(inner, BuildContext.current());
+
+                // threads started within a build inherit its context
+                BuildContext[] inherited = new BuildContext[1];
+                Thread thread = new Thread(() -> inherited[0] = BuildContext.current());
+                thread.start();
+                thread.join();
+                assertSame(inner, inherited[0]);
+            }
+            assertSame(outer, BuildContext.current());
+        }
+        assertSame(defaultContext, BuildContext.current());
+    }
+
+    @Test
+    void testRun() {
+        BuildContext defaultContext = BuildContext.current();
+        try (BuildContext context = new BuildContext()) {
+            BuildContext[] current = new BuildContext[1];
+            context.run(() -> current[0] = BuildContext.current());
+            assertSame(context, current[0]);
+            assertSame(defaultContext, BuildContext.current());
+
+            // the previous context is restored when the task fails
+            assertThrows(IllegalStateException.class, () -> context.run(() -> {
+                throw new IllegalStateException();
+            }));
+            assertSame(defaultContext, BuildContext.current());
+        }
+    }
+
+    @Test
+    void testParallelBuilds(@TempDir Path tempDir) throws Exception {
+        int builds = 4;
+        CountDownLatch ready = new CountDownLatch(builds);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < builds; i++) {
+            Path logDir = Files.createDirectories(tempDir.resolve("build" + i));
+            String name = "build" + i;
+            Thread thread = new Thread(() -> {
+                try (BuildContext context = new BuildContext(); BuildContext.Scope scope = context.enter()) {
+                    Logger.logInit(logDir.toString(), false);
+                    ProcessRunner.setProcessLogPath(logDir.resolve("process"));
+                    ready.countDown();
+                    ready.await();
+                    for (int j = 0; j < 20; j++) {
+                        Logger.logDebug("message from " + name);
+                    }
+                    assertEquals(logDir.resolve("process"), context.getProcessLogPath());
+                } catch (Throwable t) {
+                    synchronized (failures) {
+                        failures.add(t);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty(), failures.toString());
+
+        for (int i = 0; i < builds; i++) {
+            String log = Files.readString(tempDir.resolve("build" + i).resolve("client-debug0.log"));
+            assertTrue(log.contains("message from build" + i));
+            for (int j = 0; j < builds; j++) {
+                if (j != i) {
+                    assertFalse(log.contains("message from build" + j), "build" + i + " has messages of build" + j);
+                }
+            }
+            assertTrue(Files.isDirectory(tempDir.resolve("build" + i).resolve("process")));
+        }
+    }
+
+    @Test
+    void testHandlers() {
+        List<String> messages = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (BuildContext context = new BuildContext(); BuildContext.Scope scope = context.enter()) {
+            assertNull(context.getProcessLogPath());
+            Logger.addHandler(handler);
+            Logger.logInfo("captured");
+            Logger.removeHandler(handler);
+            Logger.logInfo("not captured");
+        }
+        Logger.logInfo("other context");
+        assertEquals(List.of("captured"), messages);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import com.gluonhq.substrate.util.calltree.CallTreeIndex;
+import com.gluonhq.substrate.util.calltree.CallTreeQuery;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallTreeTests {
+
+    private static final String REPORT = String.join("\n",
+            "VM Entry Points",
+            "\u251c\u2500\u2500 entry com.example.Main.main(java.lang.String[]):void id=0",
+            "\u2502   \u251c\u2500\u2500 directly calls com.example.Service.start():void id=1 @bci=3",
+            "\u2502   \u2502   \u251c\u2500\u2500 virtually calls com.example.Handler.handle():void @bci=7",
+            "\u2502   \u2502   \u2502   \u2514\u2500\u2500 is overridden by com.example.impl.XmlHandler.handle():void id=2",
+            "\u2502   \u2502   \u2502       \u2514\u2500\u2500 directly calls org.xml.Parser.parse():void id=3 @bci=1",
+            "\u2502   \u2502   \u2514\u2500\u2500 directly calls java.lang.String.valueOf(java.lang.Object):java.lang.String id=4 @bci=12",
+            "\u2502   \u2514\u2500\u2500 directly calls org.xml.Parser.parse():void id-ref=3 @bci=9",
+            "\u2514\u2500\u2500 entry com.example.Callbacks.onEvent():void id=5",
+            "    \u2514\u2500\u2500 directly calls com.example.impl.XmlHandler.handle():void id-ref=2 @bci=0",
+            "");
+
+    @Test
+    void testCallTreeIndex() throws IOException {
+        Path dir = Files.createTempDirectory("substrate-calltree");
+        Path report = dir.resolve("call_tree_app_20260101_120000.txt");
+        Files.writeString(report, REPORT);
+
+        CallTreeIndex index = CallTreeQuery.load(report);
+        assertTrue(Files.exists(dir.resolve("call_tree_app_20260101_120000" + CallTreeQuery.INDEX_EXTENSION)));
+        assertEquals(7, index.getMethodCount());
+        assertEquals(List.of("com.example.Main.main(java.lang.String[]):void",
+                "com.example.Callbacks.onEvent():void"), index.getEntryPoints());
+
+        // the direct call from main is shorter than the path through the handler
+        assertEquals(List.of("com.example.Main.main(java.lang.String[]):void", "org.xml.Parser.parse():void"),
+                index.whyReachable("org.xml.Parser"));
+        assertEquals(List.of("com.example.Main.main(java.lang.String[]):void", "com.example.Service.start():void",
+                        "com.example.Handler.handle():void", "com.example.impl.XmlHandler.handle():void"),
+                index.whyReachable("com.example.impl.XmlHandler"));
+        assertTrue(index.whyReachable("com.example.Unused").isEmpty());
+
+        Map<String, Integer> entryPoints = index.getEntryPointsFor("org.xml");
+        assertEquals(Map.of("com.example.Main.main(java.lang.String[]):void", 1,
+                "com.example.Callbacks.onEvent():void", 1), entryPoints);
+        assertEquals(List.of("com.example.Main.main(java.lang.String[]):void"),
+                List.copyOf(index.getEntryPointsFor("com.example").keySet()).subList(0, 1));
+        assertTrue(index.getEntryPointsFor("org.xm").isEmpty());
+
+        CallTreeIndex stored = CallTreeQuery.load(dir.resolve("call_tree_app_20260101_120000" + CallTreeQuery.INDEX_EXTENSION));
+        assertEquals(index.getMethodCount(), stored.getMethodCount());
+        assertEquals(index.whyReachable("com.example.impl.XmlHandler"), stored.whyReachable("com.example.impl.XmlHandler"));
+
+        Path invalid = Files.writeString(dir.resolve("invalid" + CallTreeQuery.INDEX_EXTENSION), "not an index");
+        assertThrows(IOException.class, () -> CallTreeIndex.read(invalid));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClassFileTests {
+
+    @Test
+    void testReadClass() throws IOException {
+        ClassFile classFile = readClass(Sample.class);
+        assertEquals(Sample.class.getName(), classFile.getName());
+        assertEquals("java.lang.Object", classFile.getSuperName());
+        assertEquals(List.of("java.lang.Runnable"), classFile.getInterfaces());
+        assertEquals(List.of("count", "names"), List.of(classFile.getFields().get(0).getName(), classFile.getFields().get(1).getName()));
+        assertTrue(classFile.getFields().get(0).isStatic());
+        assertTrue(classFile.getMethod("run", "()V").isPresent());
+        assertTrue(classFile.getStaticInitializer().isPresent());
+        assertTrue(classFile.getMethods().stream().anyMatch(m -> m.getAnnotations().contains(Marker.class.getName())));
+    }
+
+    @Test
+    void testInstructions() throws IOException {
+        ClassFile classFile = readClass(Sample.class);
+        Optional<ClassFile.Member> method = classFile.getMethod("lookup", "(I)Ljava/lang/Object;");
+        assertTrue(method.isPresent());
+        List<ClassFile.Instruction> instructions = new ArrayList<>();
+        classFile.visitInstructions(method.get(), instructions::add);
+        assertTrue(instructions.stream().anyMatch(i -> "java.util.ArrayList".equals(i.getConstant())));
+        assertTrue(instructions.stream().anyMatch(i -> i.getRef() != null && i.getRef().matches("java.lang.Class", "forName")));
+        assertTrue(instructions.stream().anyMatch(i -> i.getOpcode() == ClassFile.NEW && "java.lang.StringBuilder".equals(i.getType())));
+        // the tableswitch is decoded, so the instructions after it are found
+        assertTrue(instructions.stream().anyMatch(i -> "default".equals(i.getConstant())));
+        assertTrue(classFile.getStringConstants().contains("java.util.ArrayList"));
+    }
+
+    @Test
+    void testDescriptors() {
+        assertEquals(List.of("int", "java.lang.String[]", "long[][]", "boolean"),
+                ClassFile.getParameterTypes("(I[Ljava/lang/String;[[JZ)V"));
+        assertEquals(List.of(), ClassFile.getParameterTypes("()V"));
+        assertEquals("java.util.Map", ClassFile.toTypeName("Ljava/util/Map;"));
+        assertThrows(IllegalArgumentException.class, () -> ClassFile.toTypeName("X"));
+    }
+
+    @Test
+    void testInvalidClass() {
+        assertThrows(IOException.class, () -> ClassFile.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4})));
+    }
+
+    private static ClassFile readClass(Class<?> c) throws IOException {
+        try (InputStream is = c.getResourceAsStream(c.getSimpleName().isEmpty() ? null :
+                c.getName().substring(c.getName().lastIndexOf('.') + 1) + ".class")) {
+            assertNotNull(is);
+            return ClassFile.read(is);
+        }
+    }
+
+    @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+    @interface Marker {
+    }
+
+    static class Sample implements Runnable {
+
+        static int count = 1;
+        private final List<String> names = new ArrayList<>();
+
+        @Marker
+        @Override
+        public void run() {
+            count++;
+        }
+
+        Object lookup(int value) throws ReflectiveOperationException {
+            String text;
+            switch (value) {
+                case 0: text = "zero"; break;
+                case 1: text = "one"; break;
+                case 2: text = "two"; break;
+                case 3: text = "three"; break;
+                default: text = "default";
+            }
+            names.add(new StringBuilder(text).append(value).toString());
+            return Class.forName("java.util.ArrayList");
+        }
+    }
+}
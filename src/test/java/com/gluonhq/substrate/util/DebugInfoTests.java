@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import com.gluonhq.substrate.model.Triplet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class DebugInfoTests {
+
+    @Test
+    void testParseBuildId() throws IOException {
+        byte[] note = {
+                4, 0, 0, 0,                    // name size
+                4, 0, 0, 0,                    // descriptor size
+                3, 0, 0, 0,                    // NT_GNU_BUILD_ID
+                'G', 'N', 'U', 0,
+                (byte) 0xde, (byte) 0xad, (byte) 0xbe, (byte) 0xef
+        };
+        assertEquals("deadbeef", DebugInfo.parseBuildId(note));
+
+        note[8] = 1;
+        assertThrows(IOException.class, () -> DebugInfo.parseBuildId(note));
+        assertThrows(IOException.class, () -> DebugInfo.parseBuildId(new byte[4]));
+    }
+
+    @Test
+    void testSplit(@TempDir Path tempDir) throws IOException, InterruptedException {
+        assumeTrue(Triplet.isLinuxHost());
+        Path source = Files.writeString(tempDir.resolve("hello.c"), "int main(void) { return 0; }\n");
+        Path binary = tempDir.resolve("hello");
+        ProcessRunner gcc = new ProcessRunner("gcc", "-g", "-Wl,--build-id", source.toString(), "-o", binary.toString());
+        assumeTrue(gcc.runProcess("gcc") == 0);
+        long size = Files.size(binary);
+
+        Path archive = new DebugInfo("objcopy").split(binary, tempDir.resolve("symbols"));
+
+        assertEquals("hello.debug.gz", archive.getFileName().toString());
+        assertTrue(archive.getParent().getFileName().toString().matches("[0-9a-f]+"));
+        assertTrue(Files.size(binary) < size);
+        assertTrue(Files.notExists(tempDir.resolve("hello.debug")));
+        assertEquals(0, new ProcessRunner(binary.toString()).runProcess("hello"));
+    }
+}
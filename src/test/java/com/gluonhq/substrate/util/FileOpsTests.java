@@ -239,4 +239,77 @@ class FileOpsTests {
         FileOps.extractFilesFromJar(List.of("txt", "MF"), resourcePath, targetPath, null);
         assertEquals(2, Files.list(targetPath).count());
     }
+
+    //--- trash ----------------
+
+    @Test
+    void moveToTrash() throws IOException, InterruptedException {
+        Path root = getTempDir();
+        Path trashPath = root.resolve("trash");
+        Path dir = Files.createDirectories(root.resolve("tmp").resolve("sub"));
+        FileOps.copyResource("/test-resource.txt", dir.resolve("test-resource.txt"));
+
+        FileOps.moveToTrash(root.resolve("tmp"), trashPath);
+        assertFalse(Files.exists(root.resolve("tmp")));
+        assertTrue(Files.isDirectory(trashPath));
+
+        for (int i = 0; i < 100 && !FileOps.isDirectoryEmpty(trashPath); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(FileOps.isDirectoryEmpty(trashPath));
+    }
+
+    @Test
+    void moveNonExistingToTrash() throws IOException {
+        Path root = getTempDir();
+        assertDoesNotThrow(() -> FileOps.moveToTrash(root.resolve("xxx"), root.resolve("trash")));
+        assertFalse(Files.exists(root.resolve("trash")));
+    }
+
+    @Test
+    void emptyTrash() throws IOException, InterruptedException {
+        Path trashPath = Files.createDirectories(getTempDir().resolve("trash"));
+        Files.createDirectories(trashPath.resolve("tmp-1").resolve("sub"));
+        Files.createDirectories(trashPath.resolve("lib-2"));
+
+        FileOps.emptyTrash(trashPath);
+        for (int i = 0; i < 100 && !FileOps.isDirectoryEmpty(trashPath); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(FileOps.isDirectoryEmpty(trashPath));
+    }
+
+    @Test
+    void calculateCheckSum() throws IOException {
+        Path root = getTempDir();
+        Path dir = Files.createDirectories(root.resolve("classes"));
+        Files.writeString(dir.resolve("a.txt"), "a");
+        Path jar = Files.writeString(root.resolve("lib.jar"), "jar");
+        List<Path> classPath = List.of(dir, jar);
+
+        String checkSum = FileOps.calculateCheckSum(classPath, "main");
+        assertEquals(64, checkSum.length());
+        assertEquals(checkSum, FileOps.calculateCheckSum(classPath, "main"));
+        assertNotEquals(checkSum, FileOps.calculateCheckSum(classPath, "other"));
+
+        Files.writeString(dir.resolve("b.txt"), "b");
+        String newCheckSum = FileOps.calculateCheckSum(classPath, "main");
+        assertNotEquals(checkSum, newCheckSum);
+        Files.writeString(jar, "jar2");
+        assertNotEquals(newCheckSum, FileOps.calculateCheckSum(classPath, "main"));
+    }
+
+    @Test
+    void calculateRelocatableCheckSum() throws IOException {
+        Path root = getTempDir();
+        Path first = Files.writeString(Files.createDirectories(root.resolve("first")).resolve("reflectionconfig.json"), "[]");
+        Path second = Files.writeString(Files.createDirectories(root.resolve("second")).resolve("reflectionconfig.json"), "[]");
+        assertNotEquals(FileOps.calculateCheckSum(List.of(first)), FileOps.calculateCheckSum(List.of(second)));
+
+        // copies in different locations have the same checksum when named by their relative path
+        String checkSum = FileOps.calculateCheckSum(List.of(first), path -> root.resolve("first").relativize(path).toString());
+        assertEquals(checkSum, FileOps.calculateCheckSum(List.of(second), path -> root.resolve("second").relativize(path).toString()));
+        Files.writeString(second, "[{}]");
+        assertNotEquals(checkSum, FileOps.calculateCheckSum(List.of(second), path -> root.resolve("second").relativize(path).toString()));
+    }
 }
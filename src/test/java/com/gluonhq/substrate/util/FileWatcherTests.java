@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileWatcherTests {
+
+    @Test
+    void testCoalesceChanges(@TempDir Path tempDir) throws IOException, InterruptedException {
+        Path classes = Files.createDirectories(tempDir.resolve("classes").resolve("app"));
+        Path unwatched = Files.createDirectories(tempDir.resolve("other"));
+        try (FileWatcher watcher = new FileWatcher(List.of(tempDir.resolve("classes"), tempDir.resolve("missing")))) {
+            Thread writer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 5; i++) {
+                        Files.writeString(classes.resolve("Main" + i + ".class"), "class " + i);
+                        Files.writeString(unwatched.resolve("File" + i), "file " + i);
+                        Thread.sleep(50);
+                    }
+                } catch (IOException | InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            writer.start();
+            Set<Path> changes = watcher.awaitChanges(1000);
+            writer.join();
+            for (int i = 0; i < 5; i++) {
+                assertTrue(changes.contains(classes.resolve("Main" + i + ".class")), "Missing change " + i);
+            }
+            assertFalse(changes.stream().anyMatch(p -> p.startsWith(unwatched)));
+        }
+    }
+
+    @Test
+    void testNewDirectories(@TempDir Path tempDir) throws IOException, InterruptedException {
+        try (FileWatcher watcher = new FileWatcher(List.of(tempDir))) {
+            Path resources = Files.createDirectories(tempDir.resolve("resources").resolve("images"));
+            Files.writeString(resources.resolve("icon.png"), "png");
+            assertTrue(watcher.awaitChanges(500).contains(resources.resolve("icon.png")));
+
+            Files.writeString(resources.resolve("splash.png"), "png");
+            assertTrue(watcher.awaitChanges(500).contains(resources.resolve("splash.png")));
+        }
+    }
+
+    @Test
+    void testMissingRoot(@TempDir Path tempDir) throws IOException, InterruptedException {
+        Path nativeCode = tempDir.resolve("native");
+        try (FileWatcher watcher = new FileWatcher(List.of(nativeCode, tempDir.resolve("missing").resolve("native")))) {
+            assertTrue(watcher.getRoots().isEmpty());
+            assertEquals(Set.of(nativeCode), watcher.getPendingRoots());
+
+            // other files created in the parent are not changes
+            Files.writeString(tempDir.resolve("build.gradle"), "plugins {}");
+            Files.createDirectories(nativeCode);
+            Files.writeString(nativeCode.resolve("main.c"), "int main(void) { return 0; }");
+            Set<Path> changes = watcher.awaitChanges(500);
+            assertTrue(changes.contains(nativeCode.resolve("main.c")));
+            assertFalse(changes.contains(tempDir.resolve("build.gradle")));
+            assertEquals(Set.of(nativeCode), watcher.getRoots());
+            assertTrue(watcher.getPendingRoots().isEmpty());
+
+            Files.writeString(nativeCode.resolve("util.c"), "int util(void) { return 0; }");
+            assertTrue(watcher.awaitChanges(500).contains(nativeCode.resolve("util.c")));
+        }
+    }
+}
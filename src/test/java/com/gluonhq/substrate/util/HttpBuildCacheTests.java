@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpBuildCacheTests {
+
+    private HttpServer server;
+    private final Map<String, byte[]> entries = new ConcurrentHashMap<>();
+    private final List<String> requests = new ArrayList<>();
+    private volatile int failWith;
+    private volatile boolean chunked;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        // a stand-in for a Gradle HTTP build cache node
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/cache/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String key = exchange.getRequestURI().getPath().substring("/cache/".length());
+        synchronized (requests) {
+            requests.add(exchange.getRequestMethod() + " " + key + " " +
+                    exchange.getRequestHeaders().getFirst("Authorization"));
+        }
+        if (failWith > 0) {
+            exchange.sendResponseHeaders(failWith, -1);
+        } else if ("PUT".equals(exchange.getRequestMethod())) {
+            assertEquals(HttpBuildCache.CONTENT_TYPE, exchange.getRequestHeaders().getFirst("Content-Type"));
+            entries.put(key, exchange.getRequestBody().readAllBytes());
+            exchange.sendResponseHeaders(200, -1);
+        } else {
+            byte[] entry = entries.get(key);
+            if (entry == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                // a chunked response has no length
+                exchange.sendResponseHeaders(200, chunked ? 0 : entry.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(entry);
+                }
+            }
+        }
+        exchange.close();
+    }
+
+    private String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/cache";
+    }
+
+    @Test
+    void testStoreAndLoad(@TempDir Path tempDir) throws IOException {
+        Path objectFile = Files.writeString(tempDir.resolve("app.o"), "object");
+        Path llvmFile = Files.writeString(tempDir.resolve("llvm.o"), "llvm");
+        HttpBuildCache cache = new HttpBuildCache(url());
+        cache.setPush(true);
+
+        Path target = tempDir.resolve("restored");
+        assertFalse(cache.load("abc", target));
+        assertTrue(cache.store("abc", List.of(objectFile, llvmFile)));
+        assertTrue(cache.load("abc", target));
+        assertEquals("object", Files.readString(target.resolve("app.o")));
+        assertEquals("llvm", Files.readString(target.resolve("llvm.o")));
+        assertEquals(List.of("GET abc null", "PUT abc null", "GET abc null"), requests);
+    }
+
+    @Test
+    void testPolicies(@TempDir Path tempDir) throws IOException {
+        Path objectFile = Files.writeString(tempDir.resolve("app.o"), "object");
+        HttpBuildCache cache = new HttpBuildCache(url());
+        // push is disabled by default
+        assertFalse(cache.store("abc", List.of(objectFile)));
+        assertTrue(entries.isEmpty());
+
+        cache.setPush(true);
+        cache.setMaxEntrySize(10);
+        assertFalse(cache.store("abc", List.of(objectFile)));
+        assertTrue(entries.isEmpty());
+
+        cache.setMaxEntrySize(1024);
+        assertTrue(cache.store("abc", List.of(objectFile)));
+        cache.setPull(false);
+        assertFalse(cache.load("abc", tempDir.resolve("restored")));
+        assertThrows(IllegalArgumentException.class, () -> cache.setMaxEntrySize(0));
+        assertThrows(IllegalArgumentException.class, () -> new HttpBuildCache("ftp://localhost/cache"));
+    }
+
+    @Test
+    void testCredentialsAndErrors(@TempDir Path tempDir) throws IOException {
+        Path objectFile = Files.writeString(tempDir.resolve("app.o"), "object");
+        HttpBuildCache cache = new HttpBuildCache(url().replace("http://", "http://user:secret@"));
+        cache.setPush(true);
+        assertTrue(cache.store("abc", List.of(objectFile)));
+        assertEquals("PUT abc Basic dXNlcjpzZWNyZXQ=", requests.get(0));
+
+        failWith = 500;
+        assertFalse(cache.load("abc", tempDir.resolve("restored")));
+        // the cache is disabled after an error
+        failWith = 0;
+        assertFalse(cache.load("abc", tempDir.resolve("restored")));
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void testEncodedCredentials(@TempDir Path tempDir) throws IOException {
+        Path objectFile = Files.writeString(tempDir.resolve("app.o"), "object");
+        HttpBuildCache cache = new HttpBuildCache(url().replace("http://", "http://us%40er:a+b%3Ac@"));
+        cache.setPush(true);
+        assertTrue(cache.store("abc", List.of(objectFile)));
+        assertEquals("PUT abc Basic " + Base64.getEncoder().encodeToString(
+                "us@er:a+b:c".getBytes(StandardCharsets.UTF_8)), requests.get(0));
+    }
+
+    @Test
+    void testMaxEntrySizeWithoutLength(@TempDir Path tempDir) throws IOException {
+        Path objectFile = Files.writeString(tempDir.resolve("app.o"), "object".repeat(1000));
+        HttpBuildCache cache = new HttpBuildCache(url());
+        cache.setPush(true);
+        assertTrue(cache.store("abc", List.of(objectFile)));
+
+        chunked = true;
+        cache.setMaxEntrySize(entries.get("abc").length / 2);
+        Path target = tempDir.resolve("restored");
+        assertFalse(cache.load("abc", target));
+        assertFalse(Files.exists(target.resolve("app.o")));
+
+        // an entry that is too large is a miss, that doesn't disable the cache
+        cache.setMaxEntrySize(entries.get("abc").length);
+        assertTrue(cache.load("abc", target));
+        assertEquals("object".repeat(1000), Files.readString(target.resolve("app.o")));
+    }
+}
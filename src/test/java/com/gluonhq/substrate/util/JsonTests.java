@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import com.gluonhq.substrate.util.json.JsonReader;
+import com.gluonhq.substrate.util.json.JsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonTests {
+
+    @Test
+    void readValue() throws IOException {
+        String json = "{ \"name\" : \"a.b.C\", \"flag\": true, \"count\": 12, \"ratio\": -1.5e2,\n" +
+                "  \"list\": [ \"x\", null, {\"k\": \"\\\"q\\\\\\u0041\"} ] }";
+        Object value = new JsonReader(new StringReader(json)).readValue();
+        Map<?, ?> map = (Map<?, ?>) value;
+        assertEquals("a.b.C", map.get("name"));
+        assertEquals(true, map.get("flag"));
+        assertEquals(12L, map.get("count"));
+        assertEquals(-150.0, map.get("ratio"));
+        List<?> list = (List<?>) map.get("list");
+        assertEquals(3, list.size());
+        assertEquals(null, list.get(1));
+        assertEquals("\"q\\A", ((Map<?, ?>) list.get(2)).get("k"));
+    }
+
+    @Test
+    void readStreaming() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("[ {\"name\":\"a\"}, {\"name\":\"b\"} ]"));
+        reader.beginArray();
+        int count = 0;
+        while (reader.hasNext()) {
+            reader.beginObject();
+            assertEquals("name", reader.nextName());
+            assertFalse(reader.nextString().isEmpty());
+            reader.endObject();
+            count++;
+        }
+        reader.endArray();
+        assertEquals(JsonReader.Token.END_DOCUMENT, reader.peek());
+        assertEquals(2, count);
+    }
+
+    @Test
+    void readInvalid() {
+        assertThrows(IOException.class, () -> new JsonReader(new StringReader("[ {\"name\":\"a\"}, ]")).readValue());
+        assertThrows(IOException.class, () -> new JsonReader(new StringReader("{\"name\" \"a\"}")).readValue());
+        assertThrows(IOException.class, () -> new JsonReader(new StringReader("[ \"a\" ")).readValue());
+        assertThrows(IOException.class, () -> new JsonReader(new StringReader("\"\\.\"")).readValue());
+    }
+
+    @Test
+    void writeAndReadBack() throws IOException {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("name", "a.b.C");
+        entry.put("allDeclaredFields", true);
+        entry.put("methods", List.of(Map.of("name", "test", "parameterTypes", List.of("int"))));
+        entry.put("pattern", ".*\\.png$");
+
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginArray();
+            writer.value(entry);
+            writer.value(List.of());
+            writer.endArray();
+        }
+        String json = out.toString();
+        assertTrue(json.contains("\"pattern\": \".*\\\\.png$\""));
+
+        List<?> list = (List<?>) new JsonReader(new StringReader(json)).readValue();
+        assertEquals(2, list.size());
+        assertEquals(entry, list.get(0));
+        assertEquals(List.of(), list.get(1));
+    }
+
+    @Test
+    void writeInvalid() {
+        assertThrows(IllegalStateException.class, () -> new JsonWriter(new StringWriter()).beginArray().name("a"));
+        assertThrows(IllegalStateException.class, () -> new JsonWriter(new StringWriter()).beginObject().value("a"));
+        assertThrows(IOException.class, () -> new JsonWriter(new StringWriter()).beginObject().close());
+    }
+}
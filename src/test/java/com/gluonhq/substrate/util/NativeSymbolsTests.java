@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NativeSymbolsTests {
+
+    @Test
+    void testParseNm() {
+        NativeSymbols symbols = NativeSymbols.parseNm(List.of(
+                "libawt.a[awt_util.o]:",
+                "Java_sun_awt_Util_init T 0000000000000000 0000000000000020",
+                "JNU_ThrowByName U",
+                "awt_debug w",
+                "AWT_GLOBAL B 0000000000000000 0000000000000008",
+                "",
+                "libawt.a[awt_init.o]:",
+                "Java_sun_awt_Util_init U"));
+        assertEquals(Set.of("Java_sun_awt_Util_init", "AWT_GLOBAL"), symbols.getDefined());
+        assertEquals(Set.of("JNU_ThrowByName"), symbols.getUndefined());
+    }
+
+    @Test
+    void testParseDumpbin() {
+        NativeSymbols symbols = NativeSymbols.parseDumpbin(List.of(
+                "COFF SYMBOL TABLE",
+                "000 01047A17 ABS    notype       Static       | @comp.id",
+                "008 00000000 SECT3  notype ()    External     | Java_sun_awt_Util_init",
+                "009 00000000 UNDEF  notype ()    External     | JNU_ThrowByName",
+                "00A 00000000 SECT4  notype       Static       | $SG1234"));
+        assertEquals(Set.of("Java_sun_awt_Util_init"), symbols.getDefined());
+        assertEquals(Set.of("JNU_ThrowByName"), symbols.getUndefined());
+    }
+
+    @Test
+    void testFindRequiredArchives() {
+        NativeSymbols object = NativeSymbols.parseNm(List.of(
+                "main T 0 10", "Java_java_io_FileDescriptor_sync U", "JNI_OnLoad_net U"));
+        Map<String, NativeSymbols> archives = new LinkedHashMap<>();
+        archives.put("-ljava", NativeSymbols.parseNm(List.of(
+                "Java_java_io_FileDescriptor_sync T 0 10", "JNU_ThrowByName T 0 10")));
+        archives.put("-lnet", NativeSymbols.parseNm(List.of(
+                "JNI_OnLoad_net T 0 10", "NET_Timeout T 0 10", "JNU_ThrowByName U", "jvm_helper U")));
+        archives.put("-lawt", NativeSymbols.parseNm(List.of(
+                "JNI_OnLoad_awt T 0 10", "JNU_ThrowByName U")));
+        // only needed by awt
+        archives.put("-lfontmanager", NativeSymbols.parseNm(List.of(
+                "Java_sun_font_init T 0 10", "JNI_OnLoad_awt U")));
+        // only needed by net, listed before it
+        archives.put("-lnio", NativeSymbols.parseNm(List.of("jvm_helper T 0 10")));
+
+        assertEquals(List.of("-ljava", "-lnet", "-lnio"),
+                NativeSymbols.findRequiredArchives(List.of(object), archives));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.substrate.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ObjectCacheTests {
+
+    private static final String SOURCE = "int main(void) { return 0; }";
+
+    @Test
+    void testKey() throws IOException {
+        String key = ObjectCache.key(SOURCE, "gcc 12.2.0", List.of("-DSUBSTRATE", "-O2"));
+        assertEquals(64, key.length());
+        assertEquals(key, ObjectCache.key(SOURCE, "gcc 12.2.0", List.of("-DSUBSTRATE", "-O2")));
+        assertNotEquals(key, ObjectCache.key(SOURCE, "gcc 13.1.0", List.of("-DSUBSTRATE", "-O2")));
+        assertNotEquals(key, ObjectCache.key(SOURCE, "gcc 12.2.0", List.of("-DSUBSTRATE", "-O3")));
+        assertNotEquals(key, ObjectCache.key("int x;", "gcc 12.2.0",
+                List.of("-DSUBSTRATE", "-O2")));
+        // flags are separated, so they can't be merged into a different list with the same key
+        assertNotEquals(ObjectCache.key(SOURCE, "gcc", List.of("-DA", "B")),
+                ObjectCache.key(SOURCE, "gcc", List.of("-DAB")));
+    }
+
+    @Test
+    void testStoreAndRestore(@TempDir Path tempDir) throws IOException {
+        ObjectCache cache = new ObjectCache(tempDir.resolve("objcache"));
+        String key = ObjectCache.key(SOURCE, "gcc", List.of());
+        Path target = tempDir.resolve("launcher.o");
+        assertFalse(cache.restore(key, target));
+
+        Path object = Files.write(tempDir.resolve("object.o"), new byte[] {1, 2, 3});
+        cache.store(key, object);
+        assertTrue(cache.restore(key, target));
+        assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(target));
+    }
+
+    @Test
+    void testTrim(@TempDir Path tempDir) throws IOException {
+        Path cachePath = tempDir.resolve("objcache");
+        ObjectCache cache = new ObjectCache(cachePath);
+        Path object = Files.write(tempDir.resolve("object.o"), new byte[100]);
+        String oldKey = ObjectCache.key(SOURCE, "old", List.of());
+        String newKey = ObjectCache.key(SOURCE, "new", List.of());
+        cache.store(oldKey, object);
+        cache.store(newKey, object);
+        Files.setLastModifiedTime(cachePath.resolve(oldKey.substring(0, 2)).resolve(oldKey), FileTime.fromMillis(0));
+
+        cache.trim(150);
+        Path target = tempDir.resolve("target.o");
+        assertFalse(cache.restore(oldKey, target));
+        assertTrue(cache.restore(newKey, target));
+    }
+}
@@ -35,6 +35,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ProcessTest {
@@ -76,4 +78,30 @@ public class ProcessTest {
         assertTrue(runner.getLastResponse().endsWith(output));
     }
 
+    @Test
+    public void processTimeoutTest() throws IOException, InterruptedException {
+        ProcessRunner runner = new ProcessRunner();
+        if (Triplet.isWindowsHost()) {
+            runner.addArgs("ping", "-n", "60", "127.0.0.1");
+        } else {
+            runner.addArgs("sleep", "60");
+        }
+        long start = System.nanoTime();
+        assertNotEquals(0, runner.runProcess("sleep", null, 1));
+        assertTrue(System.nanoTime() - start < 30_000_000_000L);
+        assertTrue(runner.isTimedOut());
+    }
+
+    @Test
+    public void processFailureNotTimedOutTest() throws IOException, InterruptedException {
+        ProcessRunner runner = new ProcessRunner();
+        if (Triplet.isWindowsHost()) {
+            runner.addArgs("cmd", "/c", "exit", "3");
+        } else {
+            runner.addArgs("sh", "-c", "exit 3");
+        }
+        assertEquals(3, runner.runProcess("exit", null, 30));
+        assertFalse(runner.isTimedOut());
+    }
+
 }
@@ -109,5 +109,22 @@ public class StringsTests {
         assertTrue(randomString.matches("^[a-z]*$"));
     }
 
+    @Test
+    void testParseMemorySize() {
+        assertEquals(-1, Strings.parseMemorySize("maxHeapSize", null));
+        assertEquals(-1, Strings.parseMemorySize("maxHeapSize", ""));
+        assertEquals(100, Strings.parseMemorySize("maxHeapSize", "100"));
+        assertEquals(64 * 1024, Strings.parseMemorySize("maxHeapSize", "64k"));
+        assertEquals(512L * 1024 * 1024, Strings.parseMemorySize("maxHeapSize", "512M"));
+        assertEquals(2L * 1024 * 1024 * 1024, Strings.parseMemorySize("maxHeapSize", "2g"));
+        assertEquals(Long.MAX_VALUE - 1024 * 1024 * 1024 + 1,
+                Strings.parseMemorySize("maxHeapSize", "8589934591g"));
+
+        assertThrows(IllegalArgumentException.class, () -> Strings.parseMemorySize("maxHeapSize", "2gb"));
+        assertThrows(IllegalArgumentException.class, () -> Strings.parseMemorySize("maxHeapSize", "-1m"));
+        // overflows instead of wrapping around
+        assertThrows(IllegalArgumentException.class, () -> Strings.parseMemorySize("maxHeapSize", "8589934592g"));
+        assertThrows(IllegalArgumentException.class, () -> Strings.parseMemorySize("maxHeapSize", "99999999999999999999"));
+    }
 
 }